@@ -403,6 +403,20 @@ suite = {
       "testProject" : True,
     },
 
+    "com.oracle.truffle.js.jmh" : {
+      "subDir" : "src",
+      "sourceDirs" : ["src"],
+      "dependencies" : [
+        "com.oracle.truffle.js.runtime.doubleconv",
+        "mx:JMH_1_21",
+      ],
+      "annotationProcessors" : ["mx:JMH_1_21"],
+      "checkstyle" : "com.oracle.truffle.js",
+      "javaCompliance" : "8+",
+      "workingSets" : "Truffle,JavaScript",
+      "testProject" : True,
+    },
+
     "com.oracle.truffle.js.scriptengine" : {
       "subDir" : "src",
       "sourceDirs" : ["src"],
@@ -56,6 +56,7 @@ import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.ImportStatic;
@@ -108,6 +109,7 @@ import com.oracle.truffle.js.builtins.ConstructorBuiltinsFactory.ConstructWeakMa
 import com.oracle.truffle.js.builtins.ConstructorBuiltinsFactory.ConstructWeakSetNodeGen;
 import com.oracle.truffle.js.builtins.ConstructorBuiltinsFactory.CreateDynamicFunctionNodeGen;
 import com.oracle.truffle.js.builtins.ConstructorBuiltinsFactory.PromiseConstructorNodeGen;
+import com.oracle.truffle.js.builtins.helper.ParseDateStringNode;
 import com.oracle.truffle.js.nodes.CompileRegexNode;
 import com.oracle.truffle.js.nodes.JSGuards;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
@@ -203,6 +205,7 @@ import com.oracle.truffle.js.runtime.objects.JSLazyString;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.JSHashMap;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 import com.oracle.truffle.js.runtime.util.WeakMap;
@@ -764,9 +767,9 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
 
         @Child private JSToPrimitiveNode toPrimitiveNode;
         @Child private JSToDoubleNode toDoubleNode;
+        @Child private ParseDateStringNode parseDateNode;
         private final ConditionProfile stringOrNumberProfile = ConditionProfile.createBinaryProfile();
         private final ConditionProfile isDateProfile = ConditionProfile.createBinaryProfile();
-        private final ConditionProfile gotFieldsProfile = ConditionProfile.createBinaryProfile();
 
         private Object toPrimitive(Object target) {
             if (toPrimitiveNode == null) {
@@ -816,13 +819,12 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
             return getContext().getRealm().currentTimeMillis();
         }
 
-        @TruffleBoundary
         private double parseDate(String target) {
-            Integer[] fields = getContext().getEvaluator().parseDate(getContext().getRealm(), target.trim());
-            if (gotFieldsProfile.profile(fields != null)) {
-                return JSDate.makeDate(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], fields[6], fields[7], getContext());
+            if (parseDateNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                parseDateNode = insert(ParseDateStringNode.create(getContext()));
             }
-            return Double.NaN;
+            return parseDateNode.execute(target);
         }
 
         private double getDateValue(Object arg0, InteropLibrary interop) {
@@ -1875,8 +1877,36 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
         @Child private JSFunctionCallNode callAdderNode;
         @Child private PropertyGetNode getAdderFnNode;
         protected final ConditionProfile needFillIterable = ConditionProfile.createBinaryProfile();
+        protected final ConditionProfile foreignIterableProfile = ConditionProfile.createBinaryProfile();
         protected final BranchProfile errorBranch = BranchProfile.create();
 
+        /**
+         * If the iterable is a host object wrapping a {@linkplain JSHashMap#isConcurrent()
+         * concurrent} {@link JSHashMap}, returns that storage, to be adopted by the new collection
+         * instead of copying its contents. This is how Map and Set contents are shared between
+         * contexts running on different threads. The storage itself rejects keys and values that
+         * belong to a context (objects and Symbols) with a TypeError, so its contents never need
+         * to be checked here.
+         */
+        protected final JSHashMap getSharedStorage(Object iterable) {
+            if (foreignIterableProfile.profile(JSRuntime.isForeignObject(iterable))) {
+                return hostObjectToSharedStorage(iterable);
+            }
+            return null;
+        }
+
+        @TruffleBoundary
+        private JSHashMap hostObjectToSharedStorage(Object iterable) {
+            TruffleLanguage.Env env = getContext().getRealm().getEnv();
+            if (env.isHostObject(iterable)) {
+                Object hostObject = env.asHostObject(iterable);
+                if (hostObject instanceof JSHashMap && ((JSHashMap) hostObject).isConcurrent()) {
+                    return (JSHashMap) hostObject;
+                }
+            }
+            return null;
+        }
+
         protected void iteratorCloseAbrupt(DynamicObject iterator) {
             if (iteratorCloseNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -1937,6 +1967,10 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
         @Specialization
         protected DynamicObject constructMap(DynamicObject newTarget, Object iterable) {
             JSContext context = getContext();
+            JSHashMap sharedStorage = getSharedStorage(iterable);
+            if (sharedStorage != null) {
+                return swapPrototype(JSMap.create(context, sharedStorage), newTarget);
+            }
             DynamicObject mapObj = JSMap.create(context);
             fillWithIterable(mapObj, iterable);
             return swapPrototype(mapObj, newTarget);
@@ -1999,6 +2033,10 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
         @Specialization
         protected DynamicObject constructSet(DynamicObject newTarget, Object iterable) {
             JSContext context = getContext();
+            JSHashMap sharedStorage = getSharedStorage(iterable);
+            if (sharedStorage != null) {
+                return swapPrototype(JSSet.create(context, sharedStorage), newTarget);
+            }
             DynamicObject setObj = JSSet.create(context);
             fillWithIterable(setObj, iterable);
             return swapPrototype(setObj, newTarget);
@@ -2071,15 +2109,15 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
         }
 
         @TruffleBoundary
-        protected static Map<DynamicObject, Object> constructWeakMap() {
-            return new WeakMap();
+        protected static Map<DynamicObject, Object> constructWeakMap(boolean invertedStorage) {
+            return invertedStorage ? new WeakMap() : new WeakHashMap<>();
         }
 
         @Override
         @Specialization
         protected DynamicObject constructMap(DynamicObject newTarget, Object iterable) {
             JSContext context = getContext();
-            DynamicObject mapObj = JSObject.create(context, context.getWeakMapFactory(), constructWeakMap());
+            DynamicObject mapObj = JSObject.create(context, context.getWeakMapFactory(), constructWeakMap(context.isOptionWeakMapInvertedStorage()));
             fillWithIterable(mapObj, iterable);
             return swapPrototype(mapObj, newTarget);
         }
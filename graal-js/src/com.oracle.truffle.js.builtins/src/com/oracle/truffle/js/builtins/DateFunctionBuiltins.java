@@ -42,11 +42,11 @@ package com.oracle.truffle.js.builtins;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
-import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.js.builtins.DateFunctionBuiltinsFactory.DateNowNodeGen;
 import com.oracle.truffle.js.builtins.DateFunctionBuiltinsFactory.DateParseNodeGen;
 import com.oracle.truffle.js.builtins.DateFunctionBuiltinsFactory.DateUTCNodeGen;
 import com.oracle.truffle.js.builtins.NumberPrototypeBuiltins.JSNumberOperation;
+import com.oracle.truffle.js.builtins.helper.ParseDateStringNode;
 import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
 import com.oracle.truffle.js.runtime.JSContext;
@@ -93,20 +93,16 @@ public final class DateFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum<D
     }
 
     public abstract static class DateParseNode extends JSNumberOperation {
-        private final ConditionProfile gotFieldsProfile = ConditionProfile.createBinaryProfile();
+        @Child private ParseDateStringNode parseDateNode;
 
         public DateParseNode(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
+            this.parseDateNode = ParseDateStringNode.create(context);
         }
 
         @Specialization
         protected double parse(Object parseDate) {
-            String dateString = toString(parseDate);
-            Integer[] fields = getContext().getEvaluator().parseDate(getContext().getRealm(), dateString.trim());
-            if (gotFieldsProfile.profile(fields != null)) {
-                return JSDate.makeDate(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], fields[6], fields[7], getContext());
-            }
-            return Double.NaN;
+            return parseDateNode.execute(toString(parseDate));
         }
 
     }
@@ -93,13 +93,13 @@ import com.oracle.truffle.js.nodes.intl.InitializeDateTimeFormatNode;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSArguments;
 import com.oracle.truffle.js.runtime.JSContext;
-import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Symbol;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSDate;
 import com.oracle.truffle.js.runtime.builtins.JSDateTimeFormat;
 import com.oracle.truffle.js.runtime.objects.Null;
+import com.oracle.truffle.js.runtime.util.LocalTimeZoneHolder;
 
 /**
  * Contains builtins for {@linkplain JSDate}.prototype.
@@ -561,7 +561,7 @@ public final class DatePrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<
                 return JSDate.yearFromTime((long) t);
             } else {
                 int daysAfter1970 = localDayNode.execute((long) t);
-                return JSDate.yearFromDays(daysAfter1970);
+                return getContext().getRealm().getLocalTimeZoneHolder().yearFromDays(daysAfter1970);
             }
         }
     }
@@ -581,7 +581,7 @@ public final class DatePrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<
                 return Double.NaN;
             }
             int daysAfter1970 = localDayNode.execute((long) t);
-            return JSDate.yearFromDays(daysAfter1970) - 1900;
+            return getContext().getRealm().getLocalTimeZoneHolder().yearFromDays(daysAfter1970) - 1900;
         }
     }
 
@@ -603,14 +603,12 @@ public final class DatePrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<
                 return JSDate.monthFromTime(t);
             } else {
                 int daysAfter1970 = localDayNode.execute((long) t);
-                return JSDate.monthFromDays(daysAfter1970);
+                return getContext().getRealm().getLocalTimeZoneHolder().monthFromDays(daysAfter1970);
             }
         }
     }
 
     public abstract static class JSDateGetDateNode extends JSDateOperation {
-        private static final int DAYS_FROM_1970_TO_1901 = JSDate.dayFromYear(1901);
-        private static final int DAYS_FROM_1970_TO_2100 = JSDate.dayFromYear(2100);
         @Child protected LocalDayNode localDayNode;
 
         public JSDateGetDateNode(JSContext context, JSBuiltin builtin, boolean isUTC) {
@@ -628,12 +626,7 @@ public final class DatePrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<
                 return JSDate.dateFromTime(t);
             } else {
                 int daysAfter1970 = localDayNode.execute((long) t);
-                if (DAYS_FROM_1970_TO_1901 <= daysAfter1970 && daysAfter1970 <= DAYS_FROM_1970_TO_2100) {
-                    // There are regular leap years between 1.1.1901 and 1.1.2100
-                    return JSDate.dateFromDaysRegularLeapYears(daysAfter1970);
-                } else {
-                    return JSDate.dateFromDays(daysAfter1970);
-                }
+                return getContext().getRealm().getLocalTimeZoneHolder().dateFromDays(daysAfter1970);
             }
         }
     }
@@ -972,8 +965,8 @@ public final class DatePrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<
         }
 
         public int execute(long t) {
-            JSRealm realm = context.getRealm();
-            long localNoDST = t + realm.getLocalTZA();
+            LocalTimeZoneHolder timeZone = context.getRealm().getLocalTimeZoneHolder();
+            long localNoDST = t + timeZone.localTZA;
             long day = Math.floorDiv(localNoDST, JSDate.MS_PER_DAY);
             assert JSRuntime.longIsRepresentableAsInt(day);
             int iday = (int) day;
@@ -983,7 +976,7 @@ public final class DatePrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<
                 return iday;
             } else {
                 dstNeededProfile.enter();
-                timeInDay += JSDate.daylightSavingTA(realm.getLocalTimeZoneId(), t);
+                timeInDay += timeZone.getDaylightSavings(t);
                 return (timeInDay < JSDate.MS_PER_DAY) ? iday : (iday + 1);
             }
         }
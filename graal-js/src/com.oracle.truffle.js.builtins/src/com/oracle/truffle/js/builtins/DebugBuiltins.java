@@ -321,6 +321,7 @@ public final class DebugBuiltins extends JSBuiltinsContainer.SwitchEnum<DebugBui
         protected static Object dumpCounters() {
             com.oracle.truffle.object.DebugCounter.dumpCounters();
             com.oracle.truffle.js.runtime.util.DebugCounter.dumpCounters();
+            com.oracle.truffle.js.runtime.util.RegexStatistics.dumpStatistics();
             return Undefined.instance;
         }
     }
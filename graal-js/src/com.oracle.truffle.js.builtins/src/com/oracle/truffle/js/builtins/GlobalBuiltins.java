@@ -968,7 +968,7 @@ public class GlobalBuiltins extends JSBuiltinsContainer.SwitchEnum<GlobalBuiltin
                     // parseRawDontFitLong() can produce an incorrect result
                     // due to subtle rounding errors (for radix 10) but the spec.
                     // requires exact processing for this radix
-                    return parseDouble(Boundaries.substring(inputString, 0, len));
+                    return JSRuntime.parseDoubleOrNaN(inputString, 0, len);
                 } else {
                     return JSRuntime.parseRawDontFitLong(inputString, radix, len);
                 }
@@ -976,11 +976,6 @@ public class GlobalBuiltins extends JSBuiltinsContainer.SwitchEnum<GlobalBuiltin
             return JSRuntime.parseRawFitsLong(inputString, radix, len);
         }
 
-        @TruffleBoundary
-        private static double parseDouble(String s) {
-            return Double.parseDouble(s);
-        }
-
         private static Object convertToRadix(int thing, int radix) {
             assert radix >= 2 && radix <= 36;
             boolean negative = thing < 0;
@@ -882,6 +882,13 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
      * This implements the RegExp.prototype.[@@replace] method.
      */
     public abstract static class JSRegExpReplaceNode extends RegExpPrototypeSymbolOperation {
+        /**
+         * Replacement strings are parsed independently of the group count of the regex, accepting
+         * all two-digit group references. References to groups that do not exist are handled when
+         * the template is applied.
+         */
+        private static final int MAX_GROUP_NUMBER = 100;
+
         @Child private PropertyGetNode getGlobalNode;
         @Child private PropertyGetNode getUnicodeNode;
         @Child private PropertyGetNode getLengthNode;
@@ -915,11 +922,11 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         private final ConditionProfile noMatchProfile = ConditionProfile.createBinaryProfile();
         private final ConditionProfile validPositionProfile = ConditionProfile.createBinaryProfile();
         private final ConditionProfile hasNamedCaptureGroupsProfile = ConditionProfile.createBinaryProfile();
-        private final BranchProfile dollarProfile = BranchProfile.create();
         final BranchProfile sbAppendProfile = BranchProfile.create();
         final BranchProfile invalidGroupNumberProfile = BranchProfile.create();
         private final ValueProfile compiledRegexProfile = ValueProfile.createIdentityProfile();
         private final BranchProfile growProfile = BranchProfile.create();
+        private final ReplaceStringParser.TemplateCache templateCache = new ReplaceStringParser.TemplateCache();
 
         JSRegExpReplaceNode(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
@@ -934,8 +941,8 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         @Specialization(guards = {"cachedReplaceValue.equals(replaceValue)"})
         protected String replaceCached(DynamicObject rx, Object searchString, @SuppressWarnings("unused") String replaceValue,
                         @Cached("replaceValue") String cachedReplaceValue,
-                        @Cached(value = "parseReplaceValueWithNCG(replaceValue)", dimensions = 1) ReplaceStringParser.Token[] cachedParsedReplaceValueWithNamedCG,
-                        @Cached(value = "parseReplaceValueWithoutNCG(replaceValue)", dimensions = 1) ReplaceStringParser.Token[] cachedParsedReplaceValueWithoutNamedCG,
+                        @Cached("parseReplaceValueWithNCG(replaceValue)") ReplaceStringParser.Template cachedParsedReplaceValueWithNamedCG,
+                        @Cached("parseReplaceValueWithoutNCG(replaceValue)") ReplaceStringParser.Template cachedParsedReplaceValueWithoutNamedCG,
                         @Cached("create()") JSToStringNode toString1Node) {
             checkObject(rx);
             if (isPristine(rx)) {
@@ -973,16 +980,12 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             }
         }
 
-        static ReplaceStringParser.Token[] parseReplaceValueWithNCG(String replaceValue) {
-            return parseReplaceValue(replaceValue, true);
-        }
-
-        static ReplaceStringParser.Token[] parseReplaceValueWithoutNCG(String replaceValue) {
-            return parseReplaceValue(replaceValue, false);
+        static ReplaceStringParser.Template parseReplaceValueWithNCG(String replaceValue) {
+            return ReplaceStringParser.parseTemplate(replaceValue, MAX_GROUP_NUMBER, true);
         }
 
-        static ReplaceStringParser.Token[] parseReplaceValue(String replaceValue, boolean parseNamedCG) {
-            return ReplaceStringParser.parse(replaceValue, 100, parseNamedCG);
+        static ReplaceStringParser.Template parseReplaceValueWithoutNCG(String replaceValue) {
+            return ReplaceStringParser.parseTemplate(replaceValue, MAX_GROUP_NUMBER, false);
         }
 
         private void initTRegexAccessors() {
@@ -995,13 +998,20 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             }
         }
 
-        private String replaceInternal(DynamicObject rx, String s, String replaceString, ReplaceStringParser.Token[] parsedWithNamedCG, ReplaceStringParser.Token[] parsedWithoutNamedCG) {
+        private String replaceInternal(DynamicObject rx, String s, String replaceString, ReplaceStringParser.Template parsedWithNamedCG, ReplaceStringParser.Template parsedWithoutNamedCG) {
             initTRegexAccessors();
             Object tRegexCompiledRegex = compiledRegexProfile.profile(JSRegExp.getCompiledRegexUnchecked(rx, isJSRegExp(rx)));
             Object tRegexFlags = compiledRegexAccessor.flags(tRegexCompiledRegex);
             boolean global = globalProfile.profile(flagsAccessor.global(tRegexFlags));
             boolean unicode = unicodeProfile.profile(flagsAccessor.unicode(tRegexFlags));
             boolean sticky = stickyProfile.profile(flagsAccessor.sticky(tRegexFlags));
+            boolean namedCG = hasNamedCaptureGroupsProfile.profile(!getNamedCaptureGroupsAccessor().isNull(compiledRegexAccessor.namedCaptureGroups(tRegexCompiledRegex)));
+            ReplaceStringParser.Token[] parsedReplaceString;
+            if (parsedWithNamedCG == null) {
+                parsedReplaceString = templateCache.get(replaceString, MAX_GROUP_NUMBER, namedCG).getTokens();
+            } else {
+                parsedReplaceString = (namedCG ? parsedWithNamedCG : parsedWithoutNamedCG).getTokens();
+            }
             int length = s.length();
             DelimitedStringBuilder accumulatedResult = new DelimitedStringBuilder(length + 16);
             int lastMatchEnd = 0;
@@ -1026,14 +1036,8 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
                 int matchEnd = resultAccessor.captureGroupEnd(tRegexResult, 0);
                 assert matchStart >= 0 && matchStart <= length && matchStart >= lastMatchEnd;
                 accumulatedResult.append(s, lastMatchEnd, matchStart, sbAppendProfile);
-                boolean namedCG = hasNamedCaptureGroupsProfile.profile(!getNamedCaptureGroupsAccessor().isNull(compiledRegexAccessor.namedCaptureGroups(tRegexCompiledRegex)));
-                if (parsedWithNamedCG == null) {
-                    ReplaceStringParser.process(replaceString, compiledRegexAccessor.groupCount(tRegexCompiledRegex), namedCG, dollarProfile,
-                                    new ReplaceStringConsumerTRegex(accumulatedResult, s, replaceString, matchStart, matchEnd, tRegexResult, tRegexCompiledRegex), this);
-                } else {
-                    ReplaceStringParser.processParsed(namedCG ? parsedWithNamedCG : parsedWithoutNamedCG,
-                                    new ReplaceStringConsumerTRegex(accumulatedResult, s, replaceString, matchStart, matchEnd, tRegexResult, tRegexCompiledRegex), this);
-                }
+                ReplaceStringParser.processParsed(parsedReplaceString,
+                                new ReplaceStringConsumerTRegex(accumulatedResult, s, replaceString, matchStart, matchEnd, tRegexResult, tRegexCompiledRegex), this);
                 lastMatchEnd = matchEnd;
                 if (global) {
                     if (matchStart == matchEnd) {
@@ -1217,7 +1221,7 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
                 if (namedCaptures != Undefined.instance) {
                     namedCaptures = toObject(namedCaptures);
                 }
-                ReplaceStringParser.process(replaceString, (int) toLength(getLength(result)), namedCaptures != Undefined.instance, dollarProfile,
+                ReplaceStringParser.processParsed(templateCache.get(replaceString, (int) toLength(getLength(result)), namedCaptures != Undefined.instance).getTokens(),
                                 new ReplaceStringConsumer(accumulatedResult, s, replaceString, position, position + matchLength, result, (DynamicObject) namedCaptures), this);
                 return position + matchLength;
             }
@@ -1247,7 +1251,7 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
                 if (lazyResultArrayProfile.profile(isLazyResultArray(result))) {
                     return position + getLazyLength(result);
                 } else {
-                    return position + ((String) read(result, 0)).length();
+                    return position + toString3(read(result, 0)).length();
                 }
             }
             return nextSourcePosition;
@@ -1280,7 +1284,7 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
 
             @Override
             public void match(JSRegExpReplaceNode node) {
-                sb.append((String) node.read(result, 0), node.sbAppendProfile);
+                sb.append(JSRuntime.toStringIsString(node.read(result, 0)), node.sbAppendProfile);
             }
 
             @Override
@@ -1297,7 +1301,7 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             public void captureGroup(JSRegExpReplaceNode node, int groupNumber, int literalStart, int literalEnd) {
                 Object capture = node.read(result, groupNumber);
                 if (capture != Undefined.instance) {
-                    sb.append((String) capture, node.sbAppendProfile);
+                    sb.append(JSRuntime.toStringIsString(capture), node.sbAppendProfile);
                 }
             }
 
@@ -675,7 +675,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         }
 
         @Specialization
-        protected String substring(String thisStr, int start, int end) {
+        protected CharSequence substring(String thisStr, int start, int end) {
             int len = thisStr.length();
             int finalStart = within(start, 0, len);
             int finalEnd = within(end, 0, len);
@@ -683,23 +683,23 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         }
 
         @Specialization(guards = "isUndefined(end)")
-        protected String substringStart(String thisStr, int start, @SuppressWarnings("unused") Object end) {
+        protected CharSequence substringStart(String thisStr, int start, @SuppressWarnings("unused") Object end) {
             int len = thisStr.length();
             int finalStart = within(start, 0, len);
             int finalEnd = len;
             return substringIntl(thisStr, finalStart, finalEnd);
         }
 
-        private String substringIntl(String thisStr, int start, int end) {
+        private CharSequence substringIntl(String thisStr, int start, int end) {
             if (startLowerEnd.profile(start <= end)) {
-                return Boundaries.substring(thisStr, start, end);
+                return JSLazyString.substring(thisStr, start, end);
             } else {
-                return Boundaries.substring(thisStr, end, start);
+                return JSLazyString.substring(thisStr, end, start);
             }
         }
 
         @Specialization(replaces = {"substring", "substringStart"})
-        protected String substringGeneric(Object thisObj, Object start, Object end,
+        protected CharSequence substringGeneric(Object thisObj, Object start, Object end,
                         @Cached("create()") JSToNumberNode toNumber2Node,
                         @Cached("createBinaryProfile()") ConditionProfile startUndefined,
                         @Cached("createBinaryProfile()") ConditionProfile endUndefined) {
@@ -733,7 +733,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
 
             @Override
             @Specialization
-            protected String substringGeneric(Object thisObj, Object start, Object end,
+            protected CharSequence substringGeneric(Object thisObj, Object start, Object end,
                             @Cached("create()") JSToNumberNode toNumber2Node,
                             @Cached("createBinaryProfile()") ConditionProfile startUndefined,
                             @Cached("createBinaryProfile()") ConditionProfile endUndefined) {
@@ -865,6 +865,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
 
         private final ConditionProfile emptyInput = ConditionProfile.createBinaryProfile();
         private final ConditionProfile emptySeparator = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile singleCharSeparator = ConditionProfile.createBinaryProfile();
         private final ConditionProfile zeroLimit = ConditionProfile.createBinaryProfile();
         private final ConditionProfile matchProfile = ConditionProfile.createCountingProfile();
         private final BranchProfile isUndefinedBranch = BranchProfile.create();
@@ -951,7 +952,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
                 return JSArray.createEmptyZeroLength(getContext());
             }
             Object[] splits = splitter.split(thisStr, limit, separator, this);
-            return JSArray.createConstant(getContext(), splits);
+            return JSArray.createZeroBasedObjectArray(getContext(), splits);
         }
 
         public TRegexUtil.TRegexCompiledRegexAccessor getCompiledRegexAccessor() {
@@ -978,39 +979,76 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         private static final Splitter<String> STRING_SPLITTER = new StringSplitter();
         private static final Splitter<DynamicObject> REGEXP_SPLITTER = new RegExpSplitter();
 
+        /**
+         * Splits at a string separator. The matches are counted first, so that the result array can
+         * be allocated with its exact size and no intermediate list is needed.
+         */
         private static final class StringSplitter implements Splitter<String> {
             @Override
             public Object[] split(String input, int limit, String separator, JSStringSplitNode parent) {
                 if (parent.emptySeparator.profile(separator.isEmpty())) {
                     return individualCharSplit(input, limit);
+                } else if (parent.singleCharSeparator.profile(separator.length() == 1)) {
+                    return charSplit(input, limit, separator.charAt(0), parent);
                 } else {
                     return regularSplit(input, limit, separator, parent);
                 }
             }
 
+            private static Object[] charSplit(String input, int limit, char separator, JSStringSplitNode parent) {
+                int end = input.indexOf(separator);
+                if (parent.matchProfile.profile(end == -1)) {
+                    return new Object[]{input};
+                }
+                return charSplitIntl(input, limit, separator, end);
+            }
+
+            @TruffleBoundary
+            private static Object[] charSplitIntl(String input, int limit, char separator, int firstEnd) {
+                int length = input.length();
+                int count = 2;
+                for (int i = firstEnd + 1; i < length && count < limit; i++) {
+                    if (input.charAt(i) == separator) {
+                        count++;
+                    }
+                }
+                Object[] splits = new Object[Math.min(count, limit)];
+                int start = 0;
+                int end = firstEnd;
+                for (int i = 0; i < splits.length - 1; i++) {
+                    splits[i] = input.substring(start, end);
+                    start = end + 1;
+                    end = input.indexOf(separator, start);
+                }
+                splits[splits.length - 1] = input.substring(start, end == -1 ? length : end);
+                return splits;
+            }
+
             private static Object[] regularSplit(String input, int limit, String separator, JSStringSplitNode parent) {
                 int end = input.indexOf(separator);
                 if (parent.matchProfile.profile(end == -1)) {
                     return new Object[]{input};
                 }
-                return regularSplitIntl(input, limit, separator, end, parent);
+                return regularSplitIntl(input, limit, separator, end);
             }
 
             @TruffleBoundary
-            private static Object[] regularSplitIntl(String input, int limit, String separator, int endParam, JSStringSplitNode parent) {
-                SimpleArrayList<String> splits = SimpleArrayList.create(limit);
+            private static Object[] regularSplitIntl(String input, int limit, String separator, int firstEnd) {
+                int separatorLength = separator.length();
+                int count = 2;
+                for (int i = input.indexOf(separator, firstEnd + separatorLength); i != -1 && count < limit; i = input.indexOf(separator, i + separatorLength)) {
+                    count++;
+                }
+                Object[] splits = new Object[Math.min(count, limit)];
                 int start = 0;
-                int end = endParam;
-                while (end != -1) {
-                    splits.add(input.substring(start, end), parent.growProfile);
-                    if (splits.size() == limit) {
-                        return splits.toArray();
-                    }
-                    start = end + separator.length();
+                int end = firstEnd;
+                for (int i = 0; i < splits.length - 1; i++) {
+                    splits[i] = input.substring(start, end);
+                    start = end + separatorLength;
                     end = input.indexOf(separator, start);
                 }
-                splits.add(input.substring(start), parent.growProfile);
-                return splits.toArray();
+                splits[splits.length - 1] = input.substring(start, end == -1 ? input.length() : end);
+                return splits;
             }
 
             private static Object[] individualCharSplit(String input, int limit) {
@@ -1118,9 +1156,10 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         @Child private IsCallableNode isCallableNode;
         private final ConditionProfile functionalReplaceProfile = ConditionProfile.createBinaryProfile();
         private final ConditionProfile replaceNecessaryProfile = ConditionProfile.createBinaryProfile();
-        private final BranchProfile dollarProfile = BranchProfile.create();
         private final ValueProfile searchValueProfile = ValueProfile.createIdentityProfile();
         private final ValueProfile replaceValueProfile = ValueProfile.createIdentityProfile();
+        private final BranchProfile lengthOverflowProfile = BranchProfile.create();
+        private final ReplaceStringParser.TemplateCache templateCache = new ReplaceStringParser.TemplateCache();
 
         public JSStringReplaceNode(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
@@ -1129,7 +1168,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         @Specialization(guards = "cachedReplaceValue.equals(replaceValue)")
         protected Object replaceStringCached(Object thisObj, String searchValue, @SuppressWarnings("unused") String replaceValue,
                         @Cached("replaceValue") String cachedReplaceValue,
-                        @Cached(value = "parseReplaceValue(replaceValue)", dimensions = 1) ReplaceStringParser.Token[] cachedParsedReplaceValue) {
+                        @Cached("parseReplaceValue(replaceValue)") ReplaceStringParser.Template cachedParsedReplaceValue) {
             requireObjectCoercible(thisObj);
             return builtinReplaceString(searchValue, cachedReplaceValue, thisObj, cachedParsedReplaceValue);
         }
@@ -1137,7 +1176,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         @Specialization(replaces = "replaceStringCached")
         protected Object replaceString(Object thisObj, String searchValue, String replaceValue) {
             requireObjectCoercible(thisObj);
-            return builtinReplaceString(searchValue, replaceValue, thisObj, null);
+            return builtinReplaceString(searchValue, replaceValue, thisObj, templateCache.get(replaceValue, 0, false));
         }
 
         @Specialization(replaces = {"replaceString", "replaceStringCached"})
@@ -1161,8 +1200,8 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             return builtinReplace(searchVal, replaceVal, thisObj);
         }
 
-        static ReplaceStringParser.Token[] parseReplaceValue(String replaceValue) {
-            return ReplaceStringParser.parse(replaceValue, 0, false);
+        static ReplaceStringParser.Template parseReplaceValue(String replaceValue) {
+            return ReplaceStringParser.parseTemplate(replaceValue, 0, false);
         }
 
         private String builtinReplace(Object searchValue, Object replParam, Object o) {
@@ -1177,32 +1216,37 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             if (replaceNecessaryProfile.profile(pos < 0)) {
                 return string;
             }
+            if (!functionalReplaceProfile.profile(functionalReplace)) {
+                return replaceFirst(string, searchString, pos, replaceString, templateCache.get(replaceString, 0, false));
+            }
             StringBuilder sb = new StringBuilder(pos + (string.length() - (pos + searchString.length())) + 20);
             Boundaries.builderAppend(sb, string, 0, pos);
-            if (functionalReplaceProfile.profile(functionalReplace)) {
-                Object replValue = functionReplaceCall(replParam, Undefined.instance, new Object[]{searchString, pos, string});
-                Boundaries.builderAppend(sb, toString3Node.executeString(replValue));
-            } else {
-                appendSubstitution(sb, string, replaceString, searchString, pos, dollarProfile);
-            }
+            Object replValue = functionReplaceCall(replParam, Undefined.instance, new Object[]{searchString, pos, string});
+            Boundaries.builderAppend(sb, toString3Node.executeString(replValue));
             Boundaries.builderAppend(sb, string, pos + searchString.length(), string.length());
             return Boundaries.builderToString(sb);
         }
 
-        private String builtinReplaceString(String searchString, String replaceString, Object o, ReplaceStringParser.Token[] parsedReplaceParam) {
+        private String builtinReplaceString(String searchString, String replaceString, Object o, ReplaceStringParser.Template template) {
             String input = toString(o);
             int pos = input.indexOf(searchString);
             if (replaceNecessaryProfile.profile(pos < 0)) {
                 return input;
             }
-            StringBuilder sb = new StringBuilder(pos + (input.length() - (pos + searchString.length())) + 20);
-            Boundaries.builderAppend(sb, input, 0, pos);
-            if (parsedReplaceParam == null) {
-                appendSubstitution(sb, input, replaceString, searchString, pos, dollarProfile);
-            } else {
-                ReplaceStringParser.processParsed(parsedReplaceParam, new ReplaceStringConsumer(sb, input, replaceString, searchString, pos), null);
+            return replaceFirst(input, searchString, pos, replaceString, template);
+        }
+
+        private String replaceFirst(String input, String searchString, int pos, String replaceString, ReplaceStringParser.Template template) {
+            int matchEnd = pos + searchString.length();
+            long resultLength = pos + template.substitutionLength(input.length(), pos, searchString.length()) + (input.length() - matchEnd);
+            if (resultLength > JSTruffleOptions.StringLengthLimit) {
+                lengthOverflowProfile.enter();
+                throw Errors.createRangeErrorInvalidStringLength();
             }
-            Boundaries.builderAppend(sb, input, pos + searchString.length(), input.length());
+            StringBuilder sb = new StringBuilder((int) resultLength);
+            Boundaries.builderAppend(sb, input, 0, pos);
+            ReplaceStringParser.processParsed(template.getTokens(), new ReplaceStringConsumer(sb, input, replaceString, searchString, pos), null);
+            Boundaries.builderAppend(sb, input, matchEnd, input.length());
             return Boundaries.builderToString(sb);
         }
 
@@ -1491,7 +1535,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
                         Boundaries.builderAppend(sb, '$');
                         break;
                     case '&':
-                        Boundaries.builderAppend(sb, (String) resultMaterializer.materializeGroup(result, 0, input));
+                        Boundaries.builderAppend(sb, input, resultAccessor.captureGroupStart(result, 0), resultAccessor.captureGroupEnd(result, 0));
                         break;
                     case '`':
                         Boundaries.builderAppend(sb, input, 0, resultAccessor.captureGroupStart(result, 0));
@@ -1525,8 +1569,10 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
                     Boundaries.builderAppend(sb, digit);
                     return 1;
                 }
-                String group = (String) resultMaterializer.materializeGroup(result, groupNr, input);
-                Boundaries.builderAppend(sb, group);
+                int groupStart = resultAccessor.captureGroupStart(result, groupNr);
+                if (groupStart != TRegexUtil.Constants.CAPTURE_GROUP_NO_MATCH) {
+                    Boundaries.builderAppend(sb, input, groupStart, resultAccessor.captureGroupEnd(result, groupNr));
+                }
                 return (groupNr > 9) ? 2 : 1;
             }
 
@@ -1834,17 +1880,17 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         }
 
         @Specialization
-        protected String substrInt(String thisStr, int start, int length) {
+        protected CharSequence substrInt(String thisStr, int start, int length) {
             return substrIntl(thisStr, start, length);
         }
 
         @Specialization(guards = "isUndefined(length)")
-        protected String substrLenUndef(String thisStr, int start, @SuppressWarnings("unused") Object length) {
+        protected CharSequence substrLenUndef(String thisStr, int start, @SuppressWarnings("unused") Object length) {
             return substrIntl(thisStr, start, thisStr.length());
         }
 
         @Specialization(replaces = {"substrInt", "substrLenUndef"})
-        protected String substr(Object thisObj, Object start, Object length) {
+        protected CharSequence substr(Object thisObj, Object start, Object length) {
             requireObjectCoercible(thisObj);
             String thisStr = toString(thisObj);
             int startInt = toInteger(start);
@@ -1852,7 +1898,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             return substrIntl(thisStr, startInt, len);
         }
 
-        private String substrIntl(String thisStr, int start, int length) {
+        private CharSequence substrIntl(String thisStr, int start, int length) {
             int startInt = start;
             if (startInt < 0) {
                 startNegativeBranch.enter();
@@ -1863,7 +1909,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
                 finalLenEmptyBranch.enter();
                 return "";
             }
-            return Boundaries.substring(thisStr, startInt, startInt + finalLen);
+            return JSLazyString.substring(thisStr, startInt, startInt + finalLen);
         }
     }
 
@@ -1976,10 +2022,10 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             if (match.profile(!resultAccessor.isMatch(result))) {
                 return Null.instance;
             }
-            List<String> matches = new ArrayList<>();
+            List<Object> matches = new ArrayList<>();
             int lastIndex = 0;
             while (resultAccessor.isMatch(result)) {
-                Boundaries.listAdd(matches, (String) resultMaterializer.materializeGroup(result, 0, input));
+                Boundaries.listAdd(matches, resultMaterializer.materializeGroup(result, 0, input));
 
                 int thisIndex = resultAccessor.captureGroupEnd(result, 0);
                 lastIndex = thisIndex + (thisIndex == lastIndex ? 1 : 0);
@@ -2143,25 +2189,25 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         }
 
         @Specialization
-        protected String sliceString(String str, int start, int end) {
+        protected CharSequence sliceString(String str, int start, int end) {
             int len = str.length();
             int istart = JSRuntime.getOffset(start, len, offsetProfile1);
             int iend = JSRuntime.getOffset(end, len, offsetProfile2);
             if (canReturnEmpty.profile(iend > istart)) {
-                return Boundaries.substring(str, istart, iend);
+                return JSLazyString.substring(str, istart, iend);
             } else {
                 return "";
             }
         }
 
         @Specialization(replaces = "sliceString")
-        protected String sliceObject(Object thisObj, int start, int end) {
+        protected CharSequence sliceObject(Object thisObj, int start, int end) {
             requireObjectCoercible(thisObj);
             return sliceString(toString(thisObj), start, end);
         }
 
         @Specialization(replaces = {"sliceString", "sliceObject"})
-        protected String slice(Object thisObj, Object start, Object end) {
+        protected CharSequence slice(Object thisObj, Object start, Object end) {
             requireObjectCoercible(thisObj);
             String s = toString(thisObj);
 
@@ -2169,7 +2215,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             long istart = JSRuntime.getOffset(toInteger(start), len, offsetProfile1);
             long iend = isUndefined.profile(end == Undefined.instance) ? len : JSRuntime.getOffset(toInteger(end), len, offsetProfile2);
             if (canReturnEmpty.profile(iend > istart)) {
-                return Boundaries.substring(s, (int) istart, (int) iend);
+                return JSLazyString.substring(s, (int) istart, (int) iend);
             } else {
                 return "";
             }
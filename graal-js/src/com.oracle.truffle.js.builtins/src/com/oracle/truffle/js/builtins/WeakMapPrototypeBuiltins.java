@@ -129,6 +129,14 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
         protected HasHiddenKeyCacheNode createInvertedHas() {
             return WeakMap.createInvertedKeyMapHasNode();
         }
+
+        /**
+         * Whether WeakMaps of this context keep their entries in the key objects (see
+         * {@link WeakMap}) or in a weak key table that leaves the shapes of the keys untouched.
+         */
+        protected final boolean isInvertedStorage() {
+            return getContext().isOptionWeakMapInvertedStorage();
+        }
     }
 
     /**
@@ -167,7 +175,7 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
             super(context, builtin);
         }
 
-        @Specialization(guards = {"isJSWeakMap(thisObj)", "isJSObject(key)", "!isJSProxy(key)"})
+        @Specialization(guards = {"isInvertedStorage()", "isJSWeakMap(thisObj)", "isJSObject(key)", "!isJSProxy(key)"})
         protected Object getCached(DynamicObject thisObj, DynamicObject key,
                         @Cached("createStorageGet()") PropertyGetNode storageGetter,
                         @Cached("createInvertedGet()") PropertyGetNode invertedGetter,
@@ -225,7 +233,7 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
             super(context, builtin);
         }
 
-        @Specialization(guards = {"isJSWeakMap(thisObj)", "isJSObject(key)", "!isJSProxy(key)"})
+        @Specialization(guards = {"isInvertedStorage()", "isJSWeakMap(thisObj)", "isJSObject(key)", "!isJSProxy(key)"})
         protected Object setCached(DynamicObject thisObj, DynamicObject key, Object value,
                         @Cached("createStorageGet()") PropertyGetNode storageGetter,
                         @Cached("createInvertedGet()") PropertyGetNode invertedGetter,
@@ -278,7 +286,7 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
             super(context, builtin);
         }
 
-        @Specialization(guards = {"isJSWeakMap(thisObj)", "isJSObject(key)", "!isJSProxy(key)"})
+        @Specialization(guards = {"isInvertedStorage()", "isJSWeakMap(thisObj)", "isJSObject(key)", "!isJSProxy(key)"})
         protected Object hasCached(DynamicObject thisObj, DynamicObject key,
                         @Cached("createStorageGet()") PropertyGetNode storageGetter,
                         @Cached("createInvertedGet()") PropertyGetNode invertedGetter,
@@ -76,7 +76,7 @@ public class FloatParser {
 
     @TruffleBoundary
     private double parseValidSubstring() {
-        return Double.parseDouble(input.substring(0, pos));
+        return JSRuntime.parseDoubleOrNaN(input, 0, pos);
     }
 
     private void strDecimalLiteral() {
@@ -169,7 +169,7 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         } else if (n instanceof Long) {
             builder.append(((Long) n).longValue(), sbAppendProfile);
         } else {
-            builder.append(JSRuntime.doubleToString(d), sbAppendProfile);
+            builder.append(d, sbAppendProfile);
         }
     }
 
@@ -48,7 +48,7 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.ValueProfile;
-import com.oracle.truffle.js.builtins.helper.JSRegExpExecIntlNodeGen.BuildGroupsObjectNodeGen;
+import com.oracle.truffle.js.builtins.helper.JSRegExpExecIntlNodeGen.GetGroupsFactoryNodeGen;
 import com.oracle.truffle.js.builtins.helper.JSRegExpExecIntlNodeGen.JSRegExpExecBuiltinNodeGen;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.nodes.access.IsJSClassNode;
@@ -65,7 +65,6 @@ import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSObjectFactory;
 import com.oracle.truffle.js.runtime.builtins.JSRegExp;
-import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
@@ -220,41 +219,34 @@ public abstract class JSRegExpExecIntlNode extends JavaScriptBaseNode {
         }
     }
 
+    /**
+     * Looks up the factory of the {@code groups} object of regex results. The object itself is only
+     * created when the {@code groups} property of the result is accessed.
+     */
     @ImportStatic({JSRegExp.class, JSRegExpExecIntlNode.class})
-    public abstract static class BuildGroupsObjectNode extends JavaScriptBaseNode {
+    public abstract static class GetGroupsFactoryNode extends JavaScriptBaseNode {
 
-        public static BuildGroupsObjectNode create() {
-            return BuildGroupsObjectNodeGen.create();
+        public static GetGroupsFactoryNode create() {
+            return GetGroupsFactoryNodeGen.create();
         }
 
-        public abstract DynamicObject execute(JSContext context, DynamicObject regExp, Object regexResult, String input);
+        public abstract JSObjectFactory execute(DynamicObject regExp);
 
         // We can reuse the cachedGroupsFactory even if the new groups factory is different, as long
         // as the compiledRegex is the same. This can happen if a new RegExp instance is repeatedly
         // created for the same regular expression.
         @Specialization(guards = "getGroupsFactoryUnchecked(regExp, isJSRegExpNode.executeBoolean(regExp)) == cachedGroupsFactory || getCompiledRegexUnchecked(regExp, isJSRegExpNode.executeBoolean(regExp)) == cachedCompiledRegex")
-        static DynamicObject doCachedGroupsFactory(JSContext context,
-                        @SuppressWarnings("unused") DynamicObject regExp,
-                        Object regexResult,
-                        String input,
+        static JSObjectFactory doCachedGroupsFactory(@SuppressWarnings("unused") DynamicObject regExp,
                         @Cached("getCompiledRegex(regExp)") @SuppressWarnings("unused") Object cachedCompiledRegex,
                         @Cached("getGroupsFactory(regExp)") JSObjectFactory cachedGroupsFactory,
                         @Cached("createIsJSRegExpNode()") @SuppressWarnings("unused") IsJSClassNode isJSRegExpNode) {
-            return doIt(context, cachedGroupsFactory, regexResult, input);
+            return cachedGroupsFactory;
         }
 
         @Specialization
         @TruffleBoundary
-        static DynamicObject doVaryingGroupsFactory(JSContext context, DynamicObject regExp, Object regexResult, String input) {
-            return doIt(context, JSRegExp.getGroupsFactory(regExp), regexResult, input);
-        }
-
-        private static DynamicObject doIt(JSContext context, JSObjectFactory groupsFactory, Object regexResult, String input) {
-            if (groupsFactory == null) {
-                return Undefined.instance;
-            } else {
-                return JSObject.create(context, groupsFactory, regexResult, input);
-            }
+        static JSObjectFactory doVaryingGroupsFactory(DynamicObject regExp) {
+            return JSRegExp.getGroupsFactory(regExp);
         }
     }
 
@@ -274,7 +266,7 @@ public abstract class JSRegExpExecIntlNode extends JavaScriptBaseNode {
         @Child private TRegexUtil.TRegexCompiledRegexAccessor compiledRegexAccessor = TRegexUtil.TRegexCompiledRegexAccessor.create();
         @Child private TRegexUtil.TRegexFlagsAccessor flagsAccessor = TRegexUtil.TRegexFlagsAccessor.create();
         @Child private TRegexUtil.TRegexResultAccessor regexResultAccessor = TRegexUtil.TRegexResultAccessor.create();
-        @Child private BuildGroupsObjectNode groupsBuilder;
+        @Child private GetGroupsFactoryNode getGroupsFactoryNode;
 
         JSRegExpExecBuiltinNode(JSContext context) {
             this.context = context;
@@ -336,8 +328,8 @@ public abstract class JSRegExpExecIntlNode extends JavaScriptBaseNode {
                     return result;
                 }
                 int groupCount = compiledRegexAccessor.groupCount(compiledRegex);
-                DynamicObject groups = getGroupsObject(regExp, result, input);
-                return getMatchResult(result, groupCount, input, groups);
+                JSObjectFactory groupsFactory = getGroupsFactory(regExp);
+                return getMatchResult(result, groupCount, input, groupsFactory);
             } else {
                 if (ecmaScriptVersion < 8 || global || sticky) {
                     setLastIndex(regExp, 0);
@@ -347,17 +339,17 @@ public abstract class JSRegExpExecIntlNode extends JavaScriptBaseNode {
         }
 
         // converts RegexResult into DynamicObject
-        private DynamicObject getMatchResult(Object result, int groupCount, String inputStr, DynamicObject groups) {
-            return JSArray.createLazyRegexArray(context, groupCount, result, inputStr, groups);
+        private DynamicObject getMatchResult(Object result, int groupCount, String inputStr, JSObjectFactory groupsFactory) {
+            return JSArray.createLazyRegexArray(context, groupCount, result, inputStr, groupsFactory);
         }
 
-        // builds the object containing the matches of the named capture groups
-        private DynamicObject getGroupsObject(DynamicObject regExp, Object result, String input) {
-            if (groupsBuilder == null) {
+        // the factory of the object containing the matches of the named capture groups
+        private JSObjectFactory getGroupsFactory(DynamicObject regExp) {
+            if (getGroupsFactoryNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
-                groupsBuilder = insert(BuildGroupsObjectNode.create());
+                getGroupsFactoryNode = insert(GetGroupsFactoryNode.create());
             }
-            return groupsBuilder.execute(context, regExp, result, input);
+            return getGroupsFactoryNode.execute(regExp);
         }
 
         private long getLastIndex(DynamicObject regExp) {
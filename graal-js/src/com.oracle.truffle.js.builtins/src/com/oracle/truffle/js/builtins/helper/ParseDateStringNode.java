@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and license the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins.helper;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
+import com.oracle.truffle.js.runtime.Evaluator;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.builtins.JSDate;
+
+/**
+ * Converts a date string to a time value, as needed by {@code Date.parse} and
+ * {@code new Date(string)}. Strings in the date time string format of ES5 15.9.1.15
+ * ({@code YYYY-MM-DDTHH:mm:ss.sssZ} and its shorter and offset variants) are parsed directly;
+ * all other strings are left to {@link Evaluator#parseDate}.
+ */
+public final class ParseDateStringNode extends JavaScriptBaseNode {
+
+    /** Returned by {@link #parseISODate} for strings that are not in the expected format. */
+    private static final double NOT_ISO_DATE = Double.NEGATIVE_INFINITY;
+
+    private static final int[] DAYS_BEFORE_MONTH = {0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334};
+
+    private final JSContext context;
+    private final ConditionProfile isISODate = ConditionProfile.createBinaryProfile();
+
+    private ParseDateStringNode(JSContext context) {
+        this.context = context;
+    }
+
+    public static ParseDateStringNode create(JSContext context) {
+        return new ParseDateStringNode(context);
+    }
+
+    public double execute(String dateString) {
+        double time = parseISODate(dateString);
+        if (isISODate.profile(time != NOT_ISO_DATE)) {
+            return time;
+        }
+        return parseOtherDate(dateString);
+    }
+
+    @TruffleBoundary
+    private double parseOtherDate(String dateString) {
+        Integer[] fields = context.getEvaluator().parseDate(context.getRealm(), dateString.trim());
+        if (fields != null) {
+            return JSDate.makeDate(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], fields[6], fields[7], context);
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Parses {@code [('-'|'+')yy]yyyy[-MM[-dd]][Thh:mm[:ss[.s+]][Z|(+|-)hh:mm]]} (surrounded by
+     * optional white space) with the same results as the date parser; like there, a missing offset
+     * means UTC. Returns {@link #NOT_ISO_DATE} for any other string, including variants that the
+     * date parser would accept as well, so that these are left to it. A numeric offset after a time
+     * without seconds is left to the date parser, too, because it handles offsets specially.
+     */
+    @TruffleBoundary
+    static double parseISODate(String string) {
+        int end = string.length();
+        int pos = 0;
+        while (pos < end && string.charAt(pos) <= ' ') {
+            pos++;
+        }
+        while (end > pos && string.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (pos == end) {
+            return NOT_ISO_DATE;
+        }
+
+        int year;
+        char c = string.charAt(pos);
+        if (c == '+' || c == '-') {
+            year = readDigits(string, pos + 1, 6, end);
+            if (year < 0) {
+                return NOT_ISO_DATE;
+            }
+            if (c == '-') {
+                year = -year;
+            }
+            pos += 7;
+        } else {
+            year = readDigits(string, pos, 4, end);
+            if (year < 0) {
+                return NOT_ISO_DATE;
+            }
+            pos += 4;
+        }
+        int month = 1;
+        int day = 1;
+        if (pos < end && string.charAt(pos) == '-') {
+            month = readDigits(string, pos + 1, 2, end);
+            if (month < 1 || month > 12) {
+                return NOT_ISO_DATE;
+            }
+            pos += 3;
+            if (pos < end && string.charAt(pos) == '-') {
+                day = readDigits(string, pos + 1, 2, end);
+                if (day < 1 || day > 31) {
+                    return NOT_ISO_DATE;
+                }
+                pos += 3;
+            }
+        }
+
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int millisecond = 0;
+        int offset = 0;
+        boolean hasSeconds = false;
+        if (pos < end) {
+            if (string.charAt(pos) != 'T') {
+                return NOT_ISO_DATE;
+            }
+            hour = readDigits(string, pos + 1, 2, end);
+            if (hour < 0 || hour > 24 || pos + 3 >= end || string.charAt(pos + 3) != ':') {
+                return NOT_ISO_DATE;
+            }
+            minute = readDigits(string, pos + 4, 2, end);
+            if (minute < 0 || minute > 59) {
+                return NOT_ISO_DATE;
+            }
+            pos += 6;
+            if (pos < end && string.charAt(pos) == ':') {
+                second = readDigits(string, pos + 1, 2, end);
+                if (second < 0 || second > 59) {
+                    return NOT_ISO_DATE;
+                }
+                pos += 3;
+                hasSeconds = true;
+                if (pos < end && string.charAt(pos) == '.') {
+                    pos++;
+                    int start = pos;
+                    while (pos < end && isDigit(string.charAt(pos))) {
+                        if (pos - start < 3) {
+                            millisecond = millisecond * 10 + (string.charAt(pos) - '0');
+                        }
+                        pos++;
+                    }
+                    int digits = pos - start;
+                    if (digits == 0 || digits > 9) {
+                        return NOT_ISO_DATE;
+                    }
+                    for (int i = digits; i < 3; i++) {
+                        millisecond *= 10;
+                    }
+                }
+            }
+            if (hour == 24 && (minute != 0 || second != 0 || millisecond != 0)) {
+                return NOT_ISO_DATE;
+            }
+            if (pos < end) {
+                c = string.charAt(pos);
+                if (c == 'Z') {
+                    pos++;
+                } else if (c == '+' || c == '-') {
+                    if (!hasSeconds) {
+                        return NOT_ISO_DATE;
+                    }
+                    int offsetHours = readDigits(string, pos + 1, 2, end);
+                    if (offsetHours < 0 || pos + 3 >= end || string.charAt(pos + 3) != ':') {
+                        return NOT_ISO_DATE;
+                    }
+                    int offsetMinutes = readDigits(string, pos + 4, 2, end);
+                    if (offsetMinutes < 0) {
+                        return NOT_ISO_DATE;
+                    }
+                    offset = 60 * offsetHours + offsetMinutes;
+                    if (c == '-') {
+                        offset = -offset;
+                    }
+                    pos += 6;
+                }
+            }
+        }
+        if (pos != end) {
+            return NOT_ISO_DATE;
+        }
+
+        long days = JSDate.dayFromYear(year) + DAYS_BEFORE_MONTH[month - 1] + day - 1;
+        if (month > 2 && isLeapYear(year)) {
+            days++;
+        }
+        long time = days * JSDate.MS_PER_DAY + hour * 3600000L + minute * 60000L + second * 1000L + millisecond - offset * 60000L;
+        if (Math.abs(time) > JSDate.MAX_DATE) {
+            return Double.NaN;
+        }
+        return time;
+    }
+
+    /**
+     * Reads exactly {@code count} decimal digits starting at {@code pos}, returns -1 if there are
+     * fewer.
+     */
+    private static int readDigits(String string, int pos, int count, int end) {
+        if (pos + count > end) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = pos; i < pos + count; i++) {
+            char c = string.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return '0' <= c && c <= '9';
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+    }
+}
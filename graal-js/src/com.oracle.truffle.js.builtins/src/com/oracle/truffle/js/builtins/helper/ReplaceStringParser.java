@@ -188,6 +188,89 @@ public final class ReplaceStringParser<T> {
         }
     }
 
+    /**
+     * A replacement string parsed into tokens, so that it can be applied to any number of matches
+     * without being parsed again.
+     */
+    public static final class Template {
+
+        private final String replaceStr;
+        private final int maxGroupNumber;
+        private final boolean parseNamedCaptureGroups;
+        private final Token[] tokens;
+        private final int literalLength;
+
+        Template(String replaceStr, int maxGroupNumber, boolean parseNamedCaptureGroups, Token[] tokens) {
+            this.replaceStr = replaceStr;
+            this.maxGroupNumber = maxGroupNumber;
+            this.parseNamedCaptureGroups = parseNamedCaptureGroups;
+            this.tokens = tokens;
+            int length = 0;
+            for (Token t : tokens) {
+                if (t.getKind() == Token.Kind.literal) {
+                    length += ((LiteralToken) t).getEnd() - ((LiteralToken) t).getStart();
+                }
+            }
+            this.literalLength = length;
+        }
+
+        /**
+         * Returns whether this template has been parsed from the same string object with the same
+         * parameters.
+         */
+        public boolean isParsedFrom(String str, int maxGroups, boolean namedCaptureGroups) {
+            return replaceStr == str && maxGroupNumber == maxGroups && parseNamedCaptureGroups == namedCaptureGroups;
+        }
+
+        public Token[] getTokens() {
+            return tokens;
+        }
+
+        /**
+         * Returns the length of the substitution for a match of length {@code matchLength} at
+         * {@code position} of a string of length {@code inputLength}, not counting the contents of
+         * capture groups.
+         */
+        public long substitutionLength(int inputLength, int position, int matchLength) {
+            long length = literalLength;
+            for (Token t : tokens) {
+                switch (t.getKind()) {
+                    case match:
+                        length += matchLength;
+                        break;
+                    case matchHead:
+                        length += position;
+                        break;
+                    case matchTail:
+                        length += inputLength - position - matchLength;
+                        break;
+                    default:
+                        break;
+                }
+            }
+            return length;
+        }
+    }
+
+    /**
+     * Remembers the most recently parsed template, for call sites that see too many different
+     * replacement strings to cache them all in specializations but still tend to use the same one
+     * repeatedly. Replacement strings are compared by identity.
+     */
+    public static final class TemplateCache {
+
+        private Template last;
+
+        public Template get(String replaceStr, int maxGroupNumber, boolean parseNamedCaptureGroups) {
+            Template template = last;
+            if (template == null || !template.isParsedFrom(replaceStr, maxGroupNumber, parseNamedCaptureGroups)) {
+                template = parseTemplate(replaceStr, maxGroupNumber, parseNamedCaptureGroups);
+                last = template;
+            }
+            return template;
+        }
+    }
+
     private final String replaceStr;
     private final int maxGroupNumber; // exclusive
     private final boolean parseNamedCaptureGroups;
@@ -210,6 +293,11 @@ public final class ReplaceStringParser<T> {
         return consumer.getTokens();
     }
 
+    @TruffleBoundary
+    public static Template parseTemplate(String replaceStr, int maxGroupNumber, boolean parseNamedCaptureGroups) {
+        return new Template(replaceStr, maxGroupNumber, parseNamedCaptureGroups, parse(replaceStr, maxGroupNumber, parseNamedCaptureGroups));
+    }
+
     public static <T> void processParsed(Token[] tokens, Consumer<T> consumer, T node) {
         for (Token t : tokens) {
             switch (t.getKind()) {
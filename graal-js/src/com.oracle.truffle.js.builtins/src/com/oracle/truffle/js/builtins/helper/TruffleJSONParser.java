@@ -66,6 +66,8 @@ public class TruffleJSONParser {
     protected static final int MAX_PARSE_DEPTH = 100000;
 
     private static final String MALFORMED_NUMBER = "malformed number";
+    /** Integer literals with at most this many digits always fit into a long. */
+    private static final int MAX_LONG_DIGITS = 18;
 
     public TruffleJSONParser(JSContext context) {
         this.context = context;
@@ -377,57 +379,52 @@ public class TruffleJSONParser {
         if (fractionPos == startPos || fractionPos == (pos - 1)) {
             error(MALFORMED_NUMBER);
         }
-        String valueStr;
-
+        int endPos = pos;
         boolean hasExponent = false;
-        int exponent = 0;
         if (posValid() && isExponentPart()) {
             hasExponent = true;
             pos++; // reads the "E" without skipping whitespace
-            exponent = readDigits();
+            readDigits();
         }
-        valueStr = parseStr.substring(startPos, pos);
+        int valueEndPos = pos;
         skipWhitespace(); // after the number
 
-        if (fractionPos >= 0) {
-            return parseAsDouble(sign, valueStr);
+        if (fractionPos < 0 && !hasExponent && (endPos - startPos) <= MAX_LONG_DIGITS) {
+            return parseAsLong(sign, startPos, endPos);
         } else {
-            try {
-                return parseAsInt(sign, valueStr, hasExponent, Math.pow(10, exponent));
-            } catch (NumberFormatException ex) {
-                return parseAsDouble(sign, valueStr);
-            }
+            return JSRuntime.parseDoubleOrNaN(parseStr, startPos, valueEndPos) * sign;
         }
     }
 
-    protected static Number parseAsInt(int sign, String valueStr, boolean hasExponent, double expVal) {
-        int intVal = Integer.parseInt(valueStr);
+    /**
+     * Parses an integer literal of at most {@link #MAX_LONG_DIGITS} digits, returning an
+     * {@link Integer} if possible.
+     */
+    protected Number parseAsLong(int sign, int startPos, int endPos) {
+        long value = 0;
+        for (int i = startPos; i < endPos; i++) {
+            value = value * 10 + (parseStr.charAt(i) - '0');
+        }
         if (sign == -1) {
-            if (intVal == 0) {
+            if (value == 0) {
                 return -0.0;
             }
-            intVal *= -1;
+            value = -value;
         }
-        if (hasExponent) {
-            return intVal * expVal;
+        if (JSRuntime.longIsRepresentableAsInt(value)) {
+            return (int) value;
         } else {
-            return intVal;
+            return (double) value;
         }
     }
 
-    protected static Number parseAsDouble(int sign, String valueStr) {
-        return Double.parseDouble(valueStr) * sign;
-    }
-
-    protected int readDigits() {
-        int sign = 1;
+    /**
+     * Skips the (optionally signed) digits of an exponent.
+     */
+    protected void readDigits() {
         char cur = get();
-        if (cur == '-') {
-            read();
-            sign = -1;
-        } else if (cur == '+') {
+        if (cur == '-' || cur == '+') {
             read();
-            sign = 1;
         }
         if (!posValid()) {
             error(MALFORMED_NUMBER);
@@ -444,7 +441,6 @@ public class TruffleJSONParser {
         if (pos == startPos) {
             error("Expected number but found ident");
         }
-        return sign * Integer.parseInt(parseStr.substring(startPos, pos));
     }
 
     protected boolean isExponentPart() {
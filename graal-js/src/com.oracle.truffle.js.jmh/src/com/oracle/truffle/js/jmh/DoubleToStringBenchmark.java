@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and license the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.oracle.truffle.js.runtime.doubleconv.DoubleConversion;
+
+/**
+ * Compares the shortest double-to-string conversion ({@code toShortestString} and the
+ * allocation-free {@code toShortestChars}) with the former {@code FastDtoa}/{@code BignumDtoa}
+ * path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoubleToStringBenchmark {
+
+    private static final int SIZE = 1024;
+
+    @Param({"random", "integer", "decimal"}) public String kind;
+
+    private final double[] values = new double[SIZE];
+    private final char[] buffer = new char[DoubleConversion.SHORTEST_MAX_LENGTH];
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < SIZE; i++) {
+            double value;
+            switch (kind) {
+                case "random":
+                    do {
+                        value = Double.longBitsToDouble(random.nextLong());
+                    } while (Double.isNaN(value) || Double.isInfinite(value) || value == 0);
+                    break;
+                case "integer":
+                    value = 1 + random.nextInt(Integer.MAX_VALUE) * (double) (1 + random.nextInt(1000));
+                    break;
+                case "decimal":
+                    value = (1 + random.nextInt(1000000)) / 100.0;
+                    break;
+                default:
+                    throw new IllegalArgumentException(kind);
+            }
+            values[i] = value;
+        }
+    }
+
+    @Benchmark
+    public void shortestString(Blackhole blackhole) {
+        for (double value : values) {
+            blackhole.consume(DoubleConversion.toShortestString(value));
+        }
+    }
+
+    @Benchmark
+    public void shortestChars(Blackhole blackhole) {
+        for (double value : values) {
+            blackhole.consume(DoubleConversion.toShortestChars(value, buffer, 0));
+        }
+    }
+
+    @Benchmark
+    public void grisuWithBignumFallback(Blackhole blackhole) {
+        for (double value : values) {
+            blackhole.consume(DoubleConversion.toShortestStringGrisu(value));
+        }
+    }
+}
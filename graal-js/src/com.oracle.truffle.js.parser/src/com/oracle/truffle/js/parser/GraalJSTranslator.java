@@ -1848,7 +1848,37 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
     private JavaScriptNode desugarForOf(ForNode forNode, JavaScriptNode modify, JumpTargetCloseable<ContinueTarget> jumpTarget) {
         assert forNode.isForOf();
         JavaScriptNode getIterator = factory.createGetIterator(context, modify);
-        return desugarForInOrOfBody(forNode, getIterator, jumpTarget);
+        VarRef iteratorVar = environment.createTempVar();
+        JavaScriptNode iteratorInit = iteratorVar.createWriteNode(getIterator);
+        VarRef nextValueVar = environment.createTempVar();
+        VarRef doneVar = environment.createTempVar();
+        VarRef dontCloseIterVar = environment.createTempVar();
+        // Fused IteratorStep and IteratorValue, so that built-in iterators can be stepped without
+        // creating iterator result objects.
+        // nextValue = IteratorStepValue(iterator) (sets done = true if the iterator is exhausted)
+        // while(!done)
+        JavaScriptNode iteratorStep = factory.createIteratorStepSpecial(context, iteratorVar.createReadNode(),
+                        factory.createExprBlock(doneVar.createWriteNode(factory.createConstantBoolean(true)), factory.createConstantUndefined()), false);
+        JavaScriptNode condition = factory.createDual(context,
+                        dontCloseIterVar.createWriteNode(factory.createConstantBoolean(true)),
+                        factory.createDual(context, nextValueVar.createWriteNode(iteratorStep), factory.createUnary(UnaryOperation.NOT, doneVar.createReadNode())));
+        JavaScriptNode wrappedBody;
+        try (EnvironmentCloseable blockEnv = forNode.hasPerIterationScope() ? enterBlockEnvironment(lc.getCurrentBlock()) : new EnvironmentCloseable(environment)) {
+            VarRef nextValueVar2 = environment.findTempVar(nextValueVar.getFrameSlot());
+            VarRef dontCloseIterVar2 = environment.findTempVar(dontCloseIterVar.getFrameSlot());
+            JavaScriptNode writeNext = tagStatement(desugarForHeadAssignment(forNode, nextValueVar2.createReadNode()), forNode);
+            JavaScriptNode body = transform(forNode.getBody());
+            wrappedBody = blockEnv.wrapBlockScope(createBlock(
+                            dontCloseIterVar2.createWriteNode(factory.createConstantBoolean(false)),
+                            writeNext,
+                            body));
+        }
+        wrappedBody = jumpTarget.wrapContinueTargetNode(wrappedBody);
+        JavaScriptNode whileNode = createWhileDo(condition, wrappedBody);
+        JavaScriptNode wrappedWhile = factory.createIteratorCloseIfNotDone(context, jumpTarget.wrapBreakTargetNode(whileNode), iteratorVar.createReadNode(), dontCloseIterVar.createReadNode());
+        JavaScriptNode resetIterator = iteratorVar.createWriteNode(factory.createConstant(JSFrameUtil.DEFAULT_VALUE));
+        wrappedWhile = factory.createTryFinally(wrappedWhile, resetIterator);
+        return createBlock(iteratorInit, doneVar.createWriteNode(factory.createConstantBoolean(false)), wrappedWhile);
     }
 
     private JavaScriptNode desugarForInOrOfBody(ForNode forNode, JavaScriptNode iterator, JumpTargetCloseable<ContinueTarget> jumpTarget) {
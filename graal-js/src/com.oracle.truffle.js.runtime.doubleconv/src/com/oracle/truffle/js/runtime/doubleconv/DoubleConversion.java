@@ -87,6 +87,11 @@ public final class DoubleConversion {
 
     private final static int BUFFER_LENGTH = 101;
 
+    /**
+     * Maximal number of characters written by {@link #toShortestChars}.
+     */
+    public final static int SHORTEST_MAX_LENGTH = RyuDtoa.MAX_LENGTH;
+
     /**
      * Converts a double number to its shortest string representation.
      *
@@ -94,6 +99,34 @@ public final class DoubleConversion {
      * @return formatted number
      */
     public static String toShortestString(final double value) {
+        final char[] buffer = new char[SHORTEST_MAX_LENGTH];
+        final int length = RyuDtoa.toShortest(value, buffer, 0);
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * Writes the shortest string representation of a double number into
+     * {@code buffer}, which must have room for {@link #SHORTEST_MAX_LENGTH}
+     * characters after {@code offset}. Unlike {@link #toShortestString(double)},
+     * this method also accepts zero, infinities and NaN.
+     *
+     * @param value number to convert
+     * @param buffer destination buffer
+     * @param offset index of the first character to write
+     * @return index after the last written character
+     */
+    public static int toShortestChars(final double value, final char[] buffer, final int offset) {
+        return RyuDtoa.toShortest(value, buffer, offset);
+    }
+
+    /**
+     * Converts a double number to its shortest string representation
+     * using the {@code FastDtoa} algorithm with a {@code BignumDtoa} fallback.
+     *
+     * @param value number to convert
+     * @return formatted number
+     */
+    public static String toShortestStringGrisu(final double value) {
         final DtoaBuffer buffer = new DtoaBuffer(FastDtoa.kFastDtoaMaximalLength);
         final double absValue = Math.abs(value);
 
@@ -109,6 +142,21 @@ public final class DoubleConversion {
         return buffer.format(DtoaMode.SHORTEST, 0);
     }
 
+    /**
+     * Parses the decimal literal between {@code start} and {@code end} of {@code input},
+     * i.e., an optional sign, decimal digits with an optional decimal point and an
+     * optional exponent.
+     *
+     * @param input characters to parse
+     * @param start index of the first character
+     * @param end index after the last character
+     * @return the correctly rounded value or {@link Double#NaN} if the range is not a
+     *         valid decimal literal
+     */
+    public static double parseDecimal(final CharSequence input, final int start, final int end) {
+        return EiselLemire.parse(input, start, end);
+    }
+
     /**
      * Converts a double number to a string representation with a fixed number of digits
      * after the decimal point.
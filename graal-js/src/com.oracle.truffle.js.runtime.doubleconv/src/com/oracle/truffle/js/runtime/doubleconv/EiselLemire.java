@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and license the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.doubleconv;
+
+import java.math.BigInteger;
+
+/**
+ * Decimal string to double conversion based on the Eisel-Lemire algorithm (Daniel Lemire: "Number
+ * Parsing at a Gigabyte per Second", 2021). The input is read through {@link CharSequence#charAt}
+ * so that no substring has to be created. The rare inputs for which the algorithm cannot decide
+ * the correctly rounded result are handed over to {@link Double#parseDouble}.
+ */
+final class EiselLemire {
+
+    private static final int SMALLEST_POWER = -342;
+    private static final int LARGEST_POWER = 308;
+    private static final int MAX_DIGITS = 19;
+    private static final int MAX_EXPONENT_DIGITS_VALUE = 100000;
+
+    private static final double[] POWERS_OF_TEN = {
+                    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+                    1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /**
+     * The 128-bit mantissas of 10^q for {@code SMALLEST_POWER <= q <= LARGEST_POWER}, normalized so
+     * that the most significant bit is set, as pairs of (high, low) 64-bit words.
+     */
+    private static final long[] POWER_MANTISSAS = new long[2 * (LARGEST_POWER - SMALLEST_POWER + 1)];
+
+    static {
+        BigInteger five = BigInteger.valueOf(5);
+        BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+        BigInteger mask64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        for (int q = SMALLEST_POWER; q <= LARGEST_POWER; q++) {
+            BigInteger c;
+            if (q < 0) {
+                BigInteger power5 = five.pow(-q);
+                int z = power5.subtract(BigInteger.ONE).bitLength();
+                int b = (q >= -27) ? z + 127 : 2 * z + 128;
+                c = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+                while (c.compareTo(two128) >= 0) {
+                    c = c.shiftRight(1);
+                }
+            } else {
+                c = five.pow(q);
+                if (c.bitLength() < 128) {
+                    c = c.shiftLeft(128 - c.bitLength());
+                } else {
+                    c = c.shiftRight(c.bitLength() - 128);
+                }
+            }
+            int index = 2 * (q - SMALLEST_POWER);
+            POWER_MANTISSAS[index] = c.shiftRight(64).longValue();
+            POWER_MANTISSAS[index + 1] = c.and(mask64).longValue();
+        }
+    }
+
+    private EiselLemire() {
+        // should not be constructed
+    }
+
+    /**
+     * Parses the StrDecimalLiteral (without {@code Infinity}) between {@code start} and
+     * {@code end}.
+     *
+     * @return the parsed value or {@link Double#NaN} if the range is not a valid literal
+     */
+    static double parse(CharSequence input, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end) {
+            char c = input.charAt(i);
+            if (c == '-' || c == '+') {
+                negative = c == '-';
+                i++;
+            }
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean truncated = false;
+        boolean anyDigits = false;
+        while (i < end) {
+            int d = input.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                break;
+            }
+            anyDigits = true;
+            if (digits < MAX_DIGITS) {
+                if (mantissa != 0 || d != 0) {
+                    mantissa = mantissa * 10 + d;
+                    digits++;
+                }
+            } else {
+                exponent++;
+                truncated |= d != 0;
+            }
+            i++;
+        }
+        if (i < end && input.charAt(i) == '.') {
+            i++;
+            while (i < end) {
+                int d = input.charAt(i) - '0';
+                if (d < 0 || d > 9) {
+                    break;
+                }
+                anyDigits = true;
+                if (digits < MAX_DIGITS) {
+                    if (mantissa != 0 || d != 0) {
+                        mantissa = mantissa * 10 + d;
+                        digits++;
+                    }
+                    exponent--;
+                } else {
+                    truncated |= d != 0;
+                }
+                i++;
+            }
+        }
+        if (!anyDigits) {
+            return Double.NaN;
+        }
+        if (i < end && (input.charAt(i) == 'e' || input.charAt(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end) {
+                char c = input.charAt(i);
+                if (c == '-' || c == '+') {
+                    negativeExponent = c == '-';
+                    i++;
+                }
+            }
+            int exponentStart = i;
+            int exponentValue = 0;
+            while (i < end) {
+                int d = input.charAt(i) - '0';
+                if (d < 0 || d > 9) {
+                    break;
+                }
+                if (exponentValue < MAX_EXPONENT_DIGITS_VALUE) {
+                    exponentValue = exponentValue * 10 + d;
+                }
+                i++;
+            }
+            if (i == exponentStart) {
+                return Double.NaN;
+            }
+            exponent += negativeExponent ? -exponentValue : exponentValue;
+        }
+        if (i != end) {
+            return Double.NaN;
+        }
+
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        double result;
+        if (!truncated) {
+            result = compute(mantissa, exponent);
+        } else {
+            // the digits after the first 19 ones are non-zero, so the exact value lies between
+            // mantissa and mantissa + 1 (scaled by the exponent)
+            result = compute(mantissa, exponent);
+            if (!Double.isNaN(result) && result != compute(mantissa + 1, exponent)) {
+                result = Double.NaN;
+            }
+        }
+        if (Double.isNaN(result)) {
+            return fallback(input, start, end);
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * Computes the correctly rounded value of {@code mantissa * 10^exponent}, where the mantissa
+     * is an unsigned non-zero 64-bit value, or returns {@link Double#NaN} if the result cannot be
+     * determined this way.
+     */
+    private static double compute(long mantissa, int exponent) {
+        if (-22 <= exponent && exponent <= 22 && Long.compareUnsigned(mantissa, 1L << 53) <= 0) {
+            // Clinger's fast path: both operands are exact, so is the rounded result.
+            double d = mantissa;
+            return exponent < 0 ? d / POWERS_OF_TEN[-exponent] : d * POWERS_OF_TEN[exponent];
+        }
+        if (exponent < SMALLEST_POWER) {
+            return 0.0;
+        } else if (exponent > LARGEST_POWER) {
+            return Double.POSITIVE_INFINITY;
+        }
+        int index = 2 * (exponent - SMALLEST_POWER);
+        long factorHigh = POWER_MANTISSAS[index];
+        int lz = Long.numberOfLeadingZeros(mantissa);
+        long w = mantissa << lz;
+        long upper = RyuDtoa.multiplyHighUnsigned(w, factorHigh);
+        long lower = w * factorHigh;
+        if ((upper & 0x1FF) == 0x1FF && Long.compareUnsigned(lower + w, lower) < 0) {
+            long factorLow = POWER_MANTISSAS[index + 1];
+            long productLow = w * factorLow;
+            long productMiddle2 = RyuDtoa.multiplyHighUnsigned(w, factorLow);
+            long productMiddle = lower + productMiddle2;
+            if (Long.compareUnsigned(productMiddle, lower) < 0) {
+                upper++;
+            }
+            if (productMiddle + 1 == 0 && (upper & 0x1FF) == 0x1FF && Long.compareUnsigned(productLow + w, productLow) < 0) {
+                return Double.NaN;
+            }
+            lower = productMiddle;
+        }
+        long upperBit = upper >>> 63;
+        long bits = upper >>> (upperBit + 9);
+        lz += (int) (1 ^ upperBit);
+        if (lower == 0 && (upper & 0x1FF) == 0 && (bits & 3) == 1) {
+            // exactly halfway between two doubles, round-to-even cannot be decided here
+            return Double.NaN;
+        }
+        bits += bits & 1;
+        bits >>>= 1;
+        if (bits >= (1L << 53)) {
+            bits = 1L << 52;
+            lz--;
+        }
+        bits &= ~(1L << 52);
+        long realExponent = (((152170 + 65536) * exponent) >> 16) + 1024 + 63 - lz;
+        if (realExponent < 1 || realExponent > 2046) {
+            // subnormal or overflowing results are left to the fallback
+            return Double.NaN;
+        }
+        return Double.longBitsToDouble(bits | (realExponent << 52));
+    }
+
+    private static double fallback(CharSequence input, int start, int end) {
+        StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            sb.append(input.charAt(i));
+        }
+        return Double.parseDouble(sb.toString());
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and license the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.doubleconv;
+
+import java.math.BigInteger;
+
+/**
+ * Shortest round-trip conversion of doubles to decimal strings based on the Ryu algorithm (Ulf
+ * Adams: "Ryu: fast float-to-string conversion", PLDI 2018). Unlike {@link FastDtoa}, the
+ * algorithm never needs a {@link BignumDtoa} fallback, and it writes the result directly into a
+ * caller-supplied {@code char[]}, so that no intermediate buffers or builders are allocated.
+ */
+final class RyuDtoa {
+
+    /** Maximal length of a formatted number, e.g. {@code -1.2345678901234567e-308}. */
+    static final int MAX_LENGTH = 25;
+
+    private static final int MANTISSA_BITS = 52;
+    private static final long MANTISSA_MASK = (1L << MANTISSA_BITS) - 1;
+    private static final int EXPONENT_BITS = 11;
+    private static final int EXPONENT_MASK = (1 << EXPONENT_BITS) - 1;
+    private static final int EXPONENT_BIAS = 1023;
+
+    private static final int POW5_BITCOUNT = 125;
+    private static final int POW5_INV_BITCOUNT = 125;
+    private static final int POW5_TABLE_SIZE = 326;
+    private static final int POW5_INV_TABLE_SIZE = 342;
+
+    /** 5^i normalized to {@link #POW5_BITCOUNT} bits, as pairs of (low, high) 64-bit words. */
+    private static final long[] POW5_SPLIT = new long[2 * POW5_TABLE_SIZE];
+    /** 2^(bitlength(5^i) - 1 + {@link #POW5_INV_BITCOUNT}) / 5^i + 1, as (low, high) pairs. */
+    private static final long[] POW5_INV_SPLIT = new long[2 * POW5_INV_TABLE_SIZE];
+
+    static {
+        BigInteger mask64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        BigInteger five = BigInteger.valueOf(5);
+        for (int i = 0; i < Math.max(POW5_TABLE_SIZE, POW5_INV_TABLE_SIZE); i++) {
+            BigInteger pow = five.pow(i);
+            int pow5len = pow.bitLength();
+            assert pow5len == pow5bits(i);
+            if (i < POW5_TABLE_SIZE) {
+                int shift = pow5len - POW5_BITCOUNT;
+                BigInteger normalized = (shift >= 0) ? pow.shiftRight(shift) : pow.shiftLeft(-shift);
+                POW5_SPLIT[2 * i] = normalized.and(mask64).longValue();
+                POW5_SPLIT[2 * i + 1] = normalized.shiftRight(64).longValue();
+            }
+            if (i < POW5_INV_TABLE_SIZE) {
+                BigInteger inv = BigInteger.ONE.shiftLeft(pow5len - 1 + POW5_INV_BITCOUNT).divide(pow).add(BigInteger.ONE);
+                POW5_INV_SPLIT[2 * i] = inv.and(mask64).longValue();
+                POW5_INV_SPLIT[2 * i + 1] = inv.shiftRight(64).longValue();
+            }
+        }
+    }
+
+    private RyuDtoa() {
+        // should not be constructed
+    }
+
+    /**
+     * Writes the ECMAScript Number::toString representation of {@code value} into {@code buffer},
+     * starting at {@code offset}. The buffer must have room for {@link #MAX_LENGTH} characters.
+     *
+     * @return the index after the last written character
+     */
+    static int toShortest(double value, char[] buffer, int offset) {
+        long bits = Double.doubleToRawLongBits(value);
+        long ieeeMantissa = bits & MANTISSA_MASK;
+        int ieeeExponent = (int) ((bits >>> MANTISSA_BITS) & EXPONENT_MASK);
+        boolean negative = bits < 0;
+
+        if (ieeeExponent == EXPONENT_MASK) {
+            if (ieeeMantissa != 0) {
+                return write("NaN", buffer, offset);
+            }
+            return write(negative ? "-Infinity" : "Infinity", buffer, offset);
+        }
+        if (ieeeExponent == 0 && ieeeMantissa == 0) {
+            buffer[offset] = '0';
+            return offset + 1;
+        }
+
+        int e2;
+        long m2;
+        if (ieeeExponent == 0) {
+            e2 = 1 - EXPONENT_BIAS - MANTISSA_BITS - 2;
+            m2 = ieeeMantissa;
+        } else {
+            e2 = ieeeExponent - EXPONENT_BIAS - MANTISSA_BITS - 2;
+            m2 = (1L << MANTISSA_BITS) | ieeeMantissa;
+        }
+        if (e2 <= -2 && e2 >= -MANTISSA_BITS - 2) {
+            // small integers are formatted directly
+            long mask = (1L << -(e2 + 2)) - 1;
+            if ((m2 & mask) == 0) {
+                return format(negative, m2 >> -(e2 + 2), 0, buffer, offset);
+            }
+        }
+        boolean acceptBounds = (m2 & 1) == 0;
+
+        // Step 2: Determine the interval of valid decimal representations.
+        long mv = 4 * m2;
+        int mmShift = (ieeeMantissa != 0 || ieeeExponent <= 1) ? 1 : 0;
+
+        // Step 3: Convert to a decimal power base using 128-bit arithmetic.
+        long vr;
+        long vp;
+        long vm;
+        int e10;
+        boolean vmIsTrailingZeros = false;
+        boolean vrIsTrailingZeros = false;
+        if (e2 >= 0) {
+            int q = log10Pow2(e2) - (e2 > 3 ? 1 : 0);
+            e10 = q;
+            int k = POW5_INV_BITCOUNT + pow5bits(q) - 1;
+            int i = -e2 + q + k;
+            vr = mulShift64(4 * m2, POW5_INV_SPLIT, q, i);
+            vp = mulShift64(4 * m2 + 2, POW5_INV_SPLIT, q, i);
+            vm = mulShift64(4 * m2 - 1 - mmShift, POW5_INV_SPLIT, q, i);
+            if (q <= 21) {
+                // Only one of mp, mv, and mm can be a multiple of 5, if any.
+                if (mv % 5 == 0) {
+                    vrIsTrailingZeros = multipleOfPowerOf5(mv, q);
+                } else if (acceptBounds) {
+                    vmIsTrailingZeros = multipleOfPowerOf5(mv - 1 - mmShift, q);
+                } else {
+                    vp -= multipleOfPowerOf5(mv + 2, q) ? 1 : 0;
+                }
+            }
+        } else {
+            int q = log10Pow5(-e2) - (-e2 > 1 ? 1 : 0);
+            e10 = q + e2;
+            int i = -e2 - q;
+            int k = pow5bits(i) - POW5_BITCOUNT;
+            int j = q - k;
+            vr = mulShift64(4 * m2, POW5_SPLIT, i, j);
+            vp = mulShift64(4 * m2 + 2, POW5_SPLIT, i, j);
+            vm = mulShift64(4 * m2 - 1 - mmShift, POW5_SPLIT, i, j);
+            if (q <= 1) {
+                // {vr,vp,vm} is trailing zeros if {mv,mp,mm} has at least q trailing 0 bits.
+                vrIsTrailingZeros = true;
+                if (acceptBounds) {
+                    vmIsTrailingZeros = mmShift == 1;
+                } else {
+                    vp--;
+                }
+            } else if (q < 63) {
+                vrIsTrailingZeros = multipleOfPowerOf2(mv, q);
+            }
+        }
+
+        // Step 4: Find the shortest decimal representation in the interval of valid representations.
+        int removed = 0;
+        long output;
+        if (vmIsTrailingZeros || vrIsTrailingZeros) {
+            // General case, which happens rarely (~0.7%).
+            int lastRemovedDigit = 0;
+            while (vp / 10 > vm / 10) {
+                vmIsTrailingZeros &= vm % 10 == 0;
+                vrIsTrailingZeros &= lastRemovedDigit == 0;
+                lastRemovedDigit = (int) (vr % 10);
+                vr /= 10;
+                vp /= 10;
+                vm /= 10;
+                removed++;
+            }
+            if (vmIsTrailingZeros) {
+                while (vm % 10 == 0) {
+                    vrIsTrailingZeros &= lastRemovedDigit == 0;
+                    lastRemovedDigit = (int) (vr % 10);
+                    vr /= 10;
+                    vp /= 10;
+                    vm /= 10;
+                    removed++;
+                }
+            }
+            if (vrIsTrailingZeros && lastRemovedDigit == 5 && vr % 2 == 0) {
+                // Round even if the exact number is .....50..0.
+                lastRemovedDigit = 4;
+            }
+            output = vr + (((vr == vm && (!acceptBounds || !vmIsTrailingZeros)) || lastRemovedDigit >= 5) ? 1 : 0);
+        } else {
+            // Specialized for the common case (~99.3%).
+            boolean roundUp = false;
+            if (vp / 100 > vm / 100) {
+                roundUp = vr % 100 >= 50;
+                vr /= 100;
+                vp /= 100;
+                vm /= 100;
+                removed += 2;
+            }
+            while (vp / 10 > vm / 10) {
+                roundUp = vr % 10 >= 5;
+                vr /= 10;
+                vp /= 10;
+                vm /= 10;
+                removed++;
+            }
+            output = vr + ((vr == vm || roundUp) ? 1 : 0);
+        }
+        return format(negative, output, e10 + removed, buffer, offset);
+    }
+
+    /**
+     * Formats {@code digits * 10^exponent} according to ECMAScript Number::toString.
+     */
+    private static int format(boolean negative, long digits, int exponent, char[] buffer, int offset) {
+        long output = digits;
+        int exp = exponent;
+        while (output >= 10 && output % 10 == 0) {
+            output /= 10;
+            exp++;
+        }
+        int length = decimalLength(output);
+        int decimalPoint = exp + length;
+        int pos = offset;
+        if (negative) {
+            buffer[pos++] = '-';
+        }
+        if (length <= decimalPoint && decimalPoint <= 21) {
+            writeDigits(output, length, buffer, pos);
+            pos += length;
+            for (int i = length; i < decimalPoint; i++) {
+                buffer[pos++] = '0';
+            }
+        } else if (0 < decimalPoint && decimalPoint <= 21) {
+            writeDigits(output, length, buffer, pos + 1);
+            System.arraycopy(buffer, pos + 1, buffer, pos, decimalPoint);
+            buffer[pos + decimalPoint] = '.';
+            pos += length + 1;
+        } else if (-6 < decimalPoint && decimalPoint <= 0) {
+            buffer[pos++] = '0';
+            buffer[pos++] = '.';
+            for (int i = decimalPoint; i < 0; i++) {
+                buffer[pos++] = '0';
+            }
+            writeDigits(output, length, buffer, pos);
+            pos += length;
+        } else {
+            writeDigits(output, length, buffer, pos + 1);
+            buffer[pos] = buffer[pos + 1];
+            if (length > 1) {
+                buffer[pos + 1] = '.';
+                pos += length + 1;
+            } else {
+                pos++;
+            }
+            buffer[pos++] = 'e';
+            int e = decimalPoint - 1;
+            if (e < 0) {
+                buffer[pos++] = '-';
+                e = -e;
+            } else {
+                buffer[pos++] = '+';
+            }
+            if (e >= 100) {
+                buffer[pos++] = (char) ('0' + e / 100);
+                e %= 100;
+                buffer[pos++] = (char) ('0' + e / 10);
+            } else if (e >= 10) {
+                buffer[pos++] = (char) ('0' + e / 10);
+            }
+            buffer[pos++] = (char) ('0' + e % 10);
+        }
+        return pos;
+    }
+
+    private static void writeDigits(long value, int length, char[] buffer, int start) {
+        long v = value;
+        for (int i = start + length - 1; i >= start; i--) {
+            buffer[i] = (char) ('0' + (int) (v % 10));
+            v /= 10;
+        }
+    }
+
+    private static int write(String str, char[] buffer, int offset) {
+        str.getChars(0, str.length(), buffer, offset);
+        return offset + str.length();
+    }
+
+    private static int decimalLength(long v) {
+        long p = 10;
+        for (int i = 1; i < 19; i++) {
+            if (v < p) {
+                return i;
+            }
+            p *= 10;
+        }
+        return 19;
+    }
+
+    /** Returns ceil(log_2(5^e)), or 1 for {@code e == 0}. */
+    private static int pow5bits(int e) {
+        return ((e * 1217359) >>> 19) + 1;
+    }
+
+    /** Returns floor(log_10(2^e)). */
+    private static int log10Pow2(int e) {
+        return (e * 78913) >>> 18;
+    }
+
+    /** Returns floor(log_10(5^e)). */
+    private static int log10Pow5(int e) {
+        return (e * 732923) >>> 20;
+    }
+
+    private static int pow5Factor(long value) {
+        long v = value;
+        int count = 0;
+        while (v > 0 && v % 5 == 0) {
+            v /= 5;
+            count++;
+        }
+        return count;
+    }
+
+    private static boolean multipleOfPowerOf5(long value, int p) {
+        return pow5Factor(value) >= p;
+    }
+
+    private static boolean multipleOfPowerOf2(long value, int p) {
+        return (value & ((1L << p) - 1)) == 0;
+    }
+
+    /**
+     * Computes {@code (m * mul) >>> j}, where {@code mul} is the 128-bit table entry at
+     * {@code index} and the result is known to fit into 64 bits ({@code j >= 64}).
+     */
+    private static long mulShift64(long m, long[] table, int index, int j) {
+        long mulLow = table[2 * index];
+        long mulHigh = table[2 * index + 1];
+        long b0High = multiplyHighUnsigned(m, mulLow);
+        long b2Low = m * mulHigh;
+        long b2High = multiplyHighUnsigned(m, mulHigh);
+        long sumLow = b0High + b2Low;
+        long sumHigh = b2High + (Long.compareUnsigned(sumLow, b0High) < 0 ? 1 : 0);
+        int shift = j - 64;
+        assert shift >= 0 && shift < 64;
+        if (shift == 0) {
+            return sumLow;
+        }
+        return (sumLow >>> shift) | (sumHigh << (64 - shift));
+    }
+
+    /** Returns the high 64 bits of the unsigned 128-bit product of {@code x} and {@code y}. */
+    static long multiplyHighUnsigned(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+        long w0 = x0 * y0;
+        long t = x1 * y0 + (w0 >>> 32);
+        long w1 = (t & 0xFFFFFFFFL) + x0 * y1;
+        return x1 * y1 + (t >>> 32) + (w1 >>> 32);
+    }
+}
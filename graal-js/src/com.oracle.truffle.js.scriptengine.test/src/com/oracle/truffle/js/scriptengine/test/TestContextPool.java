@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.fail;
+
+import javax.script.Bindings;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptException;
+import javax.script.SimpleScriptContext;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
+
+public class TestContextPool {
+
+    private static ScriptContext newScriptContext(GraalJSScriptEngine engine) {
+        ScriptContext ctx = new SimpleScriptContext();
+        ctx.setBindings(engine.createBindings(), ScriptContext.ENGINE_SCOPE);
+        return ctx;
+    }
+
+    @Test
+    public void testIsolation() throws ScriptException {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create(null, null, 2)) {
+            CompiledScript script = engine.compile("var counter = (typeof counter === 'number' ? counter : 0) + 1; counter;");
+            ScriptContext ctx1 = newScriptContext(engine);
+            ScriptContext ctx2 = newScriptContext(engine);
+            assertEquals(1, script.eval(ctx1));
+            assertEquals(2, script.eval(ctx1));
+            assertEquals(1, script.eval(ctx2));
+            for (int i = 0; i < 5; i++) {
+                assertEquals(1, script.eval(newScriptContext(engine)));
+            }
+            assertNotSame(engine.getPolyglotContext(ctx1), engine.getPolyglotContext(ctx2));
+            assertEquals(engine.getPolyglotEngine(), engine.getPolyglotContext(ctx1).getEngine());
+        }
+    }
+
+    @Test
+    public void testMagicOptionBypassesPool() throws ScriptException {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create(null, null, 1)) {
+            Bindings bindings = engine.createBindings();
+            bindings.put("polyglot.js.allowHostAccess", true);
+            bindings.put("args", new String[]{"a", "b"});
+            ScriptContext ctx = new SimpleScriptContext();
+            ctx.setBindings(bindings, ScriptContext.ENGINE_SCOPE);
+            assertEquals("b", engine.eval("args[1];", ctx));
+        }
+    }
+
+    @Test
+    public void testMagicOptionDoesNotLeak() throws ScriptException {
+        for (int poolSize : new int[]{0, 1}) {
+            try (GraalJSScriptEngine engine = GraalJSScriptEngine.create(null, null, poolSize)) {
+                Bindings bindings = engine.createBindings();
+                bindings.put("polyglot.js.allowHostAccess", true);
+                bindings.put("polyglot.js.allowHostClassLookup", true);
+                ScriptContext ctx = new SimpleScriptContext();
+                ctx.setBindings(bindings, ScriptContext.ENGINE_SCOPE);
+                assertEquals("java.lang.Object", engine.eval("Java.type('java.lang.Object').class.getName();", ctx));
+                for (int i = 0; i < 3; i++) {
+                    try {
+                        engine.eval("Java.type('java.lang.Object');", newScriptContext(engine));
+                        fail("host class lookup leaked into another context");
+                    } catch (ScriptException e) {
+                        // expected
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMagicOptionWithCustomBuilder() throws ScriptException {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create(null, Context.newBuilder("js").allowExperimentalOptions(true))) {
+            Bindings bindings = engine.createBindings();
+            bindings.put("polyglot.js.allowHostAccess", true);
+            bindings.put("polyglot.js.allowHostClassLookup", true);
+            ScriptContext ctx = new SimpleScriptContext();
+            ctx.setBindings(bindings, ScriptContext.ENGINE_SCOPE);
+            assertEquals("java.lang.Object", engine.eval("Java.type('java.lang.Object').class.getName();", ctx));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMagicOptionWithCustomBuilderAndPool() {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create(null, Context.newBuilder("js").allowExperimentalOptions(true), 1)) {
+            engine.createBindings().put("polyglot.js.allowHostAccess", true);
+        }
+    }
+}
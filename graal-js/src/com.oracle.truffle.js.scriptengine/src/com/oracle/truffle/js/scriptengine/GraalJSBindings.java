@@ -43,6 +43,7 @@ package com.oracle.truffle.js.scriptengine;
 import java.util.AbstractMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import javax.script.Bindings;
 
@@ -62,9 +63,14 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     private Value deleteProperty;
     private Value clear;
     private Context.Builder contextBuilder;
+    private final Supplier<Context.Builder> privateContextBuilder;
+    private boolean ownsContextBuilder;
+    private GraalJSContextPool contextPool;
 
-    GraalJSBindings(Context.Builder contextBuilder) {
+    GraalJSBindings(Context.Builder contextBuilder, Supplier<Context.Builder> privateContextBuilder, GraalJSContextPool contextPool) {
         this.contextBuilder = contextBuilder;
+        this.privateContextBuilder = privateContextBuilder;
+        this.contextPool = contextPool;
     }
 
     GraalJSBindings(Context context) {
@@ -79,7 +85,7 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     }
 
     private void initContext() {
-        context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
+        context = contextPool != null ? contextPool.take() : GraalJSScriptEngine.createDefaultContext(contextBuilder);
         initGlobal();
     }
 
@@ -109,6 +115,13 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
                 if (optionSetter == null) {
                     throw new IllegalArgumentException("unkown graal-js option \"" + name + "\"");
                 } else {
+                    if (!ownsContextBuilder) {
+                        // the shared default builder must not see options of these bindings
+                        contextBuilder = GraalJSScriptEngine.newPrivateContextConfig(privateContextBuilder, name);
+                        ownsContextBuilder = true;
+                        // pooled contexts do not have this option
+                        contextPool = null;
+                    }
                     contextBuilder = optionSetter.setOption(contextBuilder, v);
                     return true;
                 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.graalvm.polyglot.Context;
+
+/**
+ * A pool of pre-initialized polyglot contexts for new {@link javax.script.ScriptContext}s. All
+ * contexts are built from the same configuration and therefore share the engine and its code
+ * cache. A pooled context is handed out at most once; it is never reset and returned, since a
+ * context keeps the global state of the scripts that ran in it. Instead, the pool is refilled in
+ * the background, so that creating and initializing contexts is taken off the request path.
+ */
+final class GraalJSContextPool implements AutoCloseable {
+
+    private final Context.Builder contextConfig;
+    private final BlockingQueue<Context> contexts;
+    private final ExecutorService refillExecutor;
+    private volatile boolean closed;
+
+    GraalJSContextPool(Context.Builder contextConfig, int size) {
+        assert size > 0;
+        this.contextConfig = contextConfig;
+        this.contexts = new ArrayBlockingQueue<>(size);
+        this.refillExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "graal-js-context-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refillExecutor.execute(this::refill);
+    }
+
+    /**
+     * Returns a pre-initialized context, or a new one if the pool is empty.
+     */
+    Context take() {
+        if (closed) {
+            throw new IllegalStateException("Context pool already closed.");
+        }
+        Context context = contexts.poll();
+        if (context == null) {
+            context = createContext();
+        }
+        refillExecutor.execute(this::refill);
+        return context;
+    }
+
+    private Context createContext() {
+        Context context = GraalJSScriptEngine.createDefaultContext(contextConfig);
+        context.initialize(GraalJSScriptEngine.ID);
+        return context;
+    }
+
+    private void refill() {
+        while (!closed && contexts.remainingCapacity() > 0) {
+            Context context = createContext();
+            if (closed || !contexts.offer(context)) {
+                context.close();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        refillExecutor.shutdown();
+        Context context;
+        while ((context = contexts.poll()) != null) {
+            context.close();
+        }
+    }
+}
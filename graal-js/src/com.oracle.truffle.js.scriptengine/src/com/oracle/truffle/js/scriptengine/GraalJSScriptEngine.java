@@ -46,6 +46,7 @@ import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import javax.script.AbstractScriptEngine;
 import javax.script.Bindings;
@@ -73,7 +74,7 @@ import org.graalvm.polyglot.proxy.Proxy;
  */
 public final class GraalJSScriptEngine extends AbstractScriptEngine implements Compilable, Invocable, AutoCloseable {
 
-    private static final String ID = "js";
+    static final String ID = "js";
     private static final String POLYGLOT_CONTEXT = "polyglot.context";
     private static final String OUT_SYMBOL = "$$internal.out$$";
     private static final String IN_SYMBOL = "$$internal.in$$";
@@ -82,6 +83,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     private static final String JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION = "js.script-engine-global-scope-import";
     private static final String SCRIPT_CONTEXT_GLOBAL_BINDINGS_IMPORT_FUNCTION_NAME = "importScriptEngineGlobalBindings";
     private static final String NASHORN_COMPATIBILITY_MODE_SYSTEM_PROPERTY = "polyglot.js.nashorn-compat";
+    private static final String CONTEXT_POOL_SIZE_SYSTEM_PROPERTY = "polyglot.js.script-engine-context-pool-size";
     static final String MAGIC_OPTION_PREFIX = "polyglot.js.";
 
     interface MagicBindingsOptionSetter {
@@ -221,39 +223,77 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
 
     private final GraalJSEngineFactory factory;
     private final Context.Builder contextConfig;
+    private final Supplier<Context.Builder> privateContextConfig;
+    private final GraalJSContextPool contextPool;
 
     private volatile boolean closed;
     private boolean evalCalled;
 
     GraalJSScriptEngine(GraalJSEngineFactory factory) {
-        this(factory.getPolyglotEngine(), null);
+        this(factory.getPolyglotEngine(), null, Integer.getInteger(CONTEXT_POOL_SIZE_SYSTEM_PROPERTY, 0));
     }
 
-    GraalJSScriptEngine(Engine engine, Context.Builder contextConfig) {
+    GraalJSScriptEngine(Engine engine, Context.Builder contextConfig, int contextPoolSize) {
         Engine engineToUse = engine;
         if (engineToUse == null) {
             engineToUse = Engine.newBuilder().allowExperimentalOptions(true).build();
         }
-        Context.Builder contextConfigToUse = contextConfig;
-        if (contextConfigToUse == null) {
-            // default config
-            if (NASHORN_COMPATIBILITY_MODE) {
-                contextConfigToUse = Context.newBuilder(ID).allowExperimentalOptions(true).allowAllAccess(true).option(JS_SYNTAX_EXTENSIONS_OPTION, "true");
+        this.factory = new GraalJSEngineFactory(engineToUse);
+        if (contextConfig == null) {
+            final Engine defaultConfigEngine = engineToUse;
+            this.privateContextConfig = () -> createDefaultContextConfig(defaultConfigEngine);
+            this.contextConfig = privateContextConfig.get();
+        } else {
+            this.contextConfig = contextConfig.option(JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION, "true").engine(engineToUse);
+            if (contextPoolSize > 0) {
+                // a custom builder cannot be copied, see newPrivateContextConfig
+                this.privateContextConfig = null;
             } else {
-                contextConfigToUse = Context.newBuilder(ID).allowExperimentalOptions(true).option(JS_SYNTAX_EXTENSIONS_OPTION, "true");
+                // without a pool, magic options are applied to the custom builder itself
+                final Context.Builder customConfig = this.contextConfig;
+                this.privateContextConfig = () -> customConfig;
             }
         }
-        this.factory = new GraalJSEngineFactory(engineToUse);
-        this.contextConfig = contextConfigToUse.option(JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION, "true").engine(engineToUse);
-        this.context.setBindings(new GraalJSBindings(this.contextConfig), ScriptContext.ENGINE_SCOPE);
+        this.contextPool = contextPoolSize > 0 ? new GraalJSContextPool(this.contextConfig, contextPoolSize) : null;
+        this.context.setBindings(createBindings(), ScriptContext.ENGINE_SCOPE);
+    }
+
+    private static Context.Builder createDefaultContextConfig(Engine engine) {
+        Context.Builder builder;
+        if (NASHORN_COMPATIBILITY_MODE) {
+            builder = Context.newBuilder(ID).allowExperimentalOptions(true).allowAllAccess(true).option(JS_SYNTAX_EXTENSIONS_OPTION, "true");
+        } else {
+            builder = Context.newBuilder(ID).allowExperimentalOptions(true).option(JS_SYNTAX_EXTENSIONS_OPTION, "true");
+        }
+        return builder.option(JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION, "true").engine(engine);
+    }
+
+    /**
+     * Returns the builder for applying the magic {@code polyglot.js.*} options of a single
+     * {@link ScriptContext}. With the default configuration, this is a new builder, since the
+     * shared {@link #contextConfig} is used for every other context, including the pooled ones. A
+     * custom builder passed to {@link #create(Engine, Context.Builder)} is returned as is. It
+     * cannot be copied, so magic options are not supported when it is combined with a context
+     * pool.
+     */
+    static Context.Builder newPrivateContextConfig(Supplier<Context.Builder> privateContextConfig, String magicOptionKey) {
+        if (privateContextConfig == null) {
+            throw new IllegalArgumentException(String.format("failed to set graal-js option \"%s\": not supported with a custom context builder and a context pool, " +
+                            "configure the builder passed to GraalJSScriptEngine.create() instead", magicOptionKey));
+        }
+        return privateContextConfig.get();
     }
 
     static Context createDefaultContext(Context.Builder builder) {
         DelegatingInputStream in = new DelegatingInputStream();
         DelegatingOutputStream out = new DelegatingOutputStream();
         DelegatingOutputStream err = new DelegatingOutputStream();
-        builder.in(in).out(out).err(err);
-        Context ctx = builder.build();
+        Context ctx;
+        // the builder is shared with the context pool, which builds contexts concurrently
+        synchronized (builder) {
+            builder.in(in).out(out).err(err);
+            ctx = builder.build();
+        }
         ctx.getPolyglotBindings().putMember(OUT_SYMBOL, out);
         ctx.getPolyglotBindings().putMember(ERR_SYMBOL, err);
         ctx.getPolyglotBindings().putMember(IN_SYMBOL, in);
@@ -267,6 +307,9 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     @Override
     public void close() {
         getPolyglotContext().close();
+        if (contextPool != null) {
+            contextPool.close();
+        }
         closed = true;
     }
 
@@ -302,7 +345,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
 
     @Override
     public Bindings createBindings() {
-        return new GraalJSBindings(contextConfig);
+        return new GraalJSBindings(contextConfig, privateContextConfig, contextPool);
     }
 
     @Override
@@ -372,15 +415,22 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     private Context createContext(Bindings engineB) {
         Object ctx = engineB.get(POLYGLOT_CONTEXT);
         if (!(ctx instanceof Context)) {
-            Context.Builder builder = contextConfig;
+            Context.Builder builder = null;
             for (MagicBindingsOptionSetter optionSetter : MAGIC_OPTION_SETTERS) {
                 Object value = engineB.get(optionSetter.getOptionKey());
                 if (value != null) {
+                    if (builder == null) {
+                        builder = newPrivateContextConfig(privateContextConfig, optionSetter.getOptionKey());
+                    }
                     builder = optionSetter.setOption(builder, value);
                     engineB.remove(optionSetter.getOptionKey());
                 }
             }
-            ctx = createDefaultContext(builder);
+            if (builder != null) {
+                ctx = createDefaultContext(builder);
+            } else {
+                ctx = contextPool != null ? contextPool.take() : createDefaultContext(contextConfig);
+            }
             engineB.put(POLYGLOT_CONTEXT, ctx);
         }
         return (Context) ctx;
@@ -543,7 +593,21 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
      *            context instances.
      */
     public static GraalJSScriptEngine create(Engine engine, Context.Builder newContextConfig) {
-        return new GraalJSScriptEngine(engine, newContextConfig);
+        return new GraalJSScriptEngine(engine, newContextConfig, 0);
+    }
+
+    /**
+     * Creates a new GraalJS script engine like {@link #create(Engine, Context.Builder)} that keeps
+     * a pool of pre-initialized polyglot contexts for new {@link ScriptContext} instances. The
+     * contexts share the engine, so sources evaluated in one of them (including
+     * {@link #compile(String) compiled scripts}) are not parsed again in the others. Pooled
+     * contexts are used only for bindings that do not set any {@code polyglot.js.*} options. These
+     * options are not supported if a custom {@code newContextConfig} is used together with a pool.
+     *
+     * @param contextPoolSize the number of contexts kept ready, or 0 to disable pooling.
+     */
+    public static GraalJSScriptEngine create(Engine engine, Context.Builder newContextConfig, int contextPoolSize) {
+        return new GraalJSScriptEngine(engine, newContextConfig, contextPoolSize);
     }
 
     /**
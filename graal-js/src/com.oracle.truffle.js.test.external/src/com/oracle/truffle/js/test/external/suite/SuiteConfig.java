@@ -68,6 +68,9 @@ public class SuiteConfig {
     private final boolean textOutput;
     private final boolean regenerateConfig;
     private final boolean shareEngine;
+    private final int threadCount;
+    private final boolean workStealing;
+    private final String resultCache;
     private final int timeoutTest; // individual timeouts not supported by all engines
     private final int timeoutOverall;
     private final String containsFilter;
@@ -82,7 +85,8 @@ public class SuiteConfig {
                     String suiteLoc, String suiteTestsLoc, String suiteHarnessLoc, String suiteConfigLoc,
                     boolean useThreads, boolean verbose, boolean verboseFail, boolean runOnGate, boolean gateResume, boolean printCommand, boolean printScript, boolean saveOutput, boolean compile,
                     boolean htmlOutput, boolean textOutput, boolean regenerateConfig, int timeoutTest, int timeoutOverall, String containsFilter, String regexFilter,
-                    String endsWithFilter, boolean printFullOutput, String outputFilter, String extLauncher, boolean shareEngine) {
+                    String endsWithFilter, boolean printFullOutput, String outputFilter, String extLauncher, boolean shareEngine, int threadCount, boolean workStealing,
+                    String resultCache) {
         this.suiteName = suiteName;
         this.suiteDescription = suiteDescription;
         this.suiteLoc = suiteLoc;
@@ -110,6 +114,9 @@ public class SuiteConfig {
         this.outputFilter = outputFilter;
         this.extLauncher = extLauncher;
         this.shareEngine = shareEngine;
+        this.threadCount = threadCount;
+        this.workStealing = workStealing;
+        this.resultCache = resultCache;
     }
 
     public String getSuiteName() {
@@ -188,6 +195,24 @@ public class SuiteConfig {
         return shareEngine;
     }
 
+    /**
+     * Number of worker threads, or 0 to use the default.
+     */
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public boolean isWorkStealing() {
+        return workStealing;
+    }
+
+    /**
+     * Location of the file caching the passed tests, or {@code null} if caching is disabled.
+     */
+    public String getResultCache() {
+        return resultCache;
+    }
+
     /**
      * Define the timeout of a single test. Used only in combination with
      * executeWithSeparateThreads() == true;
@@ -267,6 +292,9 @@ public class SuiteConfig {
         private boolean textOutput;
         private boolean regenerateConfig;
         private boolean shareEngine;
+        private int threadCount;
+        private boolean workStealing;
+        private String resultCache;
         private int timeoutTest; // individual timeouts not supported by all engines
         private int timeoutOverall;
         private String containsFilter;
@@ -391,10 +419,22 @@ public class SuiteConfig {
             this.shareEngine = shareEngine;
         }
 
+        public void setThreadCount(int threadCount) {
+            this.threadCount = threadCount;
+        }
+
+        public void setWorkStealing(boolean workStealing) {
+            this.workStealing = workStealing;
+        }
+
+        public void setResultCache(String resultCache) {
+            this.resultCache = resultCache;
+        }
+
         public SuiteConfig build() {
             return new SuiteConfig(suiteName, suiteDescription, suiteLoc, suiteTestsLoc, suiteHarnessLoc, suiteConfigLoc, useThreads, verbose, verboseFail, runOnGate, gateResume, printCommand,
                             printScript, saveOutput, compile, htmlOutput, textOutput, regenerateConfig, timeoutTest, timeoutOverall, containsFilter, regexFilter,
-                            endsWithFilter, printFullOutput, outputFilter, extLauncher, shareEngine);
+                            endsWithFilter, printFullOutput, outputFilter, extLauncher, shareEngine, threadCount, workStealing, resultCache);
         }
     }
 }
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.external.suite;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+import org.graalvm.polyglot.Engine;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+
+/**
+ * Remembers the tests that passed in a previous run, so that they are not executed again as long
+ * as neither the test file nor the engine build has changed.
+ * <p>
+ * Each entry maps the path of a test to a digest of the test's content, its ECMAScript versions,
+ * and a build stamp. The build stamp covers the class path entries of the engine and of the suite,
+ * the harness files, the common options, and the external launcher (if any). Only passed tests
+ * are cached; failures are always executed again so that their details are reported.
+ */
+public final class TestResultCache {
+
+    private static final char SEPARATOR = '\t';
+
+    private final File cacheFile;
+    private final String buildStamp;
+    private final ConcurrentMap<String, String> passedTests = new ConcurrentHashMap<>();
+
+    private TestResultCache(File cacheFile, String buildStamp) {
+        this.cacheFile = cacheFile;
+        this.buildStamp = buildStamp;
+    }
+
+    public static TestResultCache load(TestSuite suite, File cacheFile) {
+        TestResultCache cache = new TestResultCache(cacheFile, computeBuildStamp(suite));
+        if (cacheFile.isFile()) {
+            try {
+                for (String line : Files.readAllLines(cacheFile.toPath(), StandardCharsets.UTF_8)) {
+                    int separatorIndex = line.lastIndexOf(SEPARATOR);
+                    if (separatorIndex > 0) {
+                        cache.passedTests.put(line.substring(0, separatorIndex), line.substring(separatorIndex + 1));
+                    }
+                }
+            } catch (IOException e) {
+                suite.log("Warning: Cannot read test result cache " + cacheFile + ": " + e.getMessage());
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Returns whether the test passed in a previous run with the same content and the same build.
+     */
+    public boolean hasPassed(TestFile testFile, File resolvedFile) {
+        String digest = passedTests.get(testFile.getFilePath());
+        return digest != null && digest.equals(computeDigest(testFile, resolvedFile));
+    }
+
+    /**
+     * Records the result of a test that has just been executed.
+     */
+    public void update(TestFile testFile, File resolvedFile) {
+        if (testFile.hasRun() && testFile.hasPassed()) {
+            String digest = computeDigest(testFile, resolvedFile);
+            if (digest != null) {
+                passedTests.put(testFile.getFilePath(), digest);
+            }
+        } else {
+            passedTests.remove(testFile.getFilePath());
+        }
+    }
+
+    public void store() throws IOException {
+        List<String> lines = new ArrayList<>(passedTests.size());
+        for (Map.Entry<String, String> entry : new TreeMap<>(passedTests).entrySet()) {
+            lines.add(entry.getKey() + SEPARATOR + entry.getValue());
+        }
+        Files.write(cacheFile.toPath(), lines, StandardCharsets.UTF_8);
+    }
+
+    private String computeDigest(TestFile testFile, File resolvedFile) {
+        byte[] content;
+        try {
+            content = Files.readAllBytes(resolvedFile.toPath());
+        } catch (IOException e) {
+            return null;
+        }
+        MessageDigest md = createMessageDigest();
+        md.update(buildStamp.getBytes(StandardCharsets.UTF_8));
+        md.update(String.valueOf(testFile.getEcmaVersion()).getBytes(StandardCharsets.UTF_8));
+        md.update(content);
+        return toHex(md.digest());
+    }
+
+    private static String computeBuildStamp(TestSuite suite) {
+        SuiteConfig config = suite.getConfig();
+        StringBuilder stamp = new StringBuilder();
+        for (Class<?> clazz : new Class<?>[]{JavaScriptLanguage.class, Engine.class, TestSuite.class, suite.getClass()}) {
+            appendLocationStamp(stamp, getCodeSourcePath(clazz));
+        }
+        appendLocationStamp(stamp, Paths.get(config.getSuiteHarnessLoc()));
+        if (config.isExtLauncher()) {
+            appendLocationStamp(stamp, Paths.get(config.getExtLauncher()));
+        }
+        stamp.append(new TreeMap<>(suite.getCommonOptions()));
+        MessageDigest md = createMessageDigest();
+        return toHex(md.digest(stamp.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Path getCodeSourcePath(Class<?> clazz) {
+        CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return null;
+        }
+        try {
+            return Paths.get(codeSource.getLocation().toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Appends the size and modification time of a file, or the number of files and the latest
+     * modification time of a directory tree.
+     */
+    private static void appendLocationStamp(StringBuilder stamp, Path path) {
+        stamp.append(path).append(SEPARATOR);
+        if (path == null || !Files.exists(path)) {
+            return;
+        }
+        try {
+            if (Files.isDirectory(path)) {
+                long count = 0;
+                long lastModified = 0;
+                try (Stream<Path> files = Files.walk(path)) {
+                    for (Path file : (Iterable<Path>) files::iterator) {
+                        count++;
+                        lastModified = Math.max(lastModified, Files.getLastModifiedTime(file).toMillis());
+                    }
+                }
+                stamp.append(count).append(SEPARATOR).append(lastModified);
+            } else {
+                stamp.append(Files.size(path)).append(SEPARATOR).append(Files.getLastModifiedTime(path).toMillis());
+            }
+        } catch (IOException e) {
+            // a stamp that never matches forces all tests to run
+            stamp.append(System.nanoTime());
+        }
+        stamp.append(SEPARATOR);
+    }
+
+    private static MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+}
@@ -70,8 +70,12 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -115,6 +119,8 @@ public abstract class TestSuite {
     private final List<TestRunnable> activeTests = new ArrayList<>();
     private final ExecutorService extLauncherPipePool;
     private final Engine sharedEngine;
+    private TestResultCache resultCache;
+    private int cachedCount;
 
     public TestSuite(SuiteConfig config) {
         assert config != null;
@@ -595,6 +601,10 @@ public abstract class TestSuite {
                         (skippedFiles.isEmpty() ? "" : "; Skipped tests: " + skippedFiles.size()) +
                         (runInIsolation.isEmpty() ? "" : "; Isolated tests: " + runInIsolation.size()));
 
+        if (config.getResultCache() != null) {
+            resultCache = TestResultCache.load(this, new File(config.getResultCache()));
+        }
+
         // run the tests
         findAndExecute(orderedTestFiles, isolatedRunnables);
         for (Runnable runnable : isolatedRunnables) {
@@ -630,6 +640,9 @@ public abstract class TestSuite {
             }
         }
         analyzeResult(startTime);
+        if (resultCache != null) {
+            storeResultCache();
+        }
 
         if (config.isTextOutput()) {
             printTextOutput();
@@ -643,6 +656,20 @@ public abstract class TestSuite {
         return 0;
     }
 
+    private void storeResultCache() {
+        for (TestFile testFile : testFiles) {
+            if (!isSkipped(testFile)) {
+                resultCache.update(testFile, resolveTestFilePath(testFile));
+            }
+        }
+        try {
+            resultCache.store();
+            logVerbose("Test result cache written to " + config.getResultCache() + " (" + cachedCount + " tests reused)\n");
+        } catch (IOException e) {
+            log("Warning: Cannot store test result cache " + config.getResultCache() + ": " + e.getMessage());
+        }
+    }
+
     private static void deleteFiles(String... files) {
         for (String file : files) {
             File f = new File(file);
@@ -746,12 +773,36 @@ public abstract class TestSuite {
     }
 
     private void findAndExecute(Collection<TestFile> orderedTestFiles, List<Runnable> isolatedRunnables) throws InterruptedException {
-        if (config.isUseThreads()) {
+        if (config.isUseThreads() && config.isWorkStealing()) {
+            List<TestRunnable> runnables = new ArrayList<>(orderedTestFiles.size());
+            for (TestFile testFile : orderedTestFiles) {
+                if (!isSkipped(testFile) && !isCachedPass(testFile)) {
+                    TestRunnable runnable = createTestRunnable(testFile);
+                    if (testFile.getRunInIsolation()) {
+                        isolatedRunnables.add(runnable);
+                    } else {
+                        runnables.add(runnable);
+                    }
+                }
+            }
+
+            ForkJoinPool pool = new ForkJoinPool(getThreadCount());
+            ForkJoinTask<Void> task = pool.submit(new TestRangeAction(runnables, 0, runnables.size()));
+            try {
+                task.get(config.getTimeoutOverall(), TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                task.cancel(true);
+            } catch (ExecutionException e) {
+                // reported by checkResults
+            }
+            checkResults(Collections.singletonList(task));
+            pool.shutdown();
+        } else if (config.isUseThreads()) {
             ExecutorService exe = initThreads();
             List<Callable<Void>> callables = new ArrayList<>(orderedTestFiles.size());
 
             for (TestFile testFile : orderedTestFiles) {
-                if (!isSkipped(testFile)) {
+                if (!isSkipped(testFile) && !isCachedPass(testFile)) {
                     TestRunnable runnable = createTestRunnable(testFile);
                     if (testFile.getRunInIsolation()) {
                         isolatedRunnables.add(runnable);
@@ -768,13 +819,25 @@ public abstract class TestSuite {
             checkResults(results);
         } else {
             for (TestFile testFile : orderedTestFiles) {
-                if (!isSkipped(testFile)) {
+                if (!isSkipped(testFile) && !isCachedPass(testFile)) {
                     createTestRunnable(testFile).run();
                 }
             }
         }
     }
 
+    /**
+     * Marks the test as passed without running it if the result cache says it passed before.
+     */
+    private boolean isCachedPass(TestFile testFile) {
+        if (resultCache != null && resultCache.hasPassed(testFile, resolveTestFilePath(testFile))) {
+            testFile.setResult(TestFile.Result.PASSED);
+            cachedCount++;
+            return true;
+        }
+        return false;
+    }
+
     private Map<String, TestFile> checkUnexpectedlyPassedTests() {
         Map<String, TestFile> unexpectedlyPassed = new LinkedHashMap<>();
         for (TestFile testFile : shouldRunAndFailTests.values()) {
@@ -822,10 +885,15 @@ public abstract class TestSuite {
     }
 
     private ExecutorService initThreads() {
+        int usingNumberOfCores = getThreadCount();
+        return executeWithSeparateThreads() ? Executors.newFixedThreadPool(usingNumberOfCores, TestThread::new) : Executors.newFixedThreadPool(usingNumberOfCores);
+    }
+
+    private int getThreadCount() {
         int numberOfCores = Runtime.getRuntime().availableProcessors();
-        int usingNumberOfCores = Math.min(numberOfCores, 4);
+        int usingNumberOfCores = config.getThreadCount() > 0 ? config.getThreadCount() : Math.min(numberOfCores, 4);
         logVerbose("Number of cores available: " + numberOfCores + ", using: " + usingNumberOfCores);
-        return executeWithSeparateThreads() ? Executors.newFixedThreadPool(usingNumberOfCores, TestThread::new) : Executors.newFixedThreadPool(usingNumberOfCores);
+        return usingNumberOfCores;
     }
 
     private void checkResults(List<Future<Void>> results) throws InterruptedException {
@@ -874,7 +942,8 @@ public abstract class TestSuite {
                         "Runtime: " + runtime(System.currentTimeMillis() - startTime) + "\n" +
                         "Excluding skipped: " + passedPercentFormatted + "% (" + passedCount + "/" + totalCount + ") passed\n" +
                         "Including skipped: " + passedPercentWithSkippedFormatted + "% (" + passedCount + "/" + totalWithSkippedCount + ") passed\n" +
-                        (ignoredCount > 0 ? "Ignored tests:     " + ignoredCount + "\n" : "");
+                        (ignoredCount > 0 ? "Ignored tests:     " + ignoredCount + "\n" : "") +
+                        (cachedCount > 0 ? "Cached passes:     " + cachedCount + "\n" : "");
 
         if (config.isVerbose() && failedCount > 0) {
             logVerbose("");
@@ -987,7 +1056,8 @@ public abstract class TestSuite {
             switch (key) {
                 case "help":
                     System.out.println("usage: " + builder.getSuiteName() +
-                                    " [gate [regenerateconfig] [resume]] [verbose|verbosefail] [printscript] [regression] [filter=] [single=] [nothreads] [externallauncher=X [compile]]\n");
+                                    " [gate [regenerateconfig] [resume]] [verbose|verbosefail] [printscript] [regression] [filter=] [single=] [nothreads|threads=X [workstealing]] [cache[=X]]" +
+                                    " [externallauncher=X [compile]]\n");
                     System.out.println(" gate                   run the gate tests (checking against expected conformance)");
                     System.out.println(" regenerateconfig       after running the gate, write new configuration file");
                     System.out.println(" resume                 run previously failed tests first");
@@ -1000,6 +1070,9 @@ public abstract class TestSuite {
                     System.out.println(" verbose                print all tests");
                     System.out.println(" verbosefail            print failing tests");
                     System.out.println(" nothreads              run all tests in the main thread");
+                    System.out.println(" threads=X              run tests on X threads (default: number of cores, at most 4)");
+                    System.out.println(" workstealing           distribute tests among the threads by work stealing");
+                    System.out.println(" cache[=X]              skip tests that passed in a previous run with the same test file and build (default X: " + builder.getSuiteName() + ".cache)");
                     System.out.println(" timeoutoverall=X       overall testrun aborted after X seconds");
                     System.out.println(" timeouttest=X          test aborted after X seconds. Not available in all modes");
                     System.out.println(" location=X             the base directory of the test suite");
@@ -1013,6 +1086,15 @@ public abstract class TestSuite {
                 case "nothreads":
                     builder.setUseThreads(false);
                     break;
+                case "threads":
+                    builder.setThreadCount(Integer.parseInt(value));
+                    break;
+                case "workstealing":
+                    builder.setWorkStealing(true);
+                    break;
+                case "cache":
+                    builder.setResultCache(value != null ? value : builder.getSuiteName() + ".cache");
+                    break;
                 case "verbose":
                     builder.setVerbose(true);
                     break;
@@ -1106,6 +1188,56 @@ public abstract class TestSuite {
         }
     }
 
+    /**
+     * Executors of the work-stealing workers. They are never shut down, so their threads are
+     * daemons that do not keep the JVM alive after the run.
+     */
+    private static final ThreadLocal<ExecutorService> WORKER_EXECUTOR = ThreadLocal.withInitial(() -> Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r);
+        thread.setDaemon(true);
+        return thread;
+    }));
+
+    /**
+     * Returns the executor used by the current worker thread to run a test with a timeout.
+     */
+    public static ExecutorService getTestExecutor() {
+        Thread t = Thread.currentThread();
+        if (t instanceof TestThread) {
+            return ((TestThread) t).getExecutor();
+        }
+        return WORKER_EXECUTOR.get();
+    }
+
+    /**
+     * Runs a range of tests. The range is split in halves that idle workers can steal, while each
+     * worker keeps running neighboring tests (which tend to share harness files) on its own.
+     */
+    private static final class TestRangeAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<TestRunnable> runnables;
+        private final int from;
+        private final int to;
+
+        TestRangeAction(List<TestRunnable> runnables, int from, int to) {
+            this.runnables = runnables;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                runnables.get(from).run();
+            } else if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TestRangeAction(runnables, from, middle), new TestRangeAction(runnables, middle, to));
+            }
+        }
+    }
+
     private static final class ConsolePrintStream extends PrintStream {
 
         // @GuardedBy("this")
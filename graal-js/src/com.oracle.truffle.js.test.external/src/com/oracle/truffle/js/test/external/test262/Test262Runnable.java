@@ -70,7 +70,6 @@ import com.oracle.truffle.js.test.external.suite.TestExtProcessCallable;
 import com.oracle.truffle.js.test.external.suite.TestFile;
 import com.oracle.truffle.js.test.external.suite.TestRunnable;
 import com.oracle.truffle.js.test.external.suite.TestSuite;
-import com.oracle.truffle.js.test.external.suite.TestSuite.TestThread;
 
 public class Test262Runnable extends TestRunnable {
     private static final String ASYNC_TEST_COMPLETE = "Test262:AsyncTestComplete";
@@ -297,9 +296,7 @@ public class Test262Runnable extends TestRunnable {
             tc.setOutput(outputStream);
             tc.setError(outputStream);
             if (suite.executeWithSeparateThreads() && getConfig().isUseThreads()) {
-                Thread t = Thread.currentThread();
-                assert t instanceof TestThread;
-                future = ((TestThread) t).getExecutor().submit(tc);
+                future = TestSuite.getTestExecutor().submit(tc);
                 future.get(getConfig().getTimeoutTest(), TimeUnit.SECONDS);
             } else {
                 tc.call();
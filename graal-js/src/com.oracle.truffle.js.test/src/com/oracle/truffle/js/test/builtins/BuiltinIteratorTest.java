@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static org.junit.Assert.assertEquals;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+
+/**
+ * Tests for-of, spread, and destructuring over built-in iterators, which bypass the iterator
+ * protocol as long as the intrinsic {@code next} method is used.
+ */
+public class BuiltinIteratorTest {
+
+    private static String eval(String sourceText) {
+        try (Context context = Context.newBuilder(JavaScriptLanguage.ID).build()) {
+            Value result = context.eval(JavaScriptLanguage.ID, sourceText);
+            return result.asString();
+        }
+    }
+
+    @Test
+    public void testForOf() {
+        assertEquals("1,2,3", eval("var r = []; for (var x of [1, 2, 3]) { r.push(x); } r.join();"));
+        assertEquals("a1,b2", eval("var r = []; for (var [k, v] of new Map([['a', 1], ['b', 2]])) { r.push(k + v); } r.join();"));
+        assertEquals("1,2", eval("var r = []; for (let x of new Set([1, 2])) { r.push(x); } r.join();"));
+        assertEquals("a,\ud83d\ude00,b", eval("var r = []; for (const c of 'a\\ud83d\\ude00b') { r.push(c); } r.join();"));
+        assertEquals("0:1,1:2", eval("var r = []; for (var [i, x] of [1, 2].entries()) { r.push(i + ':' + x); } r.join();"));
+    }
+
+    @Test
+    public void testForOfModifiedDuringIteration() {
+        assertEquals("1,2,3,4", eval("var a = [1, 2]; var r = []; for (var x of a) { r.push(x); if (x < 3) a.push(x + 2); } r.join();"));
+        assertEquals("1,undefined,3", eval("var a = [1, , 3]; var r = []; for (var x of a) { r.push(x); } r.map(String).join();"));
+    }
+
+    @Test
+    public void testPatchedNext() {
+        String source = "var proto = Object.getPrototypeOf([][Symbol.iterator]()); var next = proto.next;" +
+                        "proto.next = function() { var r = next.call(this); if (!r.done) r.value *= 10; return r; };" +
+                        "var r = []; for (var x of [1, 2]) { r.push(x); } proto.next = next; r.concat([...[3]]).join();";
+        assertEquals("10,20,3", eval(source));
+    }
+
+    @Test
+    public void testBreakCallsReturn() {
+        String source = "var closed = 0; var proto = Object.getPrototypeOf(Object.getPrototypeOf([][Symbol.iterator]()));" +
+                        "proto.return = function() { closed++; return {}; };" +
+                        "for (var x of [1, 2, 3]) { if (x == 2) break; } String(closed);";
+        assertEquals("1", eval(source));
+    }
+
+    @Test
+    public void testSpreadAndDestructuring() {
+        assertEquals("1,2,3", eval("[...[1, 2], ...new Set([3])].join();"));
+        assertEquals("3", eval("String(Math.max(...[1, 3, 2]));"));
+        assertEquals("a,b,c,d", eval("var [x, y, ...rest] = 'abcd'; [x, y].concat(rest).join();"));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and license the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.builtins.JSDate;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests for Date.parse and the Date constructor with a string argument.
+ */
+public class DateParseTest extends JSTest {
+
+    private double parse(String dateString) {
+        return ((Number) testHelper.run("Date.parse('" + dateString + "')")).doubleValue();
+    }
+
+    private double parseWithDateParser(String dateString) {
+        JSContext context = testHelper.getJSContext();
+        Integer[] fields = context.getEvaluator().parseDate(testHelper.getRealm(), dateString);
+        if (fields == null) {
+            return Double.NaN;
+        }
+        return JSDate.makeDate(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], fields[6], fields[7], context);
+    }
+
+    @Test
+    public void testISOFormat() {
+        assertEquals(1551675967089d, parse("2019-03-04T05:06:07.089Z"), 0);
+        assertEquals(1551656167089d, parse("2019-03-04T05:06:07.089+05:30"), 0);
+        assertEquals(1551693967089d, parse("2019-03-04T05:06:07.089-05:00"), 0);
+        assertEquals(1551675967000d, parse("2019-03-04T05:06:07Z"), 0);
+        assertEquals(1551675960000d, parse("2019-03-04T05:06Z"), 0);
+        assertEquals(1551657600000d, parse("2019-03-04"), 0);
+        assertEquals(1551398400000d, parse("2019-03"), 0);
+        assertEquals(1546300800000d, parse("2019"), 0);
+        assertEquals(1546300800000d, parse("  2019-01-01  "), 0);
+        assertEquals(-62198755200000d, parse("-000001-01-01T00:00:00Z"), 0);
+        assertEquals(8.64E15, parse("+275760-09-13T00:00:00.000Z"), 0);
+        assertEquals(951825600500d, parse("2000-02-29T12:00:00.5Z"), 0);
+        assertEquals(951825600123d, parse("2000-02-29T12:00:00.123456789Z"), 0);
+        // day overflow is not rejected
+        assertEquals(1551571200000d, parse("2019-02-31"), 0);
+        assertEquals(1577836800000d, parse("2019-12-31T24:00Z"), 0);
+    }
+
+    @Test
+    public void testOffsetWithoutSeconds() {
+        // left to the date parser, which treats offsets after hh:mm in its own way
+        String[] dateStrings = {"2019-03-04T05:06+05:30", "2019-03-04T05:06-05:00", "2019-03-04T24:00+01:00"};
+        for (String dateString : dateStrings) {
+            assertEquals(dateString, parseWithDateParser(dateString), parse(dateString), 0);
+        }
+    }
+
+    @Test
+    public void testInvalidISOFormat() {
+        assertEquals(Double.NaN, parse("+275760-09-13T00:00:00.001Z"), 0);
+        assertEquals(Double.NaN, parse("2019-13-01"), 0);
+        assertEquals(Double.NaN, parse("2019-12-31T24:00:01Z"), 0);
+        assertEquals(Double.NaN, parse("2019-12-31T25:00Z"), 0);
+        assertEquals(Double.NaN, parse("2019-12-31T10:60Z"), 0);
+        assertEquals(Double.NaN, parse("2019-12-31T10:00:00.1234567890Z"), 0);
+    }
+
+    @Test
+    public void testOtherFormats() {
+        assertEquals(1551675967000d, parse("Mon, 04 Mar 2019 05:06:07 GMT"), 0);
+        assertEquals(1551675967000d, parse("Mon Mar 04 2019 05:06:07 GMT+0000"), 0);
+        assertEquals(1551675967000d, parse("2019-03-04 05:06:07 Z"), 0);
+        assertEquals(Double.NaN, parse("not a date"), 0);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(1551675967089d, ((Number) testHelper.run("new Date('2019-03-04T05:06:07.089Z').getTime()")).doubleValue(), 0);
+        assertEquals(Double.NaN, ((Number) testHelper.run("new Date('2019-13-01').getTime()")).doubleValue(), 0);
+    }
+}
@@ -64,4 +64,23 @@ public class RegExpBuiltinTest {
         }
     }
 
+    @Test
+    public void testLazyGroups() {
+        try (Context context = Context.create()) {
+            Value result = context.eval(JavaScriptLanguage.ID, "" +
+                            "var r = /(?<y>\\d{4})-(?<m>\\d{2})/;\n" +
+                            "var out = [];\n" +
+                            "for (var i = 0; i < 3; i++) {\n" +
+                            "  var m = r.exec('on 2019-07');\n" +
+                            "  out.push(m.groups === m.groups, m.groups.y + '/' + m.groups.m, Object.keys(m).join());\n" +
+                            "}\n" +
+                            "var n = r.exec('2020-01');\n" +
+                            "n.groups = 42;\n" +
+                            "out.push(n.groups, Object.getOwnPropertyDescriptor(n, 'groups').writable);\n" +
+                            "out.push(/(a)/.exec('a').groups, '2019-07'.replace(r, '$<m>.$<y>'));\n" +
+                            "out.join(' ');\n");
+            Assert.assertEquals("true 2019/07 0,1,2,index,input,groups true 2019/07 0,1,2,index,input,groups true 2019/07 0,1,2,index,input,groups 42 true  07.2019", result.asString());
+        }
+    }
+
 }
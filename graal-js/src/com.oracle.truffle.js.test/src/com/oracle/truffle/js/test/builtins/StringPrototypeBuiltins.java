@@ -56,7 +56,7 @@ import com.oracle.truffle.js.lang.JavaScriptLanguage;
  */
 public class StringPrototypeBuiltins {
 
-    private static boolean testIntl(String sourceText) {
+    private static boolean test(String sourceText) {
         try (Context context = Context.newBuilder(JavaScriptLanguage.ID).build()) {
             Value result = context.eval(Source.newBuilder(JavaScriptLanguage.ID, sourceText, "string-prototype-test").buildLiteral());
             return result.asBoolean();
@@ -71,8 +71,8 @@ public class StringPrototypeBuiltins {
 
     @Test
     public void testLocaleCompare() {
-        assertTrue(testIntl("'abc'.localeCompare('abc') === 0;"));
-        assertFalse(testIntl("'abc'.localeCompare('def') === 0;"));
+        assertTrue(test("'abc'.localeCompare('abc') === 0;"));
+        assertFalse(test("'abc'.localeCompare('def') === 0;"));
     }
 
     @Test
@@ -89,4 +89,43 @@ public class StringPrototypeBuiltins {
         assertEquals("\u0130", evalWithLocale(code, "tr").asString());
     }
 
+    @Test
+    public void testSplit() {
+        assertTrue(test("JSON.stringify('a,b,,c,'.split(',')) === '[\"a\",\"b\",\"\",\"c\",\"\"]';"));
+        assertTrue(test("JSON.stringify('a,b,,c,'.split(',', 3)) === '[\"a\",\"b\",\"\"]';"));
+        assertTrue(test("JSON.stringify('a,b'.split(',', 2)) === '[\"a\",\"b\"]';"));
+        assertTrue(test("JSON.stringify('abc'.split(',')) === '[\"abc\"]';"));
+        assertTrue(test("JSON.stringify('a::b::::c'.split('::')) === '[\"a\",\"b\",\"\",\"c\"]';"));
+        assertTrue(test("JSON.stringify('aaaaa'.split('aa')) === '[\"\",\"\",\"a\"]';"));
+        assertTrue(test("JSON.stringify('a::b::c'.split('::', 2)) === '[\"a\",\"b\"]';"));
+        assertTrue(test("var a = 'x,y'.split(','); a.push('z'); a[0] = 1; JSON.stringify(a) === '[1,\"y\",\"z\"]';"));
+    }
+
+    @Test
+    public void testReplaceTemplates() {
+        // more templates than the cached specializations hold
+        String templates = "var t = ['<$&>', '$`|', '|$\\'', '$$', '$1', '$<a>', '$2$1', '$01x', '$10'];";
+        assertTrue(test(templates + "t.map(r => 'abcd'.replace('bc', r)).join() === 'a<bc>d,aa|d,a|dd,a$d,a$1d,a$<a>d,a$2$1d,a$01xd,a$10d';"));
+        assertTrue(test(templates + "t.map(r => 'abcd'.replace(/(b)(c)/, r)).join() === 'a<bc>d,aa|d,a|dd,a$d,abd,a$<a>d,acbd,abxd,ab0d';"));
+        assertTrue(test(templates + "t.map(r => 'abcd'.replace(/(?<a>b)c/g, r)).join() === 'a<bc>d,aa|d,a|dd,a$d,abd,abd,a$2bd,abxd,ab0d';"));
+        assertTrue(test("var re = /b/g; re.exec = function(s) { var r = RegExp.prototype.exec.call(this, s); if (r) { r.length = 3; r[2] = 'x'; } return r; }; 'abcb'.replace(re, '$2$1$3') === 'ax$3cx$3';"));
+    }
+
+    @Test
+    public void testSubstringViews() {
+        String prefix = "var s = 'abcdefghijklmnopqrstuvwxyz0123456789'; ";
+        assertTrue(test(prefix + "s.slice(2, 30) === 'cdefghijklmnopqrstuvwxyz0123';"));
+        assertTrue(test(prefix + "s.substring(30, 2) === 'cdefghijklmnopqrstuvwxyz0123';"));
+        assertTrue(test(prefix + "s.substr(-30, 25) === 'ghijklmnopqrstuvwxyz01234';"));
+        assertTrue(test(prefix + "var t = s.slice(1, 31); t.length === 30 && t.charCodeAt(29) === 48 && t[0] === 'b' && t.slice(25) === 'z0123';"));
+        assertTrue(test(prefix + "var t = s.slice(5) + s.slice(0, 25); t === 'fghijklmnopqrstuvwxyz0123456789abcdefghijklmnopqrstuvwxy';"));
+        assertTrue(test(prefix + "var m = /(d.*w)(x.*)/.exec(s); m[1] === 'defghijklmnopqrstuvw' && m[2].length === 12 && s.replace(/c(.*)8/, '[$1]') === 'ab[defghijklmnopqrstuvwxyz01234567]9';"));
+        assertTrue(test(prefix + "var o = {}; o[s.slice(1, 30)] = 1; o['bcdefghijklmnopqrstuvwxyz0123'] === 1;"));
+        // custom exec returning a modified built-in result or a frozen copy of it
+        assertTrue(test(prefix + "var re = /c(.*)8/g; re.exec = function(str) { var r = RegExp.prototype.exec.call(this, str); if (r) { r.push('!'); } return r; }; " +
+                        "s.replace(re, function(m, g1, x) { return '[' + g1.length + x + ']'; }) === 'ab[31!]9';"));
+        assertTrue(test(prefix + "var re = /c(.*)8/g; re.exec = function(str) { var r = RegExp.prototype.exec.call(this, str); if (!r) { return null; } " +
+                        "var c = Array.from(r); c.index = r.index; return Object.freeze(c); }; s.replace(re, function(m) { return '<' + m.length + '>'; }) === 'ab<33>9';"));
+    }
+
 }
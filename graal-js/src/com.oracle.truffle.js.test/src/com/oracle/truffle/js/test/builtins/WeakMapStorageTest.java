@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.TestHelper;
+
+/**
+ * Tests WeakMap with both the inverted (key-side) and the map-side entry storage.
+ */
+public class WeakMapStorageTest {
+
+    private static final String TEST_SOURCE = "var k1 = {}; var k2 = {x: 1}; var p = new Proxy({}, {});" +
+                    "var m1 = new WeakMap([[k1, 'a']]); var m2 = new WeakMap();" +
+                    "m2.set(k1, 'b').set(k2, 'c').set(p, 'd');" +
+                    "var r = [m1.get(k1), m2.get(k1), m2.get(k2), m2.get(p), m1.has(k2), m2.has(k2), m1.get(k2)];" +
+                    "m2.delete(k2); r.push(m2.has(k2), m2.get(k2), m1.delete(k1), m1.has(k1), m2.get(k1));" +
+                    "r.map(String).join();";
+
+    private static final String EXPECTED = "a,b,c,d,false,true,undefined,false,undefined,true,false,b";
+
+    private static Context.Builder contextBuilder(boolean invertedStorage) {
+        return Context.newBuilder(JavaScriptLanguage.ID).allowExperimentalOptions(true).option(JSContextOptions.WEAKMAP_INVERTED_STORAGE_NAME, String.valueOf(invertedStorage));
+    }
+
+    private static String eval(boolean invertedStorage) {
+        try (Context context = contextBuilder(invertedStorage).build()) {
+            return context.eval(JavaScriptLanguage.ID, TEST_SOURCE).asString();
+        }
+    }
+
+    /**
+     * Returns the shapes of a key before and after it is added to a WeakMap.
+     */
+    private static Shape[] keyShapes(boolean invertedStorage) {
+        try (TestHelper testHelper = new TestHelper(contextBuilder(invertedStorage))) {
+            DynamicObject key = (DynamicObject) testHelper.runNoPolyglot("var key = {x: 1}; var map = new WeakMap(); key;");
+            Shape before = key.getShape();
+            testHelper.runNoPolyglot("map.set(key, 'value'); map.get(key);");
+            return new Shape[]{before, key.getShape()};
+        }
+    }
+
+    @Test
+    public void testInvertedStorage() {
+        assertEquals(EXPECTED, eval(true));
+    }
+
+    @Test
+    public void testMapStorage() {
+        assertEquals(EXPECTED, eval(false));
+    }
+
+    @Test
+    public void testInvertedStorageChangesKeyShape() {
+        Shape[] shapes = keyShapes(true);
+        assertNotSame(shapes[0], shapes[1]);
+    }
+
+    @Test
+    public void testMapStorageKeepsKeyShape() {
+        Shape[] shapes = keyShapes(false);
+        assertSame(shapes[0], shapes[1]);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.polyglot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.util.JSHashMap;
+
+/**
+ * Map and Set objects backed by concurrent storage shared between contexts.
+ */
+public class SharedMapTest {
+
+    private static Context newContext(JSHashMap storage) {
+        Context context = Context.newBuilder(JavaScriptLanguage.ID).allowHostAccess(HostAccess.ALL).build();
+        context.getBindings(JavaScriptLanguage.ID).putMember("storage", storage);
+        return context;
+    }
+
+    @Test
+    public void testSharedBetweenContexts() {
+        JSHashMap storage = JSHashMap.createConcurrent();
+        try (Context c1 = newContext(storage); Context c2 = newContext(storage)) {
+            c1.eval(JavaScriptLanguage.ID, "var m = new Map(storage); m.set('a', 1); m.set('b', 2);");
+            assertEquals("a=1,b=2,c=3", c2.eval(JavaScriptLanguage.ID, "var m = new Map(storage); m.set('c', 3); Array.from(m).map(e => e.join('=')).join();").asString());
+            assertEquals(3, c1.eval(JavaScriptLanguage.ID, "m.delete('b'); m.size").asInt());
+            assertEquals("a,c", c2.eval(JavaScriptLanguage.ID, "Array.from(m.keys()).join()").asString());
+        }
+    }
+
+    @Test
+    public void testSharedSet() {
+        JSHashMap storage = JSHashMap.createConcurrent();
+        try (Context c1 = newContext(storage); Context c2 = newContext(storage)) {
+            c1.eval(JavaScriptLanguage.ID, "new Set(storage).add(1).add('x');");
+            assertTrue(c2.eval(JavaScriptLanguage.ID, "var s = new Set(storage); s.has(1) && s.has('x') && !s.has(2)").asBoolean());
+        }
+    }
+
+    @Test
+    public void testRejectsContextValues() {
+        JSHashMap storage = JSHashMap.createConcurrent();
+        try (Context context = newContext(storage)) {
+            String result = context.eval(JavaScriptLanguage.ID, "var m = new Map(storage), s = new Set(storage), errors = [];" +
+                            "for (var f of [() => m.set({}, 1), () => m.set('k', {}), () => m.set(Symbol(), 1), () => m.set('k', Symbol.iterator), () => s.add([])]) {" +
+                            "  try { f(); errors.push('none'); } catch (e) { errors.push(e.constructor.name); }" +
+                            "}" +
+                            "m.set('k', 1.5).set(2, null).set(undefined, true);" +
+                            "errors.join() + ':' + m.size").asString();
+            assertEquals("TypeError,TypeError,TypeError,TypeError,TypeError:3", result);
+        }
+    }
+
+    @Test
+    public void testConcurrentThreads() throws InterruptedException {
+        JSHashMap storage = JSHashMap.createConcurrent();
+        int threadCount = 4;
+        int perThread = 1000;
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            final int id = t;
+            threads.add(new Thread(() -> {
+                try (Context context = newContext(storage)) {
+                    context.eval(JavaScriptLanguage.ID, "var m = new Map(storage); for (var i = 0; i < " + perThread + "; i++) { m.set('" + id + "_' + i, i); if (i % 2) m.delete('" + id +
+                                    "_' + (i - 1)); }");
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(threadCount * perThread / 2, storage.size());
+        int count = 0;
+        JSHashMap.Cursor cursor = storage.getEntries();
+        while (cursor.advance()) {
+            count++;
+        }
+        assertEquals(threadCount * perThread / 2, count);
+    }
+}
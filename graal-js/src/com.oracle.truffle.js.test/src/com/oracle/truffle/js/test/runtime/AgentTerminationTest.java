@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSAgent;
+
+/**
+ * Tests the cooperative termination of a running agent.
+ */
+public class AgentTerminationTest {
+
+    private static void assertTerminated(Context context, String source) {
+        try {
+            context.eval(JavaScriptLanguage.ID, source);
+            fail("execution should have been terminated");
+        } catch (PolyglotException ex) {
+            assertTrue(ex.isCancelled());
+        }
+    }
+
+    @Test
+    public void testTerminateLoop() throws InterruptedException {
+        try (Context context = Context.create(JavaScriptLanguage.ID)) {
+            JSAgent agent = JavaScriptLanguage.getJSRealm(context).getAgent();
+            Thread watchdog = new Thread(() -> {
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException ex) {
+                    throw new AssertionError(ex);
+                }
+                agent.setTerminationRequested(true);
+            });
+            watchdog.start();
+            assertTerminated(context, "var i = 0; while (true) { try { i++; } catch (e) {} }");
+            watchdog.join();
+
+            agent.setTerminationRequested(false);
+            assertEquals(42, context.eval(JavaScriptLanguage.ID, "(function() { for (var i = 0; i < 42; i++); return i; })()").asInt());
+        }
+    }
+
+    @Test
+    public void testTerminateFunctionEntry() {
+        try (Context context = Context.create(JavaScriptLanguage.ID)) {
+            context.eval(JavaScriptLanguage.ID, "var called = false; function f() { called = true; }");
+            JSAgent agent = JavaScriptLanguage.getJSRealm(context).getAgent();
+            agent.setTerminationRequested(true);
+            assertTerminated(context, "f()");
+            agent.setTerminationRequested(false);
+            assertFalse(context.eval(JavaScriptLanguage.ID, "called").asBoolean());
+        }
+    }
+
+    @Test
+    public void testNotCatchable() {
+        try (Context context = Context.create(JavaScriptLanguage.ID)) {
+            JSAgent agent = JavaScriptLanguage.getJSRealm(context).getAgent();
+            context.getBindings(JavaScriptLanguage.ID).putMember("requestTermination", (ProxyExecutable) args -> {
+                agent.setTerminationRequested(true);
+                return null;
+            });
+            // the request is noticed at the loop back-edge, inside the try block
+            context.eval(JavaScriptLanguage.ID, "var entered = false, caught = false, finished = false;" +
+                            "function g() { requestTermination(); for (var i = 0; i < 10; i++); }");
+            assertTerminated(context, "try { entered = true; g(); } catch (e) { caught = true; } finished = true;");
+            agent.setTerminationRequested(false);
+            assertTrue(context.eval(JavaScriptLanguage.ID, "entered").asBoolean());
+            assertFalse(context.eval(JavaScriptLanguage.ID, "caught").asBoolean());
+            assertFalse(context.eval(JavaScriptLanguage.ID, "finished").asBoolean());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.JSHeapAccounting;
+
+/**
+ * Tests the per-realm heap accounting and the heap soft limit.
+ */
+public class HeapAccountingTest {
+
+    @Test
+    public void testDisabledByDefault() {
+        try (Context context = Context.create(JavaScriptLanguage.ID)) {
+            assertNull(JavaScriptLanguage.getJSRealm(context).getHeapAccounting());
+        }
+    }
+
+    @Test
+    public void testAccounting() {
+        try (Context context = Context.newBuilder(JavaScriptLanguage.ID).allowExperimentalOptions(true).option(JSContextOptions.HEAP_ACCOUNTING_NAME, "true").build()) {
+            JSHeapAccounting heapAccounting = JavaScriptLanguage.getJSRealm(context).getHeapAccounting();
+            long allocated = heapAccounting.getAllocatedBytes();
+            context.eval(JavaScriptLanguage.ID, "var keep = [];" +
+                            "for (var i = 0; i < 1000; i++) { keep.push({i: i}, [i, i + 1], 'x' + i + 'y'); }" +
+                            "keep.push(new ArrayBuffer(1 << 20));");
+            assertTrue(heapAccounting.getObjectBytes() >= 1000 * JSHeapAccounting.OBJECT_SIZE);
+            assertTrue(heapAccounting.getArrayBytes() > 0);
+            assertTrue(heapAccounting.getStringBytes() > 0);
+            assertTrue(heapAccounting.getArrayBufferBytes() >= 1 << 20);
+            assertTrue(heapAccounting.getAllocatedBytes() > allocated);
+            assertTrue(heapAccounting.getLiveBytes() >= 1 << 20);
+        }
+    }
+
+    @Test
+    public void testSoftLimit() throws InterruptedException {
+        try (Context context = Context.newBuilder(JavaScriptLanguage.ID).allowExperimentalOptions(true).option(JSContextOptions.HEAP_SOFT_LIMIT_NAME, String.valueOf(16 << 20)).build()) {
+            String result = context.eval(JavaScriptLanguage.ID, "var keep = [];" +
+                            "try { while (true) { keep.push(new ArrayBuffer(1 << 20)); } } catch (e) { keep = null; e.constructor.name; }").asString();
+            assertEquals("RangeError", result);
+            // the realm can go on once the released memory has been collected
+            JSHeapAccounting heapAccounting = JavaScriptLanguage.getJSRealm(context).getHeapAccounting();
+            for (int i = 0; i < 10 && heapAccounting.getLiveBytes() > (8 << 20); i++) {
+                System.gc();
+                Thread.sleep(10);
+            }
+            assertEquals(42, context.eval(JavaScriptLanguage.ID, "new ArrayBuffer(1 << 20); 42").asInt());
+        }
+    }
+
+    @Test
+    public void testRopes() {
+        try (Context context = Context.newBuilder(JavaScriptLanguage.ID).allowExperimentalOptions(true).option(JSContextOptions.HEAP_ACCOUNTING_NAME, "true").build()) {
+            JSHeapAccounting heapAccounting = JavaScriptLanguage.getJSRealm(context).getHeapAccounting();
+            long stringBytes = heapAccounting.getStringBytes();
+            int length = context.eval(JavaScriptLanguage.ID, "var s = 'abcdefghijklmnopqrstuvwxyz'; for (var i = 0; i < 10000; i++) { s += s.charAt(i % 26) + 'xx'; } s.length").asInt();
+            // charging the full length of every intermediate rope would be quadratic
+            assertTrue(heapAccounting.getStringBytes() - stringBytes < 100L * length);
+        }
+    }
+}
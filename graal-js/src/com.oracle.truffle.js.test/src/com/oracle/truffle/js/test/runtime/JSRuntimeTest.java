@@ -46,6 +46,7 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.math.BigInteger;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -77,6 +78,7 @@ import com.oracle.truffle.js.runtime.builtins.JSProxy;
 import com.oracle.truffle.js.runtime.builtins.JSSet;
 import com.oracle.truffle.js.runtime.builtins.JSString;
 import com.oracle.truffle.js.runtime.builtins.JSUserObject;
+import com.oracle.truffle.js.runtime.doubleconv.DoubleConversion;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.test.JSTest;
@@ -120,6 +122,49 @@ public class JSRuntimeTest extends JSTest {
         assertEquals("42", JSRuntime.numberToString(LargeInteger.valueOf(42)));
     }
 
+    @Test
+    public void testDoubleToString() {
+        assertEquals("0.1", JSRuntime.doubleToString(0.1));
+        assertEquals("0.30000000000000004", JSRuntime.doubleToString(0.1 + 0.2));
+        assertEquals("-1.5", JSRuntime.doubleToString(-1.5));
+        assertEquals("123456789012345680000", JSRuntime.doubleToString(123456789012345678901.0));
+        assertEquals("1e+21", JSRuntime.doubleToString(1e21));
+        assertEquals("0.000001", JSRuntime.doubleToString(1e-6));
+        assertEquals("1e-7", JSRuntime.doubleToString(1e-7));
+        assertEquals("1.7976931348623157e+308", JSRuntime.doubleToString(Double.MAX_VALUE));
+        assertEquals("5e-324", JSRuntime.doubleToString(Double.MIN_VALUE));
+        assertEquals("2.2250738585072014e-308", JSRuntime.doubleToString(Double.MIN_NORMAL));
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            double d = Double.longBitsToDouble(random.nextLong());
+            if (!Double.isNaN(d) && !Double.isInfinite(d) && d != 0) {
+                assertEquals(DoubleConversion.toShortestStringGrisu(d), JSRuntime.doubleToString(d));
+            }
+        }
+    }
+
+    @Test
+    public void testParseDoubleOrNaN() {
+        assertEquals(0.1, JSRuntime.parseDoubleOrNaN("0.1"), 0);
+        assertEquals(-1.5e-7, JSRuntime.parseDoubleOrNaN("-.15e-6"), 0);
+        assertEquals(5.0, JSRuntime.parseDoubleOrNaN("5."), 0);
+        assertEquals(9007199254740992.0, JSRuntime.parseDoubleOrNaN("9007199254740993"), 0);
+        assertEquals(Double.MIN_VALUE, JSRuntime.parseDoubleOrNaN("4.9e-324"), 0);
+        assertEquals(Double.POSITIVE_INFINITY, JSRuntime.parseDoubleOrNaN("1e400"), 0);
+        assertEquals(12.5, JSRuntime.parseDoubleOrNaN("x12.5y", 1, 5), 0);
+        assertTrue(Double.isNaN(JSRuntime.parseDoubleOrNaN("1d")));
+        assertTrue(Double.isNaN(JSRuntime.parseDoubleOrNaN("0x1.8p1")));
+        assertTrue(Double.isNaN(JSRuntime.parseDoubleOrNaN("1e")));
+        assertTrue(Double.isNaN(JSRuntime.parseDoubleOrNaN(".")));
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            double d = Double.longBitsToDouble(random.nextLong());
+            if (!Double.isNaN(d) && !Double.isInfinite(d)) {
+                assertEquals(d, JSRuntime.parseDoubleOrNaN(Double.toString(d)), 0);
+            }
+        }
+    }
+
     @Test
     public void testQuote() {
         char char6 = 6;
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.builtins.JSDate;
+import com.oracle.truffle.js.runtime.util.LocalTimeZoneHolder;
+
+public class LocalTimeZoneHolderTest {
+
+    private static final String[] ZONES = {"UTC", "Europe/Vienna", "America/Los_Angeles", "Australia/Lord_Howe", "Asia/Kolkata", "Africa/Casablanca", "Pacific/Apia"};
+
+    private static long expectedDaylightSavings(ZoneRules rules, long t) {
+        return rules.getDaylightSavings(Instant.ofEpochMilli(t)).getSeconds() * 1000L;
+    }
+
+    @Test
+    public void testDaylightSavingsAroundTransitions() {
+        for (String zone : ZONES) {
+            ZoneId zoneId = ZoneId.of(zone);
+            ZoneRules rules = zoneId.getRules();
+            LocalTimeZoneHolder holder = new LocalTimeZoneHolder(zoneId);
+            for (ZoneOffsetTransition transition : rules.getTransitions()) {
+                long instant = transition.toEpochSecond() * 1000L;
+                for (long t = instant - 2; t <= instant + 2; t++) {
+                    assertEquals(zone + " " + t, expectedDaylightSavings(rules, t), holder.getDaylightSavings(t));
+                }
+                // going backwards
+                for (long t = instant + 2; t >= instant - 2; t--) {
+                    assertEquals(zone + " " + t, expectedDaylightSavings(rules, t), holder.getDaylightSavings(t));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDaylightSavingsSequential() {
+        long start = -3_000_000_000_000L;
+        long end = 4_000_000_000_000L;
+        long step = 7_777_777L;
+        for (String zone : ZONES) {
+            ZoneId zoneId = ZoneId.of(zone);
+            ZoneRules rules = zoneId.getRules();
+            LocalTimeZoneHolder holder = new LocalTimeZoneHolder(zoneId);
+            for (long t = start; t < end; t += step) {
+                assertEquals(zone + " " + t, expectedDaylightSavings(rules, t), holder.getDaylightSavings(t));
+            }
+            assertEquals(expectedDaylightSavings(rules, (long) JSDate.MAX_DATE), holder.getDaylightSavings((long) JSDate.MAX_DATE));
+            assertEquals(expectedDaylightSavings(rules, (long) -JSDate.MAX_DATE), holder.getDaylightSavings((long) -JSDate.MAX_DATE));
+        }
+    }
+
+    @Test
+    public void testDayDecomposition() {
+        LocalTimeZoneHolder holder = new LocalTimeZoneHolder(ZoneId.of("UTC"));
+        int maxDay = (int) (JSDate.MAX_DATE / JSDate.MS_PER_DAY);
+        for (int day = -maxDay; day <= maxDay; day += 997) {
+            checkDay(holder, day);
+            checkDay(holder, day + 1);
+            checkDay(holder, day);
+        }
+        checkDay(holder, maxDay);
+        checkDay(holder, -maxDay);
+    }
+
+    private static void checkDay(LocalTimeZoneHolder holder, int daysAfter1970) {
+        LocalDate date = LocalDate.ofEpochDay(daysAfter1970);
+        assertEquals(date.getYear(), holder.yearFromDays(daysAfter1970));
+        assertEquals(date.getMonthValue() - 1, holder.monthFromDays(daysAfter1970));
+        assertEquals(date.getDayOfMonth(), holder.dateFromDays(daysAfter1970));
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.nodes.access;
+
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.UnexpectedResultException;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.api.profiles.ValueProfile;
+import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
+import com.oracle.truffle.js.nodes.array.JSGetLengthNode;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSArguments;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+import com.oracle.truffle.js.runtime.builtins.JSFunction;
+import com.oracle.truffle.js.runtime.builtins.JSMap;
+import com.oracle.truffle.js.runtime.builtins.JSSet;
+import com.oracle.truffle.js.runtime.builtins.JSString;
+import com.oracle.truffle.js.runtime.objects.IteratorRecord;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.JSHashMap;
+
+/**
+ * Performs IteratorStep(iterator) followed by IteratorValue(iterResult) for the built-in Array,
+ * Map, Set, and String iterators, without calling the {@code next} method and without allocating
+ * an iterator result object. Only applicable if the {@code next} method captured in the
+ * {@link IteratorRecord} is the unmodified intrinsic of the current realm (see
+ * {@link #isBuiltinIterator(JSContext, IteratorRecord)}), in which case the behavior is
+ * indistinguishable from the iterator protocol.
+ *
+ * Returns the next value, or {@code null} if the iterator is done.
+ */
+@ImportStatic({JSRuntime.class, JSArray.class, JSMap.class, JSSet.class, JSString.class})
+public abstract class BuiltinIteratorStepNode extends JavaScriptBaseNode {
+    protected final JSContext context;
+
+    protected BuiltinIteratorStepNode(JSContext context) {
+        this.context = context;
+    }
+
+    public static BuiltinIteratorStepNode create(JSContext context) {
+        return BuiltinIteratorStepNodeGen.create(context);
+    }
+
+    public abstract Object execute(IteratorRecord iteratorRecord);
+
+    public static boolean isBuiltinIterator(JSContext context, IteratorRecord iteratorRecord) {
+        Object next = iteratorRecord.getNextMethod();
+        JSRealm realm = context.getRealm();
+        return next == realm.getArrayIteratorNextFunction() || next == realm.getMapIteratorNextFunction() || next == realm.getSetIteratorNextFunction() ||
+                        next == realm.getStringIteratorNextFunction();
+    }
+
+    protected final boolean isArrayIteratorNext(IteratorRecord iteratorRecord) {
+        return iteratorRecord.getNextMethod() == context.getRealm().getArrayIteratorNextFunction();
+    }
+
+    protected final boolean isMapIteratorNext(IteratorRecord iteratorRecord) {
+        return iteratorRecord.getNextMethod() == context.getRealm().getMapIteratorNextFunction();
+    }
+
+    protected final boolean isSetIteratorNext(IteratorRecord iteratorRecord) {
+        return iteratorRecord.getNextMethod() == context.getRealm().getSetIteratorNextFunction();
+    }
+
+    protected final boolean isStringIteratorNext(IteratorRecord iteratorRecord) {
+        return iteratorRecord.getNextMethod() == context.getRealm().getStringIteratorNextFunction();
+    }
+
+    /**
+     * Same as %ArrayIteratorPrototype%.next, but reads elements of fast arrays directly from the
+     * {@link ScriptArray} storage.
+     */
+    @Specialization(guards = {"isArrayIteratorNext(iteratorRecord)", "isArrayIterator.executeHasHiddenKey(iteratorRecord.getIterator())"})
+    protected Object doArrayIterator(IteratorRecord iteratorRecord,
+                    @Cached("create(ARRAY_ITERATION_KIND_ID)") HasHiddenKeyCacheNode isArrayIterator,
+                    @Cached("createGetHidden(ITERATED_OBJECT_ID, context)") PropertyGetNode getIteratedObjectNode,
+                    @Cached("createGetHidden(ITERATOR_NEXT_INDEX, context)") PropertyGetNode getNextIndexNode,
+                    @Cached("createGetHidden(ARRAY_ITERATION_KIND_ID, context)") PropertyGetNode getIterationKindNode,
+                    @Cached("createSetHidden(ITERATED_OBJECT_ID, context)") PropertySetNode setIteratedObjectNode,
+                    @Cached("createSetHidden(ITERATOR_NEXT_INDEX, context)") PropertySetNode setNextIndexNode,
+                    @Cached("create(context)") JSGetLengthNode getLengthNode,
+                    @Cached("create(context)") ReadElementNode readElementNode,
+                    @Cached("createClassProfile()") ValueProfile arrayTypeProfile,
+                    @Cached("createBinaryProfile()") ConditionProfile fastArrayProfile,
+                    @Cached("createBinaryProfile()") ConditionProfile intIndexProfile,
+                    @Cached("create()") BranchProfile errorBranch) {
+        DynamicObject iterator = iteratorRecord.getIterator();
+        Object array = getIteratedObjectNode.getValue(iterator);
+        if (array == Undefined.instance) {
+            return null;
+        }
+
+        long index = getLong(getNextIndexNode, iterator);
+        int itemKind = getInt(getIterationKindNode, iterator);
+        boolean isFastArray = fastArrayProfile.profile(JSArray.isJSFastArray(array));
+        ScriptArray arrayType = null;
+        long length;
+        if (isFastArray) {
+            arrayType = arrayTypeProfile.profile(JSAbstractArray.arrayGetArrayType((DynamicObject) array));
+            length = arrayType.length((DynamicObject) array);
+        } else if (JSArrayBufferView.isJSArrayBufferView(array)) {
+            DynamicObject typedArray = (DynamicObject) array;
+            if (JSArrayBufferView.hasDetachedBuffer(typedArray, context)) {
+                errorBranch.enter();
+                throw Errors.createTypeError("Cannot perform Array Iterator.prototype.next on a detached ArrayBuffer");
+            }
+            length = JSArrayBufferView.typedArrayGetLength(typedArray);
+        } else {
+            length = getLengthNode.executeLong(array);
+        }
+
+        if (index >= length) {
+            setIteratedObjectNode.setValue(iterator, Undefined.instance);
+            return null;
+        }
+
+        setNextIndexNode.setValue(iterator, index + 1);
+        Object indexValue = intIndexProfile.profile(JSRuntime.longIsRepresentableAsInt(index)) ? (Object) (int) index : (Object) (double) index;
+        if (itemKind == JSRuntime.ITERATION_KIND_KEY) {
+            return indexValue;
+        }
+
+        Object elementValue;
+        if (isFastArray && arrayType.hasElement((DynamicObject) array, index)) {
+            elementValue = arrayType.getElement((DynamicObject) array, index);
+        } else {
+            elementValue = readElementNode.executeWithTargetAndIndex(array, index);
+        }
+        if (itemKind == JSRuntime.ITERATION_KIND_VALUE) {
+            return elementValue;
+        } else {
+            assert itemKind == JSRuntime.ITERATION_KIND_KEY_PLUS_VALUE;
+            return JSArray.createConstantObjectArray(context, new Object[]{indexValue, elementValue});
+        }
+    }
+
+    /**
+     * Same as %MapIteratorPrototype%.next, advancing the {@link JSHashMap.Cursor} directly.
+     */
+    @Specialization(guards = {"isMapIteratorNext(iteratorRecord)", "isMapIterator.executeHasHiddenKey(iteratorRecord.getIterator())"})
+    protected Object doMapIterator(IteratorRecord iteratorRecord,
+                    @Cached("create(MAP_ITERATION_KIND_ID)") HasHiddenKeyCacheNode isMapIterator,
+                    @Cached("createGetHidden(ITERATED_OBJECT_ID, context)") PropertyGetNode getIteratedObjectNode,
+                    @Cached("createGetHidden(ITERATOR_NEXT_INDEX, context)") PropertyGetNode getNextIndexNode,
+                    @Cached("createGetHidden(MAP_ITERATION_KIND_ID, context)") PropertyGetNode getIterationKindNode,
+                    @Cached("createSetHidden(ITERATED_OBJECT_ID, context)") PropertySetNode setIteratedObjectNode,
+                    @Cached("createBinaryProfile()") ConditionProfile iterKindKey,
+                    @Cached("createBinaryProfile()") ConditionProfile iterKindValue) {
+        DynamicObject iterator = iteratorRecord.getIterator();
+        if (getIteratedObjectNode.getValue(iterator) == Undefined.instance) {
+            return null;
+        }
+
+        JSHashMap.Cursor mapCursor = (JSHashMap.Cursor) getNextIndexNode.getValue(iterator);
+        int itemKind = getInt(getIterationKindNode, iterator);
+        if (!mapCursor.advance()) {
+            setIteratedObjectNode.setValue(iterator, Undefined.instance);
+            return null;
+        }
+
+        if (iterKindKey.profile(itemKind == JSRuntime.ITERATION_KIND_KEY)) {
+            return mapCursor.getKey();
+        } else if (iterKindValue.profile(itemKind == JSRuntime.ITERATION_KIND_VALUE)) {
+            return mapCursor.getValue();
+        } else {
+            assert itemKind == JSRuntime.ITERATION_KIND_KEY_PLUS_VALUE;
+            return JSArray.createConstantObjectArray(context, new Object[]{mapCursor.getKey(), mapCursor.getValue()});
+        }
+    }
+
+    /**
+     * Same as %SetIteratorPrototype%.next, advancing the {@link JSHashMap.Cursor} directly.
+     */
+    @Specialization(guards = {"isSetIteratorNext(iteratorRecord)", "isSetIterator.executeHasHiddenKey(iteratorRecord.getIterator())"})
+    protected Object doSetIterator(IteratorRecord iteratorRecord,
+                    @Cached("create(SET_ITERATION_KIND_ID)") HasHiddenKeyCacheNode isSetIterator,
+                    @Cached("createGetHidden(ITERATED_OBJECT_ID, context)") PropertyGetNode getIteratedObjectNode,
+                    @Cached("createGetHidden(ITERATOR_NEXT_INDEX, context)") PropertyGetNode getNextIndexNode,
+                    @Cached("createGetHidden(SET_ITERATION_KIND_ID, context)") PropertyGetNode getIterationKindNode,
+                    @Cached("createSetHidden(ITERATED_OBJECT_ID, context)") PropertySetNode setIteratedObjectNode,
+                    @Cached("createBinaryProfile()") ConditionProfile iterKindValue) {
+        DynamicObject iterator = iteratorRecord.getIterator();
+        if (getIteratedObjectNode.getValue(iterator) == Undefined.instance) {
+            return null;
+        }
+
+        JSHashMap.Cursor mapCursor = (JSHashMap.Cursor) getNextIndexNode.getValue(iterator);
+        int itemKind = getInt(getIterationKindNode, iterator);
+        if (!mapCursor.advance()) {
+            setIteratedObjectNode.setValue(iterator, Undefined.instance);
+            return null;
+        }
+
+        Object elementValue = mapCursor.getKey();
+        if (iterKindValue.profile(itemKind == JSRuntime.ITERATION_KIND_VALUE)) {
+            return elementValue;
+        } else {
+            assert itemKind == JSRuntime.ITERATION_KIND_KEY_PLUS_VALUE;
+            return JSArray.createConstantObjectArray(context, new Object[]{elementValue, elementValue});
+        }
+    }
+
+    /**
+     * Same as %StringIteratorPrototype%.next, reading code points directly from the string.
+     */
+    @Specialization(guards = {"isStringIteratorNext(iteratorRecord)", "isStringIterator.executeHasHiddenKey(iteratorRecord.getIterator())"})
+    protected Object doStringIterator(IteratorRecord iteratorRecord,
+                    @Cached("create(ITERATED_STRING_ID)") HasHiddenKeyCacheNode isStringIterator,
+                    @Cached("createGetHidden(ITERATED_STRING_ID, context)") PropertyGetNode getIteratedStringNode,
+                    @Cached("createGetHidden(STRING_ITERATOR_NEXT_INDEX_ID, context)") PropertyGetNode getNextIndexNode,
+                    @Cached("createSetHidden(ITERATED_STRING_ID, context)") PropertySetNode setIteratedStringNode,
+                    @Cached("createSetHidden(STRING_ITERATOR_NEXT_INDEX_ID, context)") PropertySetNode setNextIndexNode,
+                    @Cached("createCountingProfile()") ConditionProfile isSingleChar) {
+        DynamicObject iterator = iteratorRecord.getIterator();
+        Object iteratedString = getIteratedStringNode.getValue(iterator);
+        if (iteratedString == Undefined.instance) {
+            return null;
+        }
+
+        String string = (String) iteratedString;
+        int index = getInt(getNextIndexNode, iterator);
+        int length = string.length();
+        if (index >= length) {
+            setIteratedStringNode.setValue(iterator, Undefined.instance);
+            return null;
+        }
+
+        char first = string.charAt(index);
+        String result;
+        if (isSingleChar.profile(!Character.isHighSurrogate(first) || index + 1 == length || !Character.isLowSurrogate(string.charAt(index + 1)))) {
+            result = String.valueOf(first);
+        } else {
+            result = string.substring(index, index + 2);
+        }
+        setNextIndexNode.setValueInt(iterator, index + result.length());
+        return result;
+    }
+
+    /**
+     * The intrinsic {@code next} method was extracted and called on an incompatible receiver. Call
+     * it regularly so that it throws the appropriate TypeError.
+     */
+    @Fallback
+    protected Object doIncompatibleReceiver(Object iteratorRecord) {
+        IteratorRecord record = (IteratorRecord) iteratorRecord;
+        JSFunction.call((DynamicObject) record.getNextMethod(), record.getIterator(), JSArguments.EMPTY_ARGUMENTS_ARRAY);
+        throw Errors.shouldNotReachHere();
+    }
+
+    private static long getLong(PropertyGetNode getNode, DynamicObject iterator) {
+        try {
+            return getNode.getValueLong(iterator);
+        } catch (UnexpectedResultException e) {
+            throw Errors.shouldNotReachHere();
+        }
+    }
+
+    private static int getInt(PropertyGetNode getNode, DynamicObject iterator) {
+        try {
+            return getNode.getValueInt(iterator);
+        } catch (UnexpectedResultException e) {
+            throw Errors.shouldNotReachHere();
+        }
+    }
+}
@@ -40,6 +40,7 @@
  */
 package com.oracle.truffle.js.nodes.access;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Executed;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
@@ -58,6 +59,9 @@ import com.oracle.truffle.js.runtime.objects.IteratorRecord;
  *
  * Note that this node returns the value instead of the result, thus is non-standard! For the
  * standard-compliant version, see {@link IteratorStepNode}.
+ *
+ * Built-in iterators with an unmodified {@code next} method are stepped directly, without calling
+ * {@code next} or allocating iterator result objects (see {@link BuiltinIteratorStepNode}).
  */
 public abstract class IteratorStepSpecialNode extends JavaScriptNode {
     @Child @Executed JavaScriptNode iteratorNode;
@@ -68,8 +72,10 @@ public abstract class IteratorStepSpecialNode extends JavaScriptNode {
     @Child private JavaScriptNode doneNode;
     @Child private JSToBooleanNode toBooleanNode;
     private final boolean setDoneOnError;
+    protected final JSContext context;
 
     protected IteratorStepSpecialNode(JSContext context, JavaScriptNode iteratorNode, JavaScriptNode doneNode, boolean setDoneOnError) {
+        this.context = context;
         this.iteratorNode = iteratorNode;
         this.getValueNode = PropertyGetNode.create(JSRuntime.VALUE, false, context);
         this.getDoneNode = PropertyGetNode.create(JSRuntime.DONE, false, context);
@@ -84,7 +90,22 @@ public abstract class IteratorStepSpecialNode extends JavaScriptNode {
         return IteratorStepSpecialNodeGen.create(context, iterator, doneNode, setDoneOnError);
     }
 
-    @Specialization
+    @Specialization(guards = "isBuiltinIterator(iteratorRecord)")
+    protected Object doBuiltinIterator(VirtualFrame frame, IteratorRecord iteratorRecord,
+                    @Cached("create(context)") BuiltinIteratorStepNode builtinIteratorStepNode) {
+        Object value;
+        try {
+            value = builtinIteratorStepNode.execute(iteratorRecord);
+        } catch (Exception ex) {
+            if (setDoneOnError) {
+                doneNode.execute(frame);
+            }
+            throw ex;
+        }
+        return value != null ? value : doneNode.execute(frame);
+    }
+
+    @Specialization(guards = "!isBuiltinIterator(iteratorRecord)")
     protected Object doIteratorStep(VirtualFrame frame, IteratorRecord iteratorRecord) {
         Object next = iteratorRecord.getNextMethod();
         DynamicObject iterator = iteratorRecord.getIterator();
@@ -105,10 +126,14 @@ public abstract class IteratorStepSpecialNode extends JavaScriptNode {
         return done == Boolean.FALSE ? getValueNode.getValue(result) : doneNode.execute(frame);
     }
 
+    protected final boolean isBuiltinIterator(IteratorRecord iteratorRecord) {
+        return BuiltinIteratorStepNode.isBuiltinIterator(context, iteratorRecord);
+    }
+
     public abstract Object execute(VirtualFrame frame, IteratorRecord iteratorRecord);
 
     @Override
     protected JavaScriptNode copyUninitialized() {
-        return create(getValueNode.getContext(), cloneUninitialized(iteratorNode), cloneUninitialized(doneNode), setDoneOnError);
+        return create(context, cloneUninitialized(iteratorNode), cloneUninitialized(doneNode), setDoneOnError);
     }
 }
@@ -1561,6 +1561,10 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
         return JSProperty.isProxy(property) && JSProperty.getConstantProxy(property) instanceof JSRegExp.LazyRegexResultIndexProxyProperty;
     }
 
+    protected static boolean isLazyRegexResultGroupsProperty(Property property) {
+        return JSProperty.isProxy(property) && JSProperty.getConstantProxy(property) instanceof JSRegExp.LazyRegexResultGroupsProxyProperty;
+    }
+
     protected static boolean isLazyNamedCaptureGroupProperty(Property property) {
         return JSProperty.isProxy(property) && JSProperty.getConstantProxy(property) instanceof JSRegExp.LazyNamedCaptureGroupProperty;
     }
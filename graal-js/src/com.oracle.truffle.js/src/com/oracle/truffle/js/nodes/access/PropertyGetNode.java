@@ -41,6 +41,9 @@
 package com.oracle.truffle.js.nodes.access;
 
 import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetRegexResult;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetRegexResultGroups;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetRegexResultOriginalInput;
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetRegexResultGroups;
 
 import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerAsserts;
@@ -100,6 +103,7 @@ import com.oracle.truffle.js.runtime.builtins.JSClass;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.builtins.JSModuleNamespace;
+import com.oracle.truffle.js.runtime.builtins.JSObjectFactory;
 import com.oracle.truffle.js.runtime.builtins.JSProxy;
 import com.oracle.truffle.js.runtime.builtins.JSRegExp;
 import com.oracle.truffle.js.runtime.builtins.JSString;
@@ -1428,6 +1432,30 @@ public class PropertyGetNode extends PropertyCacheNode<PropertyGetNode.GetCacheN
         }
     }
 
+    public static final class LazyRegexResultGroupsPropertyGetNode extends LinkedPropertyGetNode {
+
+        private final JSContext context;
+        private final ConditionProfile createGroupsProfile = ConditionProfile.createBinaryProfile();
+
+        public LazyRegexResultGroupsPropertyGetNode(Property property, ReceiverCheckNode receiverCheck, JSContext context) {
+            super(receiverCheck);
+            assert isLazyRegexResultGroupsProperty(property);
+            this.context = context;
+        }
+
+        @Override
+        protected Object getValue(Object thisObj, Object receiver, PropertyGetNode root, boolean guard) {
+            DynamicObject store = receiverCheck.getStore(thisObj);
+            Object groups = arrayGetRegexResultGroups(store, guard);
+            if (createGroupsProfile.profile(groups instanceof JSObjectFactory)) {
+                DynamicObject groupsObject = JSObject.create(context, (JSObjectFactory) groups, arrayGetRegexResult(store, guard), arrayGetRegexResultOriginalInput(store, guard));
+                arraySetRegexResultGroups(store, groupsObject);
+                return groupsObject;
+            }
+            return groups;
+        }
+    }
+
     public static final class LazyNamedCaptureGroupPropertyGetNode extends LinkedPropertyGetNode {
 
         private final int groupIndex;
@@ -1581,6 +1609,8 @@ public class PropertyGetNode extends PropertyCacheNode<PropertyGetNode.GetCacheN
                 return new StringLengthPropertyGetNode(dataProperty, receiverCheck);
             } else if (isLazyRegexResultIndexProperty(property)) {
                 return new LazyRegexResultIndexPropertyGetNode(dataProperty, receiverCheck);
+            } else if (isLazyRegexResultGroupsProperty(property)) {
+                return new LazyRegexResultGroupsPropertyGetNode(dataProperty, receiverCheck, context);
             } else if (isLazyNamedCaptureGroupProperty(property)) {
                 int groupIndex = ((JSRegExp.LazyNamedCaptureGroupProperty) JSProperty.getConstantProxy(property)).getGroupIndex();
                 return new LazyNamedCaptureGroupPropertyGetNode(dataProperty, receiverCheck, context, groupIndex);
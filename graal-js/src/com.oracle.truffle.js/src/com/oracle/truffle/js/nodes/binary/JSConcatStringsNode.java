@@ -40,12 +40,18 @@
  */
 package com.oracle.truffle.js.nodes.binary;
 
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.TruffleLanguage.ContextReference;
 import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.runtime.Boundaries;
 import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSHeapAccounting;
+import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.JSTruffleOptions;
 import com.oracle.truffle.js.runtime.objects.JSLazyString;
@@ -62,6 +68,9 @@ public abstract class JSConcatStringsNode extends JavaScriptBaseNode {
     protected final ConditionProfile rightIsFlat = ConditionProfile.createBinaryProfile();
     protected final ConditionProfile stringLength = ConditionProfile.createBinaryProfile();
     protected final ConditionProfile shortStringAppend = ConditionProfile.createBinaryProfile();
+    @CompilationFinal private boolean heapAccountingChecked;
+    /** Only set if heap accounting is enabled. */
+    @CompilationFinal private ContextReference<JSRealm> realmRef;
 
     protected JSConcatStringsNode() {
         super();
@@ -93,15 +102,46 @@ public abstract class JSConcatStringsNode extends JavaScriptBaseNode {
                 if (shortStringAppend.profile(leftLength == 1 || rightLength == 1)) {
                     JSLazyString result = JSLazyString.concatToLeafMaybe(left, right, resultLength);
                     if (result != null) {
-                        return result;
+                        return accountRope(result);
                     }
                 }
-                return JSLazyString.createChecked(left, right, resultLength);
+                return accountRope(JSLazyString.createChecked(left, right, resultLength));
             }
         }
         String leftString = toString(left, leftIsString, leftIsLazyString, leftIsFlat);
         String rightString = toString(right, rightIsString, rightIsLazyString, rightIsFlat);
-        return Boundaries.stringConcat(leftString, rightString);
+        String result = Boundaries.stringConcat(leftString, rightString);
+        JSHeapAccounting heapAccounting = getHeapAccounting();
+        if (heapAccounting != null) {
+            heapAccounting.allocateString(result, result.length());
+        }
+        return result;
+    }
+
+    /**
+     * A rope shares the characters of its operands, so only the new node is accounted for.
+     */
+    private JSLazyString accountRope(JSLazyString rope) {
+        JSHeapAccounting heapAccounting = getHeapAccounting();
+        if (heapAccounting != null) {
+            heapAccounting.allocateRope(rope);
+        }
+        return rope;
+    }
+
+    private JSHeapAccounting getHeapAccounting() {
+        if (!heapAccountingChecked) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            ContextReference<JSRealm> ref = lookupContextReference(JavaScriptLanguage.class);
+            if (ref.get().getContext().isOptionHeapAccounting()) {
+                realmRef = ref;
+            }
+            heapAccountingChecked = true;
+        }
+        if (realmRef == null) {
+            return null;
+        }
+        return realmRef.get().getHeapAccounting();
     }
 
     private static String toString(CharSequence cs, ConditionProfile stringProfile, ConditionProfile lazyStringProfile, ConditionProfile flatProfile) {
@@ -40,21 +40,28 @@
  */
 package com.oracle.truffle.js.nodes.control;
 
+import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.TruffleLanguage.ContextReference;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.RepeatingNode;
 import com.oracle.truffle.api.profiles.LoopConditionProfile;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.nodes.JavaScriptNode;
 import com.oracle.truffle.js.nodes.cast.JSToBooleanNode;
 import com.oracle.truffle.js.nodes.instrumentation.JSTaggedExecutionNode;
 import com.oracle.truffle.js.runtime.JSCancelledExecutionException;
+import com.oracle.truffle.js.runtime.JSRealm;
 
 abstract class AbstractRepeatingNode extends JavaScriptNode implements RepeatingNode, ResumableNode {
 
     @Child protected JavaScriptNode conditionNode;
     @Child protected JavaScriptNode bodyNode;
     private final LoopConditionProfile conditionProfile = LoopConditionProfile.createCountingProfile();
+    @CompilationFinal private ContextReference<JSRealm> realmRef;
+    @CompilationFinal private Assumption noTerminationRequested;
 
     AbstractRepeatingNode(JavaScriptNode condition, JavaScriptNode body) {
         this.conditionNode = JSToBooleanNode.create(condition);
@@ -74,6 +81,20 @@ abstract class AbstractRepeatingNode extends JavaScriptNode implements Repeating
         if (CompilerDirectives.inInterpreter()) {
             checkThreadInterrupted();
         }
+        checkTerminationRequested();
+    }
+
+    private void checkTerminationRequested() {
+        if (noTerminationRequested == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            realmRef = lookupContextReference(JavaScriptLanguage.class);
+            noTerminationRequested = realmRef.get().getContext().getNoTerminationRequestedAssumption();
+        }
+        // no loads as long as no termination has ever been requested in this context
+        if (!noTerminationRequested.isValid() && realmRef.get().getAgent().isTerminationRequested()) {
+            CompilerDirectives.transferToInterpreter();
+            throw new JSCancelledExecutionException("Execution got terminated.", this);
+        }
     }
 
     private void checkThreadInterrupted() {
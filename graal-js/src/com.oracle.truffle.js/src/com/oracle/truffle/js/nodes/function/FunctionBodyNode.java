@@ -42,19 +42,28 @@ package com.oracle.truffle.js.nodes.function;
 
 import java.util.Set;
 
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.TruffleLanguage.ContextReference;
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.instrumentation.InstrumentableNode;
 import com.oracle.truffle.api.instrumentation.Tag;
 import com.oracle.truffle.api.nodes.NodeCost;
 import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.nodes.JavaScriptNode;
 import com.oracle.truffle.js.nodes.instrumentation.DeclareTagProvider;
 import com.oracle.truffle.js.nodes.instrumentation.JSTags.DeclareTag;
+import com.oracle.truffle.js.runtime.JSCancelledExecutionException;
+import com.oracle.truffle.js.runtime.JSRealm;
 
 @NodeInfo(cost = NodeCost.NONE)
 public class FunctionBodyNode extends AbstractBodyNode {
     @Child private JavaScriptNode body;
+    @CompilationFinal private ContextReference<JSRealm> realmRef;
+    @CompilationFinal private Assumption noTerminationRequested;
 
     public FunctionBodyNode(JavaScriptNode body) {
         this.body = body;
@@ -70,9 +79,23 @@ public class FunctionBodyNode extends AbstractBodyNode {
 
     @Override
     public Object execute(VirtualFrame frame) {
+        checkTerminationRequested();
         return body.execute(frame);
     }
 
+    private void checkTerminationRequested() {
+        if (noTerminationRequested == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            realmRef = lookupContextReference(JavaScriptLanguage.class);
+            noTerminationRequested = realmRef.get().getContext().getNoTerminationRequestedAssumption();
+        }
+        // no loads as long as no termination has ever been requested in this context
+        if (!noTerminationRequested.isValid() && realmRef.get().getAgent().isTerminationRequested()) {
+            CompilerDirectives.transferToInterpreter();
+            throw new JSCancelledExecutionException("Execution got terminated.", this);
+        }
+    }
+
     @Override
     protected JavaScriptNode copyUninitialized() {
         return create(cloneUninitialized(body));
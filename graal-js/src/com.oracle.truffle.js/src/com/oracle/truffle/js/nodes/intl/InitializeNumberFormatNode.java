@@ -151,10 +151,10 @@ public abstract class InitializeNumberFormatNode extends JavaScriptBaseNode {
                     mxfdDefault = 3;
                 }
             }
-            JSNumberFormat.setupInternalNumberFormat(state);
             setNumberFormatDigitOptions(state, options, mnfdDefault, mxfdDefault);
 
             state.setGroupingUsed(getUseGroupingOption.executeValue(options));
+            JSNumberFormat.setupInternalNumberFormat(context, state);
         } catch (MissingResourceException e) {
             throw Errors.createICU4JDataError();
         }
@@ -117,11 +117,11 @@ public abstract class InitializePluralRulesNode extends JavaScriptBaseNode {
             state.setType(optType);
 
             JSNumberFormat.setLocaleAndNumberingSystem(context, state, locales);
-            JSPluralRules.setupInternalPluralRulesAndNumberFormat(state);
 
             int mnfdDefault = 0;
             int mxfdDefault = 3;
             setPluralRulesDigitOptions(state, options, mnfdDefault, mxfdDefault);
+            JSPluralRules.setupInternalPluralRulesAndNumberFormat(context, state);
 
         } catch (MissingResourceException e) {
             throw Errors.createICU4JDataError();
@@ -44,6 +44,7 @@ import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList.JSAgentWaiterListEntry;
@@ -80,6 +81,14 @@ public abstract class JSAgent implements EcmaAgent {
      */
     private int interopCallStackDepth;
 
+    /**
+     * Set when the embedder asks to terminate the execution of this agent. Polled at function
+     * entries and loop back-edges, where a {@link JSCancelledExecutionException} is thrown.
+     */
+    private volatile boolean terminationRequested;
+    /** Guards the polls of {@link #terminationRequested}, see {@link #setTerminationRequested}. */
+    private Assumption noTerminationRequestedAssumption;
+
     public JSAgent(boolean canBlock) {
         this.signifier = signifierGenerator.incrementAndGet();
         this.canBlock = canBlock;
@@ -96,6 +105,26 @@ public abstract class JSAgent implements EcmaAgent {
         return canBlock;
     }
 
+    public final boolean isTerminationRequested() {
+        return terminationRequested;
+    }
+
+    /**
+     * Requests (or cancels a previous request) to terminate the execution of this agent. Running
+     * code notices the request cooperatively. Code compiled before the first request does not poll
+     * the flag at all; the request invalidates it once.
+     */
+    public final void setTerminationRequested(boolean terminationRequested) {
+        this.terminationRequested = terminationRequested;
+        if (terminationRequested && noTerminationRequestedAssumption != null) {
+            noTerminationRequestedAssumption.invalidate("termination requested");
+        }
+    }
+
+    final void setNoTerminationRequestedAssumption(Assumption assumption) {
+        this.noTerminationRequestedAssumption = assumption;
+    }
+
     public boolean inCriticalSection() {
         return inCriticalSection;
     }
@@ -153,6 +153,8 @@ public class JSContext {
     private Object embedderData;
 
     private final Assumption noSuchPropertyUnusedAssumption;
+    /** Invalidated when termination of an agent of this context is requested for the first time. */
+    private final Assumption noTerminationRequestedAssumption;
     private final Assumption noSuchMethodUnusedAssumption;
 
     /**
@@ -406,6 +408,7 @@ public class JSContext {
         this.globalScopeShape = createGlobalScopeShape();
 
         this.noSuchPropertyUnusedAssumption = Truffle.getRuntime().createAssumption("noSuchPropertyUnusedAssumption");
+        this.noTerminationRequestedAssumption = Truffle.getRuntime().createAssumption("noTerminationRequestedAssumption");
         this.noSuchMethodUnusedAssumption = Truffle.getRuntime().createAssumption("noSuchMethodUnusedAssumption");
         this.arrayPrototypeNoElementsAssumption = Truffle.getRuntime().createAssumption("arrayPrototypeNoElementsAssumption");
         this.typedArrayNotDetachedAssumption = Truffle.getRuntime().createAssumption("typedArrayNotDetachedAssumption");
@@ -576,6 +579,10 @@ public class JSContext {
         return fastArgumentsObjectAssumption;
     }
 
+    public final Assumption getNoTerminationRequestedAssumption() {
+        return noTerminationRequestedAssumption;
+    }
+
     public final Assumption getTypedArrayNotDetachedAssumption() {
         return typedArrayNotDetachedAssumption;
     }
@@ -1214,6 +1221,29 @@ public class JSContext {
         return contextOptions.isDisableWith();
     }
 
+    public boolean isOptionWeakMapInvertedStorage() {
+        return contextOptions.isWeakMapInvertedStorage();
+    }
+
+    public boolean isOptionHeapAccounting() {
+        return contextOptions.isHeapAccounting();
+    }
+
+    public long getHeapSoftLimit() {
+        return contextOptions.getHeapSoftLimit();
+    }
+
+    /**
+     * Returns the heap accounting of the current realm, or {@code null} if heap accounting is
+     * disabled.
+     */
+    public final JSHeapAccounting getHeapAccounting() {
+        if (isOptionHeapAccounting()) {
+            return getRealm().getHeapAccounting();
+        }
+        return null;
+    }
+
     public long getTimerResolution() {
         assert !(getEnv() != null && getEnv().isPreInitialization()) : "Patchable option timer-resolution accessed during context pre-initialization.";
         return contextOptions.getTimerResolution();
@@ -325,6 +325,21 @@ public final class JSContextOptions {
     public static final OptionKey<Boolean> VALIDATE_REGEXP_LITERALS = new OptionKey<>(true);
     @CompilationFinal private boolean validateRegExpLiterals;
 
+    public static final String WEAKMAP_INVERTED_STORAGE_NAME = JS_OPTION_PREFIX + "weakmap-inverted-storage";
+    @Option(name = WEAKMAP_INVERTED_STORAGE_NAME, category = OptionCategory.EXPERT, help = "Store WeakMap entries in their key objects. Setting it to false (experimental) stores them in a weak key table owned by the map instead. The table is not an ephemeron table: an entry whose value references its own key is not collected while the map is alive.") //
+    public static final OptionKey<Boolean> WEAKMAP_INVERTED_STORAGE = new OptionKey<>(true);
+    @CompilationFinal private boolean weakMapInvertedStorage;
+
+    public static final String HEAP_ACCOUNTING_NAME = JS_OPTION_PREFIX + "heap-accounting";
+    @Option(name = HEAP_ACCOUNTING_NAME, category = OptionCategory.EXPERT, help = "Keep an estimate of the memory allocated by the JavaScript code of each context.") //
+    public static final OptionKey<Boolean> HEAP_ACCOUNTING = new OptionKey<>(false);
+    @CompilationFinal private boolean heapAccounting;
+
+    public static final String HEAP_SOFT_LIMIT_NAME = JS_OPTION_PREFIX + "heap-soft-limit";
+    @Option(name = HEAP_SOFT_LIMIT_NAME, category = OptionCategory.EXPERT, help = "Throw a RangeError when the estimated live memory of a context exceeds the given number of bytes (0 = no limit). Implies heap accounting.") //
+    public static final OptionKey<Long> HEAP_SOFT_LIMIT = new OptionKey<>(0L);
+    @CompilationFinal private long heapSoftLimit;
+
     public static final String LOCALE_NAME = JS_OPTION_PREFIX + "locale";
     @Option(name = LOCALE_NAME, category = OptionCategory.EXPERT, help = "Use a specific default locale for locale-sensitive operations.") //
     public static final OptionKey<String> LOCALE = new OptionKey<>("");
@@ -395,6 +410,9 @@ public final class JSContextOptions {
         this.test262Mode = readBooleanOption(TEST262_MODE);
         this.testV8Mode = readBooleanOption(TESTV8_MODE);
         this.validateRegExpLiterals = readBooleanOption(VALIDATE_REGEXP_LITERALS);
+        this.weakMapInvertedStorage = readBooleanOption(WEAKMAP_INVERTED_STORAGE);
+        this.heapSoftLimit = readLongOption(HEAP_SOFT_LIMIT);
+        this.heapAccounting = readBooleanOption(HEAP_ACCOUNTING) || heapSoftLimit > 0;
     }
 
     private boolean patchBooleanOption(OptionKey<Boolean> key, String name, boolean oldValue, Consumer<String> invalidate) {
@@ -633,6 +651,18 @@ public final class JSContextOptions {
         return validateRegExpLiterals;
     }
 
+    public boolean isWeakMapInvertedStorage() {
+        return weakMapInvertedStorage;
+    }
+
+    public boolean isHeapAccounting() {
+        return heapAccounting;
+    }
+
+    public long getHeapSoftLimit() {
+        return heapSoftLimit;
+    }
+
     public String getLocale() {
         return LOCALE.getValue(optionValues);
     }
@@ -668,6 +698,9 @@ public final class JSContextOptions {
         hash = 53 * hash + (this.test262Mode ? 1 : 0);
         hash = 53 * hash + (this.testV8Mode ? 1 : 0);
         hash = 53 * hash + (this.validateRegExpLiterals ? 1 : 0);
+        hash = 53 * hash + (this.weakMapInvertedStorage ? 1 : 0);
+        hash = 53 * hash + (this.heapAccounting ? 1 : 0);
+        hash = 53 * hash + Long.hashCode(this.heapSoftLimit);
         return hash;
     }
 
@@ -764,6 +797,15 @@ public final class JSContextOptions {
         if (this.validateRegExpLiterals != other.validateRegExpLiterals) {
             return false;
         }
+        if (this.weakMapInvertedStorage != other.weakMapInvertedStorage) {
+            return false;
+        }
+        if (this.heapAccounting != other.heapAccounting) {
+            return false;
+        }
+        if (this.heapSoftLimit != other.heapSoftLimit) {
+            return false;
+        }
         return Objects.equals(this.parserOptions, other.parserOptions);
     }
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Approximate accounting of the memory allocated by the JavaScript code of a realm.
+ *
+ * Every allocation of an object, an array storage, a string or an ArrayBuffer adds its estimated
+ * size to a per-kind counter of allocated bytes. In addition, one allocation in every
+ * {@link #SAMPLING_INTERVAL} bytes is sampled: it is tracked by a weak reference and stands for
+ * all the bytes allocated since the previous sample. The sum of the samples that are still
+ * reachable estimates the live memory of the realm, which is checked against the soft limit. The
+ * estimate includes garbage that has not been collected yet.
+ */
+public final class JSHeapAccounting {
+
+    /** Estimated size of an object (header, shape and a few property slots). */
+    public static final int OBJECT_SIZE = 32;
+    /** Estimated size of the header of a Java array or string. */
+    public static final int ARRAY_HEADER_SIZE = 16;
+    /** Number of allocated bytes after which the next allocation is sampled. */
+    public static final int SAMPLING_INTERVAL = 64 * 1024;
+
+    private final long softLimit;
+
+    private long objectBytes;
+    private long arrayBytes;
+    private long stringBytes;
+    private long arrayBufferBytes;
+
+    private long bytesUntilSample = SAMPLING_INTERVAL;
+    private long liveBytes;
+    private final Set<Sample> samples = new HashSet<>();
+    private final ReferenceQueue<Object> collectedSamples = new ReferenceQueue<>();
+
+    public JSHeapAccounting(long softLimit) {
+        this.softLimit = softLimit;
+    }
+
+    public void allocateObject(Object object) {
+        objectBytes += OBJECT_SIZE;
+        allocated(object, OBJECT_SIZE);
+    }
+
+    /**
+     * Accounts for the Java array holding the elements of a JavaScript array.
+     */
+    public void allocateArrayStorage(Object array, Object storage) {
+        long size = storageSize(storage);
+        arrayBytes += size;
+        allocated(array, size);
+    }
+
+    public void allocateString(Object string, int length) {
+        long size = ARRAY_HEADER_SIZE + 2L * length;
+        stringBytes += size;
+        allocated(string, size);
+    }
+
+    /**
+     * Accounts for the node of a rope (lazy string), which shares the characters of its operands.
+     */
+    public void allocateRope(Object rope) {
+        stringBytes += OBJECT_SIZE;
+        allocated(rope, OBJECT_SIZE);
+    }
+
+    public void allocateArrayBuffer(Object arrayBuffer, int byteLength) {
+        long size = ARRAY_HEADER_SIZE + (long) byteLength;
+        arrayBufferBytes += size;
+        allocated(arrayBuffer, size);
+    }
+
+    private void allocated(Object object, long size) {
+        bytesUntilSample -= size;
+        if (CompilerDirectives.injectBranchProbability(CompilerDirectives.SLOWPATH_PROBABILITY, bytesUntilSample <= 0)) {
+            sample(object);
+        }
+    }
+
+    @TruffleBoundary
+    private void sample(Object object) {
+        long weight = SAMPLING_INTERVAL - bytesUntilSample;
+        bytesUntilSample = SAMPLING_INTERVAL;
+        samples.add(new Sample(object, weight, collectedSamples));
+        liveBytes += weight;
+        if (softLimit > 0 && liveBytes > softLimit) {
+            expungeCollectedSamples();
+            if (liveBytes > softLimit) {
+                // No collection is forced here: the samples of unreachable objects are released
+                // once the garbage collector has cleared them.
+                throw Errors.createRangeError("Allocation failed - JavaScript heap soft limit of " + softLimit + " bytes reached");
+            }
+        }
+    }
+
+    private void expungeCollectedSamples() {
+        Sample sample;
+        while ((sample = (Sample) collectedSamples.poll()) != null) {
+            if (samples.remove(sample)) {
+                liveBytes -= sample.weight;
+            }
+        }
+    }
+
+    private static long storageSize(Object storage) {
+        if (storage instanceof Object[]) {
+            return ARRAY_HEADER_SIZE + 8L * ((Object[]) storage).length;
+        } else if (storage instanceof int[]) {
+            return ARRAY_HEADER_SIZE + 4L * ((int[]) storage).length;
+        } else if (storage instanceof double[]) {
+            return ARRAY_HEADER_SIZE + 8L * ((double[]) storage).length;
+        } else if (storage instanceof byte[]) {
+            return ARRAY_HEADER_SIZE + (long) ((byte[]) storage).length;
+        }
+        return ARRAY_HEADER_SIZE;
+    }
+
+    public long getObjectBytes() {
+        return objectBytes;
+    }
+
+    public long getArrayBytes() {
+        return arrayBytes;
+    }
+
+    public long getStringBytes() {
+        return stringBytes;
+    }
+
+    public long getArrayBufferBytes() {
+        return arrayBufferBytes;
+    }
+
+    /**
+     * Total number of bytes allocated so far.
+     */
+    public long getAllocatedBytes() {
+        return objectBytes + arrayBytes + stringBytes + arrayBufferBytes;
+    }
+
+    /**
+     * Estimated number of allocated bytes that are still reachable.
+     */
+    @TruffleBoundary
+    public long getLiveBytes() {
+        expungeCollectedSamples();
+        return liveBytes;
+    }
+
+    public long getSoftLimit() {
+        return softLimit;
+    }
+
+    private static final class Sample extends WeakReference<Object> {
+        final long weight;
+
+        Sample(Object referent, long weight, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.weight = weight;
+        }
+    }
+}
@@ -129,6 +129,7 @@ import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.LocalTimeZoneHolder;
 import com.oracle.truffle.js.runtime.util.PrintWriterWrapper;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
+import com.oracle.truffle.regex.util.LRUCache;
 
 /**
  * Container for JavaScript globals (i.e. an ECMAScript 6 Realm object).
@@ -243,6 +244,10 @@ public class JSRealm {
     @CompilationFinal private DynamicObject javaPackageToPrimitiveFunction;
 
     private final DynamicObject arrayProtoValuesIterator;
+    private final Object arrayIteratorNextFunction;
+    private final Object mapIteratorNextFunction;
+    private final Object setIteratorNextFunction;
+    private final Object stringIteratorNextFunction;
     @CompilationFinal private DynamicObject typedArrayConstructor;
     @CompilationFinal private DynamicObject typedArrayPrototype;
 
@@ -278,6 +283,13 @@ public class JSRealm {
      */
     @CompilationFinal private LocalTimeZoneHolder localTimeZoneHolder;
 
+    /**
+     * Initialized ICU formatters and collators of the Intl objects, keyed by locale and resolved
+     * options. Initialized lazily.
+     */
+    private Map<Object, Object> intlObjectCache;
+    private static final int INTL_OBJECT_CACHE_SIZE = 64;
+
     public static final long NANOSECONDS_PER_MILLISECOND = 1000000;
     private final SplittableRandom random = new SplittableRandom();
     private final long nanoToZeroTimeOffset = -System.nanoTime();
@@ -297,6 +309,12 @@ public class JSRealm {
      */
     @CompilationFinal private JSAgent agent;
 
+    /**
+     * Estimate of the memory allocated in this realm ({@code null} unless enabled by
+     * {@link JSContextOptions#HEAP_ACCOUNTING}).
+     */
+    private final JSHeapAccounting heapAccounting;
+
     /**
      * List of realms (for V8 Realm built-in). The list is available in top-level realm only (not in
      * child realms).
@@ -317,6 +335,7 @@ public class JSRealm {
     public JSRealm(JSContext context, TruffleLanguage.Env env) {
         this.context = context;
         this.truffleLanguageEnv = env; // can be null
+        this.heapAccounting = context.isOptionHeapAccounting() ? new JSHeapAccounting(context.getHeapSoftLimit()) : null;
 
         // need to build Function and Function.proto in a weird order to avoid circular dependencies
         this.objectPrototype = JSObjectPrototype.create(context);
@@ -410,6 +429,10 @@ public class JSRealm {
         this.generatorObjectPrototype = es6 ? (DynamicObject) generatorFunctionConstructor.getPrototype().get(JSObject.PROTOTYPE, null) : null;
         this.enumerateIteratorPrototype = JSFunction.createEnumerateIteratorPrototype(this);
         this.arrayProtoValuesIterator = (DynamicObject) getArrayConstructor().getPrototype().get(Symbol.SYMBOL_ITERATOR, Undefined.instance);
+        this.arrayIteratorNextFunction = es6 ? arrayIteratorPrototype.get(JSRuntime.NEXT, Undefined.instance) : null;
+        this.mapIteratorNextFunction = es6 ? mapIteratorPrototype.get(JSRuntime.NEXT, Undefined.instance) : null;
+        this.setIteratorNextFunction = es6 ? setIteratorPrototype.get(JSRuntime.NEXT, Undefined.instance) : null;
+        this.stringIteratorNextFunction = es6 ? stringIteratorPrototype.get(JSRuntime.NEXT, Undefined.instance) : null;
 
         if (context.isOptionSharedArrayBuffer()) {
             this.sharedArrayBufferConstructor = JSSharedArrayBuffer.createConstructor(this);
@@ -1177,6 +1200,26 @@ public class JSRealm {
         return arrayProtoValuesIterator;
     }
 
+    /**
+     * The intrinsic %ArrayIteratorPrototype%.next function, used to detect built-in iterators that
+     * can be stepped without going through the iterator protocol.
+     */
+    public Object getArrayIteratorNextFunction() {
+        return arrayIteratorNextFunction;
+    }
+
+    public Object getMapIteratorNextFunction() {
+        return mapIteratorNextFunction;
+    }
+
+    public Object getSetIteratorNextFunction() {
+        return setIteratorNextFunction;
+    }
+
+    public Object getStringIteratorNextFunction() {
+        return stringIteratorNextFunction;
+    }
+
     private DynamicObject createReflect() {
         DynamicObject obj = JSObject.createInit(this, this.getObjectPrototype(), JSUserObject.INSTANCE);
         JSObjectUtil.putDataProperty(context, obj, Symbol.SYMBOL_TO_STRING_TAG, REFLECT_CLASS_NAME, JSAttributes.configurableNotEnumerableNotWritable());
@@ -1596,13 +1639,18 @@ public class JSRealm {
         return agent;
     }
 
+    public final JSHeapAccounting getHeapAccounting() {
+        return heapAccounting;
+    }
+
     public void setAgent(JSAgent newAgent) {
         assert newAgent != null : "Cannot set a null agent!";
         CompilerAsserts.neverPartOfCompilation("Assigning agent to context in compiled code");
+        newAgent.setNoTerminationRequestedAssumption(context.getNoTerminationRequestedAssumption());
         this.agent = newAgent;
     }
 
-    private LocalTimeZoneHolder getLocalTimeZoneHolder() {
+    public final LocalTimeZoneHolder getLocalTimeZoneHolder() {
         LocalTimeZoneHolder holder = localTimeZoneHolder;
         if (CompilerDirectives.injectBranchProbability(CompilerDirectives.SLOWPATH_PROBABILITY, holder == null)) {
             if (CompilerDirectives.isPartialEvaluationConstant(holder)) {
@@ -1631,6 +1679,18 @@ public class JSRealm {
         return getLocalTimeZoneHolder().localTZA;
     }
 
+    /**
+     * Returns the LRU cache of ICU objects shared by all Intl objects (and locale-sensitive
+     * built-ins) of this realm. The cached objects must not be modified.
+     */
+    public Map<Object, Object> getIntlObjectCache() {
+        CompilerAsserts.neverPartOfCompilation();
+        if (intlObjectCache == null) {
+            intlObjectCache = new LRUCache<>(INTL_OBJECT_CACHE_SIZE);
+        }
+        return intlObjectCache;
+    }
+
     public JSRealm getParent() {
         return parentRealm;
     }
@@ -533,22 +533,24 @@ public final class JSRuntime {
     }
 
     /**
-     * Like {@link Double#parseDouble(String)}, but does not allow trailing {@code d} or {@code f}.
+     * Parses a decimal number literal (without {@code Infinity}). Unlike
+     * {@link Double#parseDouble(String)}, does not allow trailing {@code d} or {@code f},
+     * hexadecimal floating-point literals or {@code NaN}.
      *
      * @return double value or {@link Double#NaN} if not parsable.
      */
     @TruffleBoundary
     public static double parseDoubleOrNaN(String input) {
-        // A valid JS number must end with either a digit or '.'.
-        // Double.parseDouble also accepts a trailing 'd', 'D', 'f', 'F'.
-        if (input.isEmpty() || input.charAt(input.length() - 1) > '9') {
-            return Double.NaN;
-        }
-        try {
-            return Double.parseDouble(input);
-        } catch (NumberFormatException e) {
-            return Double.NaN;
-        }
+        return DoubleConversion.parseDecimal(input, 0, input.length());
+    }
+
+    /**
+     * Like {@link #parseDoubleOrNaN(String)}, for the characters between {@code start} and
+     * {@code end}, without creating a substring.
+     */
+    @TruffleBoundary
+    public static double parseDoubleOrNaN(CharSequence input, int start, int end) {
+        return DoubleConversion.parseDecimal(input, start, end);
     }
 
     /**
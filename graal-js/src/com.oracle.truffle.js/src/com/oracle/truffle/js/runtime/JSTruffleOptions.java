@@ -99,6 +99,9 @@ public final class JSTruffleOptions {
     public static final boolean RestrictForceSplittingBuiltins = booleanOption("RestrictForceSplittingBuiltins", true);
     public static final int MinLazyStringLength = integerOption("MinLazyStringLength", 20);
     public static final int ConcatToLeafLimit = integerOption("ConcatToLeafLimit", MinLazyStringLength / 2);
+    public static final boolean LazySubstrings = booleanOption("LazySubstrings", LazyStrings);
+    public static final int MinLazySubstringLength = integerOption("MinLazySubstringLength", MinLazyStringLength);
+    public static final int MaxLazySubstringParentRatio = integerOption("MaxLazySubstringParentRatio", 8);
     public static final int MaxCompiledRegexCacheLength = integerOption("MaxCompiledRegexCacheLength", 4);
     public static final boolean TrimCompiledRegexCache = booleanOption("TrimCompiledRegexCache", true);
     public static final int StackTraceLimit = integerOption("StackTraceLimit", 10);
@@ -168,6 +171,8 @@ public final class JSTruffleOptions {
     // Profiling
     public static final boolean ProfileTime = booleanOption(ProfileTimeKey, false);
     public static final boolean PrintCumulativeTime = booleanOption("PrintCumulativeTime", false);
+    /** Counts executions and time per compiled regex and the engine (TRegex or Joni) running it. */
+    public static final boolean RegexStatistics = booleanOption("RegexStatistics", false);
 
     // Debug options
     /** Expose {@code Debug} built-in object with a custom property name. */
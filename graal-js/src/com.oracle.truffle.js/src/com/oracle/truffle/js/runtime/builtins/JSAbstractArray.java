@@ -99,6 +99,7 @@ public abstract class JSAbstractArray extends JSBuiltinObject {
     private static final HiddenKey HOLE_COUNT_ID = new HiddenKey("holeCount");
     public static final HiddenKey LAZY_REGEX_RESULT_ID = new HiddenKey("lazyRegexResult");
     public static final HiddenKey LAZY_REGEX_ORIGINAL_INPUT_ID = new HiddenKey("lazyRegexResultOriginalInput");
+    public static final HiddenKey LAZY_REGEX_GROUPS_ID = new HiddenKey("lazyRegexResultGroups");
     public static final Property ARRAY_PROPERTY;
     public static final Property ARRAY_TYPE_PROPERTY;
     private static final Property ALLOCATION_SITE_PROPERTY;
@@ -109,6 +110,11 @@ public abstract class JSAbstractArray extends JSBuiltinObject {
     private static final Property HOLE_COUNT_PROPERTY;
     public static final Property LAZY_REGEX_RESULT_PROPERTY;
     public static final Property LAZY_REGEX_ORIGINAL_INPUT_PROPERTY;
+    /**
+     * Holds the factory of the {@code groups} object of a regex result until the object is first
+     * accessed, and the object afterwards ({@code undefined} if there are no named groups).
+     */
+    public static final Property LAZY_REGEX_GROUPS_PROPERTY;
 
     static {
         Shape.Allocator allocator = JSShape.makeAllocator(JSObject.LAYOUT);
@@ -124,6 +130,7 @@ public abstract class JSAbstractArray extends JSBuiltinObject {
                         allocator.locationForType(TruffleObject.class, EnumSet.of(LocationModifier.Final, LocationModifier.NonNull)));
         LAZY_REGEX_ORIGINAL_INPUT_PROPERTY = JSObjectUtil.makeHiddenProperty(LAZY_REGEX_ORIGINAL_INPUT_ID,
                         allocator.locationForType(String.class, EnumSet.of(LocationModifier.Final, LocationModifier.NonNull)));
+        LAZY_REGEX_GROUPS_PROPERTY = JSObjectUtil.makeHiddenProperty(LAZY_REGEX_GROUPS_ID, allocator.locationForType(Object.class, EnumSet.of(LocationModifier.NonNull)));
     }
 
     public static ScriptArray arrayGetArrayType(DynamicObject thisObj) {
@@ -243,6 +250,14 @@ public abstract class JSAbstractArray extends JSBuiltinObject {
         return (String) LAZY_REGEX_ORIGINAL_INPUT_PROPERTY.get(thisObj, arrayCondition);
     }
 
+    public static Object arrayGetRegexResultGroups(DynamicObject thisObj, boolean arrayCondition) {
+        return LAZY_REGEX_GROUPS_PROPERTY.get(thisObj, arrayCondition);
+    }
+
+    public static void arraySetRegexResultGroups(DynamicObject thisObj, DynamicObject groups) {
+        LAZY_REGEX_GROUPS_PROPERTY.setSafe(thisObj, groups, null);
+    }
+
     public static void putArrayProperties(DynamicObject arrayPrototype, ScriptArray arrayType) {
         putHiddenProperty(arrayPrototype, ARRAY_PROPERTY, ScriptArray.EMPTY_OBJECT_ARRAY);
         putHiddenProperty(arrayPrototype, ARRAY_TYPE_PROPERTY, arrayType);
@@ -56,6 +56,7 @@ import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.js.runtime.Boundaries;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSHeapAccounting;
 import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.JSTruffleOptions;
@@ -79,6 +80,7 @@ import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.PropertyProxy;
+import com.oracle.truffle.js.runtime.objects.Undefined;
 
 public final class JSArray extends JSAbstractArray implements JSConstructorFactory.Default.WithFunctionsAndSpecies, PrototypeSupplier {
 
@@ -162,6 +164,10 @@ public final class JSArray extends JSAbstractArray implements JSConstructorFacto
         assert JSRuntime.isRepresentableAsUnsignedInt(length);
         DynamicObject obj = JSObject.create(context, context.getArrayFactory(), array, arrayType, site, (int) length, usedLength, indexOffset, arrayOffset, holeCount);
         assert isJSArray(obj);
+        JSHeapAccounting heapAccounting = context.getHeapAccounting();
+        if (heapAccounting != null) {
+            heapAccounting.allocateArrayStorage(obj, array);
+        }
         return obj;
     }
 
@@ -349,7 +355,11 @@ public final class JSArray extends JSAbstractArray implements JSConstructorFacto
         return create(context, SparseArray.createSparseArray(), SparseArray.createArrayMap(), length);
     }
 
-    public static DynamicObject createLazyRegexArray(JSContext context, int length, Object regexResult, String input, DynamicObject groups) {
+    /**
+     * Creates the result array of a successful regex match. Group strings and the {@code groups}
+     * object (created by {@code groupsFactory}, if not {@code null}) are materialized on access.
+     */
+    public static DynamicObject createLazyRegexArray(JSContext context, int length, Object regexResult, String input, JSObjectFactory groupsFactory) {
         assert JSRuntime.isRepresentableAsUnsignedInt(length);
         ScriptArray arrayType = LazyRegexResultArray.createLazyRegexResultArray();
         Object array = new Object[length];
@@ -359,7 +369,8 @@ public final class JSArray extends JSAbstractArray implements JSConstructorFacto
         int arrayOffset = 0;
         int holeCount = 0;
         JSObjectFactory factory = context.getLazyRegexArrayFactory();
-        DynamicObject obj = JSObject.create(context, factory, array, arrayType, site, length, usedLength, indexOffset, arrayOffset, holeCount, regexResult, input, input, groups);
+        DynamicObject obj = JSObject.create(context, factory, array, arrayType, site, length, usedLength, indexOffset, arrayOffset, holeCount, regexResult, input,
+                        groupsFactory == null ? Undefined.instance : groupsFactory, input);
         assert isJSArray(obj);
         return obj;
     }
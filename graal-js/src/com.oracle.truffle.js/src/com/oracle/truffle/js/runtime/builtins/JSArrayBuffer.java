@@ -57,6 +57,7 @@ import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSArguments;
 import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSHeapAccounting;
 import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JavaScriptRootNode;
 import com.oracle.truffle.js.runtime.Symbol;
@@ -85,6 +86,10 @@ public final class JSArrayBuffer extends JSAbstractBuffer implements JSConstruct
     public static DynamicObject createArrayBuffer(JSContext context, byte[] byteArray) {
         DynamicObject obj = JSObject.create(context, context.getArrayBufferFactory(), byteArray);
         assert isJSHeapArrayBuffer(obj);
+        JSHeapAccounting heapAccounting = context.getHeapAccounting();
+        if (heapAccounting != null) {
+            heapAccounting.allocateArrayBuffer(obj, byteArray.length);
+        }
         return obj;
     }
 
@@ -114,6 +119,10 @@ public final class JSArrayBuffer extends JSAbstractBuffer implements JSConstruct
     public static DynamicObject createDirectArrayBuffer(JSContext context, ByteBuffer buffer) {
         DynamicObject obj = JSObject.create(context, context.getDirectArrayBufferFactory(), buffer);
         assert isJSDirectArrayBuffer(obj);
+        JSHeapAccounting heapAccounting = context.getHeapAccounting();
+        if (heapAccounting != null) {
+            heapAccounting.allocateArrayBuffer(obj, buffer.capacity());
+        }
         return obj;
     }
 
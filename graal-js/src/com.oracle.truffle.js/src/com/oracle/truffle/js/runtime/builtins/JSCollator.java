@@ -41,8 +41,11 @@
 package com.oracle.truffle.js.runtime.builtins;
 
 import java.text.Normalizer;
+import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 import com.ibm.icu.text.Collator;
@@ -159,25 +162,40 @@ public final class JSCollator extends JSBuiltinObject implements JSConstructorFa
         }
         state.ignorePunctuation = ignorePunctuation;
         state.locale = strippedLocale.toLanguageTag();
-        state.collator = Collator.getInstance(Locale.forLanguageTag(state.locale));
-        state.collator.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
-        switch (state.sensitivity) {
-            case IntlUtil.BASE:
-                state.collator.setStrength(Collator.PRIMARY);
-                break;
-            case IntlUtil.ACCENT:
-                state.collator.setStrength(Collator.SECONDARY);
-                break;
-            case IntlUtil.CASE:
-            case IntlUtil.VARIANT:
-                state.collator.setStrength(Collator.TERTIARY);
-                break;
-        }
-        if (state.ignorePunctuation) {
-            if (state.collator instanceof RuleBasedCollator) {
-                ((RuleBasedCollator) state.collator).setAlternateHandlingShifted(true);
+        state.collator = getCachedCollator(ctx, state.locale, state.sensitivity, state.ignorePunctuation);
+    }
+
+    /**
+     * Returns the collator for the given locale and options. Collators are shared (via the Intl
+     * object cache of the realm) by all states with the same values.
+     */
+    private static Collator getCachedCollator(JSContext ctx, String locale, String sensitivity, boolean ignorePunctuation) {
+        List<Object> key = Arrays.asList(CLASS_NAME, locale, sensitivity, ignorePunctuation);
+        Map<Object, Object> cache = ctx.getRealm().getIntlObjectCache();
+        Collator collator = (Collator) cache.get(key);
+        if (collator == null) {
+            collator = Collator.getInstance(Locale.forLanguageTag(locale));
+            collator.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
+            switch (sensitivity) {
+                case IntlUtil.BASE:
+                    collator.setStrength(Collator.PRIMARY);
+                    break;
+                case IntlUtil.ACCENT:
+                    collator.setStrength(Collator.SECONDARY);
+                    break;
+                case IntlUtil.CASE:
+                case IntlUtil.VARIANT:
+                    collator.setStrength(Collator.TERTIARY);
+                    break;
+            }
+            if (ignorePunctuation) {
+                if (collator instanceof RuleBasedCollator) {
+                    ((RuleBasedCollator) collator).setAlternateHandlingShifted(true);
+                }
             }
+            cache.put(key, collator);
         }
+        return collator;
     }
 
     @Override
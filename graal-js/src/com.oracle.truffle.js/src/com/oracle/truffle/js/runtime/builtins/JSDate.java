@@ -67,6 +67,7 @@ import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.JSShape;
+import com.oracle.truffle.js.runtime.util.LocalTimeZoneHolder;
 
 public final class JSDate extends JSBuiltinObject implements JSConstructorFactory.Default.WithFunctions, PrototypeSupplier {
 
@@ -278,6 +279,10 @@ public final class JSDate extends JSBuiltinObject implements JSConstructorFactor
         return monthFromTimeIntl(leapYear, day);
     }
 
+    public static int monthFromDayInYear(int year, int day) {
+        return monthFromTimeIntl(isLeapYear(year), day);
+    }
+
     private static int monthFromTimeIntl(boolean leapYear, int day) {
         assert (0 <= day) && (day < (365 + (leapYear ? 1 : 0))) : "should not reach here";
 
@@ -447,15 +452,14 @@ public final class JSDate extends JSBuiltinObject implements JSConstructorFactor
 
     // 15.9.1.9
     public static double localTime(double t, JSContext context) {
-        JSRealm realm = context.getRealm();
-        long localTZA = realm.getLocalTZA();
-        return t + localTZA + daylightSavingTA(realm.getLocalTimeZoneId(), t);
+        LocalTimeZoneHolder timeZone = context.getRealm().getLocalTimeZoneHolder();
+        return t + timeZone.localTZA + timeZone.getDaylightSavings((long) t);
     }
 
     private static double utc(double t, JSContext context) {
-        JSRealm realm = context.getRealm();
-        long localTZA = realm.getLocalTZA();
-        return t - localTZA - daylightSavingTA(realm.getLocalTimeZoneId(), t - localTZA);
+        LocalTimeZoneHolder timeZone = context.getRealm().getLocalTimeZoneHolder();
+        long localTZA = timeZone.localTZA;
+        return t - localTZA - timeZone.getDaylightSavings((long) (t - localTZA));
     }
 
     // 15.9.1.10
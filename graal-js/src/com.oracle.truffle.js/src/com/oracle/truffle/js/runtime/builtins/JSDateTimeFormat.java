@@ -41,6 +41,7 @@
 package com.oracle.truffle.js.runtime.builtins;
 
 import java.text.AttributedCharacterIterator;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.EnumSet;
@@ -179,9 +180,8 @@ public final class JSDateTimeFormat extends JSBuiltinObject implements JSConstru
         Locale strippedLocale = selectedLocale.stripExtensions();
         String skeleton = makeSkeleton(weekdayOpt, eraOpt, yearOpt, monthOpt, dayOpt, hourOpt, hcOpt, hour12Opt, minuteOpt, secondOpt, tzNameOpt);
 
-        DateTimePatternGenerator patternGenerator = DateTimePatternGenerator.getInstance(strippedLocale);
-        String bestPattern = patternGenerator.getBestPattern(skeleton);
-        String baseSkeleton = patternGenerator.getBaseSkeleton(bestPattern);
+        CachedDateFormat cachedDateFormat = getCachedDateFormat(ctx, strippedLocale, skeleton, timeZone);
+        String baseSkeleton = cachedDateFormat.baseSkeleton;
 
         if (containsOneOf(baseSkeleton, "eEc")) {
             state.weekday = weekdayOpt;
@@ -219,31 +219,63 @@ public final class JSDateTimeFormat extends JSBuiltinObject implements JSConstru
 
         state.initialized = true;
 
-        SimpleDateFormat dateFormat = new SimpleDateFormat(bestPattern, strippedLocale);
-        state.dateFormat = dateFormat;
+        state.dateFormat = cachedDateFormat.dateFormat;
         state.locale = strippedLocale.toLanguageTag();
-
-        state.calendar = Calendar.getInstance(strippedLocale).getCalendarType();
-        if ("gregory".equals(state.calendar)) {
-            // Ensure that Gregorian calendar is used for all dates.
-            // GregorianCalendar used by SimpleDateFormat is using
-            // Julian calendar for dates before 1582 otherwise.
-            com.ibm.icu.util.Calendar calendar = dateFormat.getCalendar();
-            if (!(calendar instanceof GregorianCalendar)) {
-                calendar = new GregorianCalendar(strippedLocale);
-                dateFormat.setCalendar(calendar);
-            }
-            ((GregorianCalendar) calendar).setGregorianChange(new Date(Long.MIN_VALUE));
-        }
+        state.calendar = cachedDateFormat.calendar;
 
         if (tzNameOpt != null && !tzNameOpt.isEmpty()) {
             state.timeZoneName = tzNameOpt;
         }
 
-        state.dateFormat.setTimeZone(timeZone);
         state.timeZone = timeZone.getID();
     }
 
+    /**
+     * Returns the date format for the given locale, skeleton and time zone. Date formats are shared
+     * (via the Intl object cache of the realm) by all states with the same values.
+     */
+    private static CachedDateFormat getCachedDateFormat(JSContext ctx, Locale locale, String skeleton, TimeZone timeZone) {
+        List<Object> key = Arrays.asList(CLASS_NAME, locale, skeleton, timeZone.getID());
+        Map<Object, Object> cache = ctx.getRealm().getIntlObjectCache();
+        CachedDateFormat cached = (CachedDateFormat) cache.get(key);
+        if (cached == null) {
+            DateTimePatternGenerator patternGenerator = DateTimePatternGenerator.getInstance(locale);
+            String bestPattern = patternGenerator.getBestPattern(skeleton);
+            String baseSkeleton = patternGenerator.getBaseSkeleton(bestPattern);
+
+            SimpleDateFormat dateFormat = new SimpleDateFormat(bestPattern, locale);
+            String calendarType = Calendar.getInstance(locale).getCalendarType();
+            if ("gregory".equals(calendarType)) {
+                // Ensure that Gregorian calendar is used for all dates.
+                // GregorianCalendar used by SimpleDateFormat is using
+                // Julian calendar for dates before 1582 otherwise.
+                com.ibm.icu.util.Calendar calendar = dateFormat.getCalendar();
+                if (!(calendar instanceof GregorianCalendar)) {
+                    calendar = new GregorianCalendar(locale);
+                    dateFormat.setCalendar(calendar);
+                }
+                ((GregorianCalendar) calendar).setGregorianChange(new Date(Long.MIN_VALUE));
+            }
+            dateFormat.setTimeZone(timeZone);
+
+            cached = new CachedDateFormat(dateFormat, baseSkeleton, calendarType);
+            cache.put(key, cached);
+        }
+        return cached;
+    }
+
+    private static final class CachedDateFormat {
+        final SimpleDateFormat dateFormat;
+        final String baseSkeleton;
+        final String calendar;
+
+        CachedDateFormat(SimpleDateFormat dateFormat, String baseSkeleton, String calendar) {
+            this.dateFormat = dateFormat;
+            this.baseSkeleton = baseSkeleton;
+            this.calendar = calendar;
+        }
+    }
+
     private static String weekdayOptToSkeleton(String weekdayOpt) {
         if (weekdayOpt == null) {
             return "";
@@ -93,7 +93,15 @@ public final class JSMap extends JSBuiltinObject implements JSConstructorFactory
     }
 
     public static DynamicObject create(JSContext context) {
-        DynamicObject obj = JSObject.create(context, context.getMapFactory(), new JSHashMap());
+        return create(context, new JSHashMap());
+    }
+
+    /**
+     * Creates a Map backed by the given storage, which may be shared with other contexts if it is
+     * {@linkplain JSHashMap#isConcurrent() concurrent}.
+     */
+    public static DynamicObject create(JSContext context, JSHashMap storage) {
+        DynamicObject obj = JSObject.create(context, context.getMapFactory(), storage);
         assert isJSMap(obj);
         return obj;
     }
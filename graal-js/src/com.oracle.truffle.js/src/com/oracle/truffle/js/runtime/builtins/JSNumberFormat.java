@@ -507,15 +507,34 @@ public final class JSNumberFormat extends JSBuiltinObject implements JSConstruct
         state.javaLocale = IntlUtil.withoutUnicodeExtension(selectedLocale, "cu");
     }
 
+    /**
+     * Sets the ICU number format of a fully initialized state. Number formats are shared (via the
+     * Intl object cache of the realm) by all states with the same locale and options.
+     */
     @TruffleBoundary
-    public static void setupInternalNumberFormat(InternalState state) {
-        if (state.style.equals(IntlUtil.CURRENCY)) {
-            state.numberFormat = NumberFormat.getCurrencyInstance(state.javaLocale);
-        } else if (state.style.equals(IntlUtil.PERCENT)) {
-            state.numberFormat = NumberFormat.getPercentInstance(state.javaLocale);
-        } else {
-            state.numberFormat = NumberFormat.getInstance(state.javaLocale);
+    public static void setupInternalNumberFormat(JSContext ctx, InternalState state) {
+        state.numberFormat = getCachedNumberFormat(ctx, state, state.style, state.useGrouping);
+    }
+
+    @TruffleBoundary
+    public static NumberFormat getCachedNumberFormat(JSContext ctx, BasicInternalState state, String style, boolean useGrouping) {
+        List<Object> key = Arrays.asList(CLASS_NAME, state.javaLocale, style, useGrouping, state.minimumIntegerDigits, state.minimumFractionDigits, state.maximumFractionDigits,
+                        state.minimumSignificantDigits, state.maximumSignificantDigits);
+        Map<Object, Object> cache = ctx.getRealm().getIntlObjectCache();
+        NumberFormat numberFormat = (NumberFormat) cache.get(key);
+        if (numberFormat == null) {
+            if (style.equals(IntlUtil.CURRENCY)) {
+                numberFormat = NumberFormat.getCurrencyInstance(state.javaLocale);
+            } else if (style.equals(IntlUtil.PERCENT)) {
+                numberFormat = NumberFormat.getPercentInstance(state.javaLocale);
+            } else {
+                numberFormat = NumberFormat.getInstance(state.javaLocale);
+            }
+            state.applyDigitOptions(numberFormat);
+            numberFormat.setGroupingUsed(useGrouping);
+            cache.put(key, numberFormat);
         }
+        return numberFormat;
     }
 
     public static NumberFormat getNumberFormatProperty(DynamicObject obj) {
@@ -665,22 +684,23 @@ public final class JSNumberFormat extends JSBuiltinObject implements JSConstruct
             }
         }
 
-        @TruffleBoundary
         public void setIntegerAndFractionsDigits(int minimumIntegerDigits, int minimumFractionDigits, int maximumFractionDigits) {
             this.minimumIntegerDigits = minimumIntegerDigits;
             this.minimumFractionDigits = minimumFractionDigits;
             this.maximumFractionDigits = maximumFractionDigits;
-            numberFormat.setMinimumIntegerDigits(minimumIntegerDigits);
-            numberFormat.setMinimumFractionDigits(minimumFractionDigits);
-            numberFormat.setMaximumFractionDigits(maximumFractionDigits);
         }
 
-        @TruffleBoundary
         public void setSignificantDigits(int minimumSignificantDigits, int maximumSignificantDigits) {
             this.minimumSignificantDigits = minimumSignificantDigits;
             this.maximumSignificantDigits = maximumSignificantDigits;
-            if (numberFormat instanceof DecimalFormat) {
-                DecimalFormat df = (DecimalFormat) numberFormat;
+        }
+
+        void applyDigitOptions(NumberFormat format) {
+            format.setMinimumIntegerDigits(minimumIntegerDigits);
+            format.setMinimumFractionDigits(minimumFractionDigits);
+            format.setMaximumFractionDigits(maximumFractionDigits);
+            if (minimumSignificantDigits != null && format instanceof DecimalFormat) {
+                DecimalFormat df = (DecimalFormat) format;
                 df.setMinimumSignificantDigits(minimumSignificantDigits);
                 df.setMaximumSignificantDigits(maximumSignificantDigits);
             }
@@ -791,10 +811,8 @@ public final class JSNumberFormat extends JSBuiltinObject implements JSConstruct
             JSObjectUtil.defineDataProperty(result, IntlUtil.USE_GROUPING, useGrouping, JSAttributes.getDefault());
         }
 
-        @TruffleBoundary
         public void setGroupingUsed(boolean useGrouping) {
             this.useGrouping = useGrouping;
-            this.numberFormat.setGroupingUsed(useGrouping);
         }
 
         public String getStyle() {
@@ -129,10 +129,10 @@ public final class JSPluralRules extends JSBuiltinObject implements JSConstructo
     }
 
     @TruffleBoundary
-    public static void setupInternalPluralRulesAndNumberFormat(InternalState state) {
+    public static void setupInternalPluralRulesAndNumberFormat(JSContext ctx, InternalState state) {
         state.pluralRules = PluralRules.forLocale(state.javaLocale, state.type.equals(IntlUtil.ORDINAL) ? PluralType.ORDINAL : PluralType.CARDINAL);
         state.pluralCategories.addAll(state.pluralRules.getKeywords());
-        state.numberFormat = NumberFormat.getInstance(state.javaLocale);
+        state.numberFormat = JSNumberFormat.getCachedNumberFormat(ctx, state, IntlUtil.DECIMAL, true);
     }
 
     public static PluralRules getPluralRulesProperty(DynamicObject obj) {
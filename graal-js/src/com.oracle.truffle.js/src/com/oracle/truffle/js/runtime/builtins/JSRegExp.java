@@ -94,6 +94,7 @@ public final class JSRegExp extends JSBuiltinObject implements JSConstructorFact
     private static final Property GROUPS_FACTORY_PROPERTY;
 
     private static final Property LAZY_INDEX_PROXY = JSObjectUtil.makeProxyProperty(INDEX, new LazyRegexResultIndexProxyProperty(), JSAttributes.getDefault());
+    private static final Property LAZY_GROUPS_PROXY = JSObjectUtil.makeProxyProperty(GROUPS, new LazyRegexResultGroupsProxyProperty(), JSAttributes.getDefault());
 
     // A pointer from the `groups` object of a regex result back to the regex result.
     // Needed to calculate the contents of the `groups` object lazily.
@@ -122,6 +123,47 @@ public final class JSRegExp extends JSBuiltinObject implements JSConstructorFact
         }
     }
 
+    /**
+     * The {@code groups} object of a regex result is only allocated when it is accessed for the
+     * first time. Access to this property is special-cased in
+     * {@code com.oracle.truffle.js.nodes.access.PropertyGetNode.LazyRegexResultGroupsPropertyGetNode}
+     * .
+     */
+    public static class LazyRegexResultGroupsProxyProperty implements PropertyProxy {
+
+        @Override
+        public Object get(DynamicObject object) {
+            return getLazyRegexResultGroups(object, JSArray.isJSArray(object));
+        }
+
+        @TruffleBoundary
+        @Override
+        public boolean set(DynamicObject object, Object value) {
+            JSObjectUtil.defineDataProperty(object, JSRegExp.GROUPS, value, JSAttributes.getDefault());
+            return true;
+        }
+    }
+
+    /**
+     * Returns the {@code groups} object of a lazy regex result array, creating it from the groups
+     * factory stored in the array on first access.
+     */
+    public static Object getLazyRegexResultGroups(DynamicObject resultArray, boolean condition) {
+        Object groups = JSAbstractArray.arrayGetRegexResultGroups(resultArray, condition);
+        if (groups instanceof JSObjectFactory) {
+            groups = createLazyRegexResultGroups(resultArray, (JSObjectFactory) groups, condition);
+        }
+        return groups;
+    }
+
+    @TruffleBoundary
+    private static DynamicObject createLazyRegexResultGroups(DynamicObject resultArray, JSObjectFactory groupsFactory, boolean condition) {
+        DynamicObject groups = JSObject.create(JSObject.getJSContext(resultArray), groupsFactory, arrayGetRegexResult(resultArray, condition),
+                        JSAbstractArray.arrayGetRegexResultOriginalInput(resultArray, condition));
+        JSAbstractArray.arraySetRegexResultGroups(resultArray, groups);
+        return groups;
+    }
+
     public static class LazyNamedCaptureGroupProperty implements PropertyProxy {
 
         private final String groupName;
@@ -323,13 +365,13 @@ public final class JSRegExp extends JSBuiltinObject implements JSConstructorFact
         initialShape = JSArray.addArrayProperties(initialShape);
         initialShape = initialShape.addProperty(JSAbstractArray.LAZY_REGEX_RESULT_PROPERTY);
         initialShape = initialShape.addProperty(JSAbstractArray.LAZY_REGEX_ORIGINAL_INPUT_PROPERTY);
+        initialShape = initialShape.addProperty(JSAbstractArray.LAZY_REGEX_GROUPS_PROPERTY);
         final Property inputProperty = JSObjectUtil.makeDataProperty(JSRegExp.INPUT, initialShape.allocator().locationForType(String.class, EnumSet.of(LocationModifier.NonNull)),
                         JSAttributes.getDefault());
         initialShape = initialShape.addProperty(inputProperty);
         initialShape = initialShape.addProperty(JSArray.ARRAY_LENGTH_PROXY_PROPERTY);
         initialShape = initialShape.addProperty(LAZY_INDEX_PROXY);
-        initialShape = initialShape.addProperty(JSObjectUtil.makeDataProperty(GROUPS, initialShape.allocator().locationForType(DynamicObject.class,
-                        EnumSet.of(LocationModifier.Final, LocationModifier.NonNull)), JSAttributes.getDefault()));
+        initialShape = initialShape.addProperty(LAZY_GROUPS_PROXY);
         return initialShape;
     }
 
@@ -94,7 +94,15 @@ public final class JSSet extends JSBuiltinObject implements JSConstructorFactory
     }
 
     public static DynamicObject create(JSContext context) {
-        DynamicObject obj = JSObject.create(context, context.getSetFactory(), new JSHashMap());
+        return create(context, new JSHashMap());
+    }
+
+    /**
+     * Creates a Set backed by the given storage, which may be shared with other contexts if it is
+     * {@linkplain JSHashMap#isConcurrent() concurrent}.
+     */
+    public static DynamicObject create(JSContext context, JSHashMap storage) {
+        DynamicObject obj = JSObject.create(context, context.getSetFactory(), storage);
         assert isJSSet(obj);
         return obj;
     }
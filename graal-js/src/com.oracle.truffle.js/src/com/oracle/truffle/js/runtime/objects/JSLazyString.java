@@ -159,7 +159,30 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
         return new JSLazyString(new JSLazyIntWrapper(left), right);
     }
 
+    /**
+     * Returns the characters of {@code parent} from {@code begin} to {@code end}. Long enough
+     * substrings are returned as views that share the characters of {@code parent} and are only
+     * copied when flattened. Substrings that are short compared to {@code parent} are copied
+     * eagerly, so that they do not keep a much larger string alive.
+     */
+    @TruffleBoundary
+    public static CharSequence substring(String parent, int begin, int end) {
+        assert 0 <= begin && begin <= end && end <= parent.length();
+        int resultLength = end - begin;
+        if (JSTruffleOptions.LazySubstrings && resultLength >= JSTruffleOptions.MinLazySubstringLength && resultLength < parent.length() &&
+                        (long) resultLength * JSTruffleOptions.MaxLazySubstringParentRatio >= parent.length()) {
+            return new JSLazyString(new JSLazySubstring(parent, begin, resultLength));
+        }
+        return parent.substring(begin, end);
+    }
+
+    /**
+     * Either the flat string, the left part of a concatenation, or a {@link JSLazySubstring}.
+     */
     private CharSequence left;
+    /**
+     * The right part of a concatenation; {@code null} if this string is flat or a substring view.
+     */
     private CharSequence right;
     private final int length;
 
@@ -170,6 +193,12 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
         this.length = length;
     }
 
+    private JSLazyString(JSLazySubstring substring) {
+        this.left = substring;
+        this.right = null;
+        this.length = substring.length();
+    }
+
     private JSLazyString(CharSequence left, CharSequence right) {
         this(left, right, left.length() + right.length());
     }
@@ -195,11 +224,16 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
     }
 
     public boolean isFlat() {
-        return right == null;
+        return right == null && left instanceof String;
     }
 
     @TruffleBoundary
     private void flatten() {
+        if (right == null) {
+            // substring view: copy the characters and release the parent string
+            left = left.toString();
+            return;
+        }
         char[] dst = new char[length];
         flatten(this, 0, length, dst, 0);
         left = new String(dst);
@@ -218,6 +252,11 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
                 JSLazyString lazyString = (JSLazyString) str;
                 CharSequence left = lazyString.left;
                 CharSequence right = lazyString.right;
+                if (right == null) {
+                    // flat string or substring view
+                    str = left;
+                    continue;
+                }
                 int mid = left.length();
 
                 if (to - mid >= mid - from) {
@@ -250,6 +289,9 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
             } else if (str instanceof String) {
                 ((String) str).getChars(from, to, dst, dstFrom);
                 return;
+            } else if (str instanceof JSLazySubstring) {
+                ((JSLazySubstring) str).getChars(from, to, dst, dstFrom);
+                return;
             } else {
                 assert JSRuntime.isString(str) || str instanceof JSLazyIntWrapper;
                 str.toString().getChars(from, to, dst, dstFrom);
@@ -258,8 +300,24 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
         }
     }
 
+    /**
+     * Copies the characters from {@code srcBegin} to {@code srcEnd} into {@code dst}, like
+     * {@link String#getChars}, without flattening this string.
+     */
+    @TruffleBoundary
+    public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+        if (isFlat()) {
+            ((String) left).getChars(srcBegin, srcEnd, dst, dstBegin);
+        } else {
+            flatten(this, srcBegin, srcEnd, dst, dstBegin);
+        }
+    }
+
     @Override
     public char charAt(int index) {
+        if (left instanceof JSLazySubstring) {
+            return ((JSLazySubstring) left).charAt(index);
+        }
         return toString().charAt(index);
     }
 
@@ -314,6 +372,51 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
 
     }
 
+    /**
+     * A range of characters of a parent string, used as the content of a substring view.
+     */
+    private static final class JSLazySubstring implements CharSequence {
+
+        private final String parent;
+        private final int offset;
+        private final int length;
+
+        JSLazySubstring(String parent, int offset, int length) {
+            assert 0 <= offset && offset + length <= parent.length();
+            this.parent = parent;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new StringIndexOutOfBoundsException(index);
+            }
+            return parent.charAt(offset + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+
+        void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+            assert 0 <= srcBegin && srcBegin <= srcEnd && srcEnd <= length;
+            parent.getChars(offset + srcBegin, offset + srcEnd, dst, dstBegin);
+        }
+
+        @Override
+        public String toString() {
+            return parent.substring(offset, offset + length);
+        }
+    }
+
     public static boolean isInstance(TruffleObject object) {
         return object instanceof JSLazyString;
     }
@@ -56,6 +56,7 @@ import com.oracle.truffle.api.object.Property;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSHeapAccounting;
 import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.JSTruffleOptions;
@@ -124,6 +125,7 @@ public final class JSObject {
         if (reporter != null) {
             reporter.onReturnValue(object, 0, AllocationReporter.SIZE_UNKNOWN);
         }
+        accountHeapAllocation(context, object);
         return object;
     }
 
@@ -136,6 +138,7 @@ public final class JSObject {
         if (reporter != null) {
             reporter.onReturnValue(object, 0, AllocationReporter.SIZE_UNKNOWN);
         }
+        accountHeapAllocation(context, object);
         return object;
     }
 
@@ -144,6 +147,13 @@ public final class JSObject {
         return shape.newInstance();
     }
 
+    private static void accountHeapAllocation(JSContext context, DynamicObject object) {
+        JSHeapAccounting heapAccounting = context.getHeapAccounting();
+        if (heapAccounting != null) {
+            heapAccounting.allocateObject(object);
+        }
+    }
+
     public static DynamicObject create(JSContext context, JSObjectFactory factory, Object... initialValues) {
         return createWithRealm(context, factory, context.getRealm(), initialValues);
     }
@@ -157,6 +167,7 @@ public final class JSObject {
         if (reporter != null) {
             reporter.onReturnValue(object, 0, AllocationReporter.SIZE_UNKNOWN);
         }
+        accountHeapAllocation(context, object);
         return object;
     }
 
@@ -169,6 +180,7 @@ public final class JSObject {
         if (reporter != null) {
             reporter.onReturnValue(object, 0, AllocationReporter.SIZE_UNKNOWN);
         }
+        accountHeapAllocation(context, object);
         return object;
     }
 
@@ -181,6 +193,7 @@ public final class JSObject {
         if (reporter != null) {
             reporter.onReturnValue(object, 0, AllocationReporter.SIZE_UNKNOWN);
         }
+        accountHeapAllocation(context, object);
         return object;
     }
 
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.Symbol;
+import com.oracle.truffle.js.runtime.objects.JSLazyString;
+
+/**
+ * ES6-compliant hash map implementation that may be accessed by multiple threads concurrently
+ * without locking.
+ *
+ * Keys are mapped to entries by a {@link ConcurrentHashMap}. Insertion order is kept in a
+ * singly-linked list; new entries are appended by a compare-and-set of the last node's next
+ * pointer. Removed entries are only marked as deleted and are unlinked lazily by cursors passing
+ * over them. The next pointer of a deleted node is never cleared, so a cursor positioned on a
+ * removed entry always finds its way back into the list, which preserves the ES iteration
+ * semantics of entries added and removed during iteration.
+ *
+ * Since the map is shared between contexts, only values that do not belong to a particular context
+ * may be stored, i.e. primitive values other than Symbols. JavaScript objects, Symbols and foreign
+ * objects are rejected with a TypeError.
+ *
+ * @see JSHashMap#createConcurrent()
+ */
+final class ConcurrentJSHashMap {
+    private final ConcurrentHashMap<Object, Node> map = new ConcurrentHashMap<>();
+    private final Node head = new Node(null, null);
+    private final AtomicReference<Node> tail = new AtomicReference<>(head);
+
+    ConcurrentJSHashMap() {
+    }
+
+    int size() {
+        return map.size();
+    }
+
+    @TruffleBoundary
+    void put(Object key, Object value) {
+        Object shareableKey = checkShareable(key);
+        Object shareableValue = checkShareable(value);
+        Node newNode = new Node(shareableKey, shareableValue);
+        Node oldNode = map.putIfAbsent(shareableKey, newNode);
+        if (oldNode == null) {
+            append(newNode);
+        } else {
+            oldNode.value = shareableValue;
+        }
+    }
+
+    private void append(Node node) {
+        for (;;) {
+            Node last = tail.get();
+            Node next = last.next;
+            if (next == null) {
+                if (last.casNext(null, node)) {
+                    tail.compareAndSet(last, node);
+                    return;
+                }
+            } else {
+                // help a concurrent append to complete
+                tail.compareAndSet(last, next);
+            }
+        }
+    }
+
+    @TruffleBoundary
+    Object get(Object key) {
+        Node node = map.get(key);
+        return node == null ? null : node.value;
+    }
+
+    @TruffleBoundary
+    boolean has(Object key) {
+        return map.containsKey(key);
+    }
+
+    @TruffleBoundary
+    boolean remove(Object key) {
+        Node node = map.remove(key);
+        if (node == null) {
+            return false;
+        } else {
+            node.deleted = true;
+            return true;
+        }
+    }
+
+    @TruffleBoundary
+    void clear() {
+        for (Node current = head.next; current != null; current = current.next) {
+            if (!current.deleted && map.remove(current.key, current)) {
+                current.deleted = true;
+            }
+        }
+    }
+
+    @TruffleBoundary
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+
+    JSHashMap.Cursor getEntries() {
+        return new CursorImpl(head);
+    }
+
+    private static Object checkShareable(Object value) {
+        if (value instanceof JSLazyString) {
+            // flattening a rope is not thread-safe
+            return ((JSLazyString) value).toString();
+        } else if (value instanceof Symbol || (value instanceof TruffleObject && !JSRuntime.isJSPrimitive(value))) {
+            // objects and Symbols belong to a context; plain Java values like the entry marker of
+            // a Set do not
+            throw Errors.createTypeError("Only primitive values other than Symbols can be stored in storage shared between contexts");
+        }
+        return value;
+    }
+
+    private static final class CursorImpl implements JSHashMap.Cursor {
+        private Node current;
+
+        CursorImpl(Node current) {
+            this.current = current;
+        }
+
+        @Override
+        public boolean advance() {
+            Node node = current;
+            if (node == null) {
+                return false;
+            }
+            for (;;) {
+                Node next = node.next;
+                if (next == null) {
+                    current = null;
+                    return false;
+                } else if (!next.deleted) {
+                    current = next;
+                    return true;
+                }
+                Node afterNext = next.next;
+                if (afterNext != null && !node.deleted) {
+                    // unlink the deleted node; never unlink the last node, appends depend on it
+                    node.casNext(next, afterNext);
+                } else {
+                    node = next;
+                }
+            }
+        }
+
+        @Override
+        public Object getKey() {
+            Object key = current.key;
+            assert key != null;
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            Object value = current.value;
+            assert value != null;
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return "Cursor [current=" + current + "]";
+        }
+
+        @Override
+        public JSHashMap.Cursor copy() {
+            return new CursorImpl(current);
+        }
+    }
+
+    private static final class Node {
+        private static final AtomicReferenceFieldUpdater<Node, Node> NEXT_UPDATER = AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+        final Object key;
+        volatile Object value;
+        volatile Node next;
+        volatile boolean deleted;
+
+        Node(Object key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        boolean casNext(Node expect, Node update) {
+            return NEXT_UPDATER.compareAndSet(this, expect, update);
+        }
+
+        @Override
+        public String toString() {
+            return "Node [key=" + key + ", value=" + value + ", deleted=" + deleted + "]";
+        }
+    }
+}
@@ -40,10 +40,12 @@
  */
 package com.oracle.truffle.js.runtime.util;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.js.runtime.Boundaries;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSTruffleOptions;
+import com.oracle.truffle.js.runtime.doubleconv.DoubleConversion;
 
 /**
  * A special implementation (wrapper) of a StringBuilder. Provides some additional support required
@@ -53,6 +55,7 @@ import com.oracle.truffle.js.runtime.JSTruffleOptions;
 public final class DelimitedStringBuilder {
 
     private final StringBuilder builder;
+    private char[] numberBuffer;
 
     public DelimitedStringBuilder() {
         this.builder = new StringBuilder();
@@ -99,6 +102,27 @@ public final class DelimitedStringBuilder {
         Boundaries.builderAppend(builder, longValue);
     }
 
+    /**
+     * Appends the Number::toString representation of a double without creating an intermediate
+     * string.
+     */
+    public void append(double doubleValue, BranchProfile profile) {
+        if (builder.length() > JSTruffleOptions.StringLengthLimit) {
+            profile.enter();
+            throw Errors.createRangeErrorInvalidStringLength();
+        }
+        appendDouble(doubleValue);
+    }
+
+    @TruffleBoundary
+    private void appendDouble(double doubleValue) {
+        if (numberBuffer == null) {
+            numberBuffer = new char[DoubleConversion.SHORTEST_MAX_LENGTH];
+        }
+        int length = DoubleConversion.toShortestChars(doubleValue, numberBuffer, 0);
+        builder.append(numberBuffer, 0, length);
+    }
+
     public void append(String charSequence, int start, int end, BranchProfile profile) {
         assert start <= end;
         if (builder.length() + (end - start) > JSTruffleOptions.StringLengthLimit) {
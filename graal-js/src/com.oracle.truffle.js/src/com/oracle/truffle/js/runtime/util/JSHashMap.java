@@ -42,10 +42,15 @@ package com.oracle.truffle.js.runtime.util;
 
 import java.util.HashMap;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
 /**
  * ES6-compliant hash map implementation.
+ *
+ * A map {@linkplain #createConcurrent() created for concurrent use} delegates all operations to a
+ * {@link ConcurrentJSHashMap}. This is a rarely taken branch rather than a subclass, so that calls
+ * on the regular map stay monomorphic.
  */
 public final class JSHashMap {
     public interface Cursor {
@@ -75,11 +80,34 @@ public final class JSHashMap {
     private final HashMap<Object, Node> map = new HashMap<>();
     private final Node head = new Node(null, null, null, null);
     private Node tail = head;
+    /** Storage shared with other threads, or {@code null} for a single-threaded map. */
+    private final ConcurrentJSHashMap shared;
 
     public JSHashMap() {
+        this.shared = null;
+    }
+
+    private JSHashMap(ConcurrentJSHashMap shared) {
+        this.shared = shared;
+    }
+
+    /**
+     * Creates a map that may be accessed by multiple threads concurrently, e.g. when shared by
+     * contexts running on different threads. Only primitive keys and values other than Symbols can
+     * be stored in it, since all other values belong to a particular context.
+     */
+    public static JSHashMap createConcurrent() {
+        return new JSHashMap(new ConcurrentJSHashMap());
+    }
+
+    public boolean isConcurrent() {
+        return CompilerDirectives.injectBranchProbability(CompilerDirectives.SLOWPATH_PROBABILITY, shared != null);
     }
 
     public int size() {
+        if (isConcurrent()) {
+            return shared.size();
+        }
         return map.size();
     }
 
@@ -88,6 +116,10 @@ public final class JSHashMap {
      */
     @TruffleBoundary
     public void put(Object key, Object value) {
+        if (isConcurrent()) {
+            shared.put(key, value);
+            return;
+        }
         Node newNode = new Node(key, value, null, null);
         Node oldNode = map.putIfAbsent(key, newNode);
         if (oldNode == null) {
@@ -101,17 +133,26 @@ public final class JSHashMap {
 
     @TruffleBoundary
     public Object get(Object key) {
+        if (isConcurrent()) {
+            return shared.get(key);
+        }
         Node node = map.get(key);
         return node == null ? null : node.getValue();
     }
 
     @TruffleBoundary
     public boolean has(Object key) {
+        if (isConcurrent()) {
+            return shared.has(key);
+        }
         return map.containsKey(key);
     }
 
     @TruffleBoundary
     public boolean remove(Object key) {
+        if (isConcurrent()) {
+            return shared.remove(key);
+        }
         Node node = map.remove(key);
         if (node == null) {
             return false;
@@ -135,6 +176,10 @@ public final class JSHashMap {
 
     @TruffleBoundary
     public void clear() {
+        if (isConcurrent()) {
+            shared.clear();
+            return;
+        }
         map.clear();
         for (Node current = head.getNext(); current != null; current = current.getNext()) {
             current.setEmpty();
@@ -146,10 +191,16 @@ public final class JSHashMap {
     @TruffleBoundary
     @Override
     public String toString() {
+        if (isConcurrent()) {
+            return shared.toString();
+        }
         return map.toString();
     }
 
     public Cursor getEntries() {
+        if (isConcurrent()) {
+            return shared.getEntries();
+        }
         return new CursorImpl(head);
     }
 
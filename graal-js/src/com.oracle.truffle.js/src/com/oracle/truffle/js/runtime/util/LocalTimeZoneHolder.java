@@ -40,16 +40,134 @@
  */
 package com.oracle.truffle.js.runtime.util;
 
+import java.time.Instant;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.js.runtime.builtins.JSDate;
 
+/**
+ * The local time zone of a realm together with caches for the local time computations of
+ * {@link JSDate}: the interval around the last queried time in which the daylight saving time
+ * adjustment does not change, and the year/month/date decomposition of the last queried day.
+ */
 public final class LocalTimeZoneHolder {
     public final ZoneId localTimeZoneId;
     public final long localTZA;
 
+    private final ZoneRules rules;
+
+    private DaylightSavingsInterval lastInterval;
+    private DayDecomposition lastDay;
+
     public LocalTimeZoneHolder(ZoneId zoneId) {
         this.localTimeZoneId = zoneId;
         this.localTZA = JSDate.getLocalTZA(zoneId);
+        this.rules = zoneId.getRules();
+    }
+
+    /**
+     * ES5 15.9.1.8 Daylight Saving Time Adjustment (in milliseconds) at time {@code t}.
+     */
+    public long getDaylightSavings(long t) {
+        DaylightSavingsInterval interval = lastInterval;
+        if (interval == null || t < interval.start || interval.end <= t) {
+            interval = findDaylightSavingsInterval(t);
+            lastInterval = interval;
+        }
+        return interval.offset;
+    }
+
+    /**
+     * Determines the adjustment at time {@code t} and the surrounding interval in which it stays
+     * the same, i.e., the interval between the neighbouring offset transitions of the zone.
+     */
+    @TruffleBoundary
+    private DaylightSavingsInterval findDaylightSavingsInterval(long t) {
+        Instant instant = Instant.ofEpochMilli(t);
+        long offset = rules.getDaylightSavings(instant).getSeconds() * 1000L;
+        assert 0 <= offset && offset <= JSDate.MS_MAX_DST;
+        if (rules.isFixedOffset()) {
+            return new DaylightSavingsInterval(Long.MIN_VALUE, Long.MAX_VALUE, offset);
+        }
+        long start = Long.MIN_VALUE;
+        long end = Long.MAX_VALUE;
+        // the last transition at or before t
+        ZoneOffsetTransition previous = rules.previousTransition(instant.plusMillis(1));
+        if (previous != null) {
+            start = previous.toEpochSecond() * 1000L;
+        }
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+        if (next != null) {
+            end = next.toEpochSecond() * 1000L;
+        }
+        assert start <= t && t < end;
+        // The standard offset (and with it the adjustment) may change without a change of the
+        // actual offset. Such intervals are rare and are not cached.
+        ZoneOffset standardOffset = rules.getStandardOffset(instant);
+        if (!standardOffset.equals(rules.getStandardOffset(Instant.ofEpochMilli(start))) || !standardOffset.equals(rules.getStandardOffset(Instant.ofEpochMilli(end - 1)))) {
+            start = t;
+            end = t + 1;
+        }
+        return new DaylightSavingsInterval(start, end, offset);
+    }
+
+    public int yearFromDays(int daysAfter1970) {
+        return decompose(daysAfter1970).year;
+    }
+
+    public int monthFromDays(int daysAfter1970) {
+        return decompose(daysAfter1970).month;
+    }
+
+    public int dateFromDays(int daysAfter1970) {
+        return decompose(daysAfter1970).date;
+    }
+
+    private DayDecomposition decompose(int daysAfter1970) {
+        DayDecomposition day = lastDay;
+        if (day == null || day.daysAfter1970 != daysAfter1970) {
+            day = DayDecomposition.create(daysAfter1970);
+            lastDay = day;
+        }
+        return day;
+    }
+
+    private static final class DaylightSavingsInterval {
+        /** Inclusive start of the interval. */
+        final long start;
+        /** Exclusive end of the interval. */
+        final long end;
+        final long offset;
+
+        DaylightSavingsInterval(long start, long end, long offset) {
+            this.start = start;
+            this.end = end;
+            this.offset = offset;
+        }
+    }
+
+    private static final class DayDecomposition {
+        final int daysAfter1970;
+        final int year;
+        final int month;
+        final int date;
+
+        DayDecomposition(int daysAfter1970, int year, int month, int date) {
+            this.daysAfter1970 = daysAfter1970;
+            this.year = year;
+            this.month = month;
+            this.date = date;
+        }
+
+        @TruffleBoundary
+        static DayDecomposition create(int daysAfter1970) {
+            int year = JSDate.yearFromDays(daysAfter1970);
+            int dayInYear = daysAfter1970 - JSDate.dayFromYear(year);
+            return new DayDecomposition(daysAfter1970, year, JSDate.monthFromDayInYear(year, dayInYear), JSDate.dateFromDayInYear(year, dayInYear));
+        }
     }
 }
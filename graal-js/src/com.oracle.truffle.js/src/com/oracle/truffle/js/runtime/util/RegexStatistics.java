@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and license the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
+import com.oracle.truffle.js.runtime.joni.JoniCompiledRegex;
+
+/**
+ * Per-pattern execution counts and times of compiled regular expressions, together with the
+ * engine that runs them. Patterns that TRegex does not support are compiled by the Joni fallback
+ * engine, whose backtracking interpreter is considerably slower; these statistics show which
+ * patterns are affected and how much time they take. Enabled by
+ * {@link JSTruffleOptions#RegexStatistics} and printed at exit.
+ */
+public final class RegexStatistics {
+
+    private static final String CLASS_NAME = "[" + RegexStatistics.class.getSimpleName() + "] ";
+
+    private RegexStatistics() {
+    }
+
+    private static final class Entries {
+        /** Entries by engine and pattern; the same pattern compiled in several contexts shares one. */
+        static final Map<String, Entry> MAP = new ConcurrentHashMap<>();
+        /** Entries of compiled regexes, which are weakly held since they belong to a context. */
+        static final Map<Object, Entry> COMPILED = Collections.synchronizedMap(new WeakHashMap<>());
+        static {
+            assert JSTruffleOptions.RegexStatistics;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                dump(System.out);
+            }));
+        }
+    }
+
+    private static final class Entry {
+        final String engine;
+        final String pattern;
+        final AtomicLong executions = new AtomicLong();
+        final AtomicLong time = new AtomicLong();
+
+        Entry(String engine, String pattern) {
+            this.engine = engine;
+            this.pattern = pattern;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-6s %10d %10s  %s", engine, executions.get(), TimeUtil.format(time.get()), pattern);
+        }
+    }
+
+    /**
+     * Records one execution of {@code compiledRegex} that took {@code elapsed} nanoseconds.
+     */
+    @TruffleBoundary
+    public static void record(Object compiledRegex, long elapsed) {
+        Entry entry = Entries.COMPILED.get(compiledRegex);
+        if (entry == null) {
+            entry = lookupEntry(compiledRegex);
+            Entries.COMPILED.put(compiledRegex, entry);
+        }
+        entry.executions.incrementAndGet();
+        entry.time.addAndGet(elapsed);
+    }
+
+    private static Entry lookupEntry(Object compiledRegex) {
+        String engine = getEngineName(compiledRegex);
+        Object flags = TRegexUtil.InteropReadMemberNode.getUncached().execute(compiledRegex, TRegexUtil.Props.CompiledRegex.FLAGS);
+        String source = TRegexUtil.InteropReadStringMemberNode.getUncached().execute(flags, TRegexUtil.Props.Flags.SOURCE);
+        String pattern = "/" + TRegexUtil.InteropReadStringMemberNode.getUncached().execute(compiledRegex, TRegexUtil.Props.CompiledRegex.PATTERN) + "/" + source;
+        return Entries.MAP.computeIfAbsent(engine + pattern, key -> new Entry(engine, pattern));
+    }
+
+    /**
+     * Returns the name of the engine that runs {@code compiledRegex}, "Joni" or "TRegex".
+     */
+    public static String getEngineName(Object compiledRegex) {
+        return compiledRegex instanceof JoniCompiledRegex ? "Joni" : "TRegex";
+    }
+
+    public static void dumpStatistics() {
+        if (JSTruffleOptions.RegexStatistics) {
+            dump(System.out);
+        }
+    }
+
+    @TruffleBoundary
+    private static void dump(PrintStream out) {
+        List<Entry> sorted = new ArrayList<>(Entries.MAP.values());
+        sorted.sort(Comparator.comparingLong((Entry e) -> e.time.get()).reversed());
+        out.println(CLASS_NAME + String.format(Locale.ROOT, "%-6s %10s %10s  %s", "engine", "executions", "time", "pattern"));
+        for (Entry entry : sorted) {
+            out.println(CLASS_NAME + entry);
+        }
+    }
+}
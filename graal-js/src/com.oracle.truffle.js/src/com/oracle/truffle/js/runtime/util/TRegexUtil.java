@@ -52,7 +52,9 @@ import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
 import com.oracle.truffle.js.runtime.joni.result.JoniNoMatchResult;
+import com.oracle.truffle.js.runtime.objects.JSLazyString;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.TRegexUtil.Props.CompiledRegex;
 import com.oracle.truffle.js.runtime.util.TRegexUtil.Props.RegexEngine;
@@ -453,6 +455,12 @@ public final class TRegexUtil {
         }
 
         public Object exec(Object compiledRegexObject, String input, long fromIndex) {
+            if (JSTruffleOptions.RegexStatistics) {
+                long startTime = System.nanoTime();
+                Object result = getInvokeExecMethodNode().execute(compiledRegexObject, input, fromIndex);
+                RegexStatistics.record(compiledRegexObject, System.nanoTime() - startTime);
+                return result;
+            }
             return getInvokeExecMethodNode().execute(compiledRegexObject, input, fromIndex);
         }
 
@@ -770,7 +778,7 @@ public final class TRegexUtil {
                 assert i > 0;
                 return Undefined.instance;
             } else {
-                return input.substring(beginIndex, accessor.captureGroupEnd(regexResult, i));
+                return JSLazyString.substring(input, beginIndex, accessor.captureGroupEnd(regexResult, i));
             }
         }
 
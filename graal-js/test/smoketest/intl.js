@@ -29,3 +29,27 @@ assertTrue(result.length > 0)
 var numberDe = new Intl.NumberFormat('de-DE').format(123456.789);
 assertSame("123.456,789", numberDe);
 
+
+// formatters with the same locale but different options must not be mixed up
+var plain = new Intl.NumberFormat('en-US');
+var digits = new Intl.NumberFormat('en-US', { minimumFractionDigits: 2 });
+var noGrouping = new Intl.NumberFormat('en-US', { useGrouping: false });
+for (var i = 0; i < 3; i++) {
+    assertSame("1,234.5", plain.format(1234.5));
+    assertSame("1,234.50", digits.format(1234.5));
+    assertSame("1234.5", noGrouping.format(1234.5));
+    assertSame("1,234.5", (1234.5).toLocaleString('en-US'));
+    assertSame("1,234.50", (1234.5).toLocaleString('en-US', { minimumFractionDigits: 2 }));
+}
+
+var date = new Date(Date.UTC(2019, 2, 4, 5, 6, 7));
+for (var i = 0; i < 3; i++) {
+    assertSame("3/4/2019", date.toLocaleDateString('en-US', { timeZone: 'UTC' }));
+    assertSame("3/3/2019", date.toLocaleDateString('en-US', { timeZone: 'America/Los_Angeles' }));
+    assertSame("2019", date.toLocaleDateString('en-US', { timeZone: 'UTC', year: 'numeric' }));
+}
+
+for (var i = 0; i < 3; i++) {
+    assertSame(0, 'a'.localeCompare('A', 'en', { sensitivity: 'base' }));
+    assertTrue('a'.localeCompare('A', 'en', { sensitivity: 'variant' }) !== 0);
+}
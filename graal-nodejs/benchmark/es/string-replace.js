@@ -0,0 +1,84 @@
+'use strict';
+
+// Replacement in a large text with constant replacement templates, using
+// string and regular expression patterns. The 'templates' method cycles
+// through more templates than a call site caches in its specializations.
+
+const common = require('../common.js');
+const assert = require('assert');
+
+const bench = common.createBenchmark(main, {
+  method: ['string', 'regexp', 'regexpGroups', 'regexpNamedGroups', 'templates'],
+  size: [1e5],
+  n: [1e2]
+});
+
+function createText(size) {
+  const words = ['lorem', 'ipsum', 'dolor', 'sit', 'amet', 'consectetur'];
+  const parts = [];
+  let length = 0;
+  for (var i = 0; length < size; i++) {
+    const part = `${words[i % words.length]}-${i % 97}`;
+    parts.push(part);
+    length += part.length + 1;
+  }
+  return parts.join(' ');
+}
+
+function runString(text, n) {
+  let length = 0;
+  bench.start();
+  for (var i = 0; i < n; i++) {
+    // String patterns replace the first occurrence only.
+    length += text.replace('dolor', '[$&]').replace('amet', '$`$\'').length;
+  }
+  bench.end(n);
+  assert.ok(length > 0);
+}
+
+function runRegExp(text, n, re, template) {
+  let length = 0;
+  bench.start();
+  for (var i = 0; i < n; i++) {
+    length += text.replace(re, template).length;
+  }
+  bench.end(n);
+  assert.ok(length > 0);
+}
+
+function runTemplates(text, n) {
+  const templates = ['<$1>', '$2:$1', '[$&]', '$1$1', '($2)', '$$$1'];
+  const re = /(\w+)-(\d+)/g;
+  let length = 0;
+  bench.start();
+  for (var i = 0; i < n; i++) {
+    length += text.replace(re, templates[i % templates.length]).length;
+  }
+  bench.end(n);
+  assert.ok(length > 0);
+}
+
+function main({ n, size, method }) {
+  const text = createText(size);
+  switch (method) {
+    case '':
+      // Empty string falls through to next line as default, mostly for tests.
+    case 'string':
+      runString(text, n);
+      break;
+    case 'regexp':
+      runRegExp(text, n, /ipsum/g, '[$&]');
+      break;
+    case 'regexpGroups':
+      runRegExp(text, n, /(\w+)-(\d+)/g, '$2:$1');
+      break;
+    case 'regexpNamedGroups':
+      runRegExp(text, n, /(?<word>\w+)-(?<number>\d+)/g, '$<number>:$<word>');
+      break;
+    case 'templates':
+      runTemplates(text, n);
+      break;
+    default:
+      throw new Error(`Unexpected method "${method}"`);
+  }
+}
@@ -0,0 +1,95 @@
+'use strict';
+
+// Memoization keyed by tree nodes: the nodes are used as WeakMap keys and
+// their properties are read in a hot loop. Compare the results with
+// --js.weakmap-inverted-storage=true (entries stored in the keys) and
+// --js.weakmap-inverted-storage=false (entries stored in the map).
+
+const common = require('../common.js');
+const assert = require('assert');
+
+const bench = common.createBenchmark(main, {
+  method: ['plain', 'memoized', 'memoizedManyMaps'],
+  size: [1e3],
+  n: [1e3]
+});
+
+class TreeNode {
+  constructor(id, parent) {
+    this.id = id;
+    this.parent = parent;
+    this.width = id % 7;
+    this.height = id % 13;
+  }
+}
+
+function createNodes(size) {
+  const nodes = [];
+  let parent = null;
+  for (var i = 0; i < size; i++) {
+    const node = new TreeNode(i, parent);
+    nodes.push(node);
+    if (i % 10 === 0) {
+      parent = node;
+    }
+  }
+  return nodes;
+}
+
+function area(node) {
+  return node.width * node.height + (node.parent === null ? 0 : node.parent.id);
+}
+
+function runPlain(nodes, n) {
+  let sum = 0;
+  bench.start();
+  for (var i = 0; i < n; i++) {
+    for (var j = 0; j < nodes.length; j++) {
+      sum += area(nodes[j]);
+    }
+  }
+  bench.end(n);
+  assert.ok(sum > 0);
+}
+
+function runMemoized(nodes, n, mapCount) {
+  const caches = [];
+  for (var m = 0; m < mapCount; m++) {
+    caches.push(new WeakMap());
+  }
+  let sum = 0;
+  bench.start();
+  for (var i = 0; i < n; i++) {
+    const cache = caches[i % mapCount];
+    for (var j = 0; j < nodes.length; j++) {
+      const node = nodes[j];
+      let value = cache.get(node);
+      if (value === undefined) {
+        value = area(node);
+        cache.set(node, value);
+      }
+      sum += value + area(node);
+    }
+  }
+  bench.end(n);
+  assert.ok(sum > 0);
+}
+
+function main({ n, size, method }) {
+  const nodes = createNodes(size);
+  switch (method) {
+    case '':
+      // Empty string falls through to next line as default, mostly for tests.
+    case 'plain':
+      runPlain(nodes, n);
+      break;
+    case 'memoized':
+      runMemoized(nodes, n, 1);
+      break;
+    case 'memoizedManyMaps':
+      runMemoized(nodes, n, 16);
+      break;
+    default:
+      throw new Error(`Unexpected method "${method}"`);
+  }
+}
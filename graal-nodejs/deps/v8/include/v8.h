@@ -3375,6 +3375,32 @@ class V8_EXPORT Object : public Value {
   V8_WARN_UNUSED_RESULT MaybeLocal<Value> Get(Local<Context> context,
                                               uint32_t index);
 
+  // graal-node.js extensions
+  /**
+   * Gets the values of |count| properties in one call. The values are stored
+   * in |values| which must have room for |count| elements. Returns Nothing
+   * when an exception was thrown.
+   */
+  V8_WARN_UNUSED_RESULT Maybe<bool> GetMultiple(Local<Context> context,
+                                                uint32_t count,
+                                                const Local<Value>* keys,
+                                                Local<Value>* values);
+
+  /**
+   * Gets the elements with indices |start| to |start + count - 1| in one call.
+   */
+  V8_WARN_UNUSED_RESULT Maybe<bool> GetRange(Local<Context> context,
+                                             uint32_t start, uint32_t count,
+                                             Local<Value>* values);
+
+  /**
+   * Sets the values of |count| properties in one call.
+   */
+  V8_WARN_UNUSED_RESULT Maybe<bool> SetMultiple(Local<Context> context,
+                                                uint32_t count,
+                                                const Local<Value>* keys,
+                                                const Local<Value>* values);
+
   /**
    * Gets the property attributes of a property which can be None or
    * any combination of ReadOnly, DontEnum and DontDelete. Returns
@@ -127,6 +127,9 @@ enum GraalAccessMethod {
     object_force_set,
     object_get,
     object_get_index,
+    object_get_index_range,
+    object_get_multiple,
+    object_set_multiple,
     object_get_private,
     object_get_real_named_property,
     object_get_real_named_property_attributes,
@@ -287,6 +290,8 @@ enum GraalAccessMethod {
     json_stringify,
     symbol_new,
     symbol_name,
+    private_new,
+    private_for_api,
     promise_result,
     promise_state,
     promise_resolver_new,
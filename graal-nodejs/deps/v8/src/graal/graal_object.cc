@@ -46,6 +46,7 @@
 #include "graal_number.h"
 #include "graal_object.h"
 #include "graal_string.h"
+#include <algorithm>
 #include <string>
 
 GraalObject::GraalObject(GraalIsolate* isolate, jobject java_object) : GraalValue(isolate, java_object), internal_field_count_cache_(-1) {
@@ -115,6 +116,76 @@ v8::Local<v8::Value> GraalObject::Get(uint32_t index) {
     }
 }
 
+bool GraalObject::GetMultiple(uint32_t count, const v8::Local<v8::Value>* keys, v8::Local<v8::Value>* values) {
+    GraalIsolate* graal_isolate = Isolate();
+    JNIEnv* env = graal_isolate->GetJNIEnv();
+    for (uint32_t offset = 0; offset < count; offset += kMaxBatchSize) {
+        uint32_t chunk = std::min(count - offset, kMaxBatchSize);
+        jobjectArray java_keys = env->NewObjectArray(chunk, graal_isolate->GetObjectClass(), NULL);
+        for (uint32_t i = 0; i < chunk; i++) {
+            env->SetObjectArrayElement(java_keys, i, reinterpret_cast<GraalValue*> (*keys[offset + i])->GetJavaObject());
+        }
+        JNI_CALL(jobject, java_values, graal_isolate, GraalAccessMethod::object_get_multiple, Object, GetJavaObject(), java_keys);
+        env->DeleteLocalRef(java_keys);
+        if (java_values == NULL) {
+            graal_isolate->HandleEmptyCallResult();
+            return false;
+        }
+        ReadValuesFromSharedBuffer((jobjectArray) java_values, chunk, values + offset);
+    }
+    return true;
+}
+
+bool GraalObject::GetRange(uint32_t start, uint32_t count, v8::Local<v8::Value>* values) {
+    GraalIsolate* graal_isolate = Isolate();
+    for (uint32_t offset = 0; offset < count; offset += kMaxBatchSize) {
+        uint32_t chunk = std::min(count - offset, kMaxBatchSize);
+        JNI_CALL(jobject, java_values, graal_isolate, GraalAccessMethod::object_get_index_range, Object, GetJavaObject(), (jint) (start + offset), (jint) chunk);
+        if (java_values == NULL) {
+            graal_isolate->HandleEmptyCallResult();
+            return false;
+        }
+        ReadValuesFromSharedBuffer((jobjectArray) java_values, chunk, values + offset);
+    }
+    return true;
+}
+
+void GraalObject::ReadValuesFromSharedBuffer(jobjectArray java_values, uint32_t count, v8::Local<v8::Value>* values) {
+    GraalIsolate* graal_isolate = Isolate();
+    JNIEnv* env = graal_isolate->GetJNIEnv();
+    graal_isolate->ResetSharedBuffer();
+    for (uint32_t i = 0; i < count; i++) {
+        jobject java_value = env->GetObjectArrayElement(java_values, i);
+        int32_t value_t = graal_isolate->ReadInt32FromSharedBuffer();
+        GraalValue* graal_value = GraalValue::FromJavaObject(graal_isolate, java_value, value_t, true);
+        values[i] = reinterpret_cast<v8::Value*> (graal_value);
+    }
+    env->DeleteLocalRef(java_values);
+}
+
+bool GraalObject::SetMultiple(uint32_t count, const v8::Local<v8::Value>* keys, const v8::Local<v8::Value>* values) {
+    GraalIsolate* graal_isolate = Isolate();
+    JNIEnv* env = graal_isolate->GetJNIEnv();
+    for (uint32_t offset = 0; offset < count; offset += kMaxBatchSize) {
+        uint32_t chunk = std::min(count - offset, kMaxBatchSize);
+        jobjectArray java_keys = env->NewObjectArray(chunk, graal_isolate->GetObjectClass(), NULL);
+        jobjectArray java_values = env->NewObjectArray(chunk, graal_isolate->GetObjectClass(), NULL);
+        for (uint32_t i = 0; i < chunk; i++) {
+            env->SetObjectArrayElement(java_keys, i, reinterpret_cast<GraalValue*> (*keys[offset + i])->GetJavaObject());
+            env->SetObjectArrayElement(java_values, i, reinterpret_cast<GraalValue*> (*values[offset + i])->GetJavaObject());
+        }
+        JNI_CALL(bool, success, graal_isolate, GraalAccessMethod::object_set_multiple, Boolean, GetJavaObject(), java_keys, java_values);
+        env->DeleteLocalRef(java_keys);
+        env->DeleteLocalRef(java_values);
+        if (!success) {
+            // objectSetMultiple returns false only when it throws
+            graal_isolate->HandleEmptyCallResult();
+            return false;
+        }
+    }
+    return true;
+}
+
 v8::Local<v8::Value> GraalObject::GetRealNamedProperty(v8::Local<v8::Context> context, v8::Local<v8::Name> key) {
     jobject java_key = reinterpret_cast<GraalValue*> (*key)->GetJavaObject();
     JNI_CALL(jobject, java_object, Isolate(), GraalAccessMethod::object_get_real_named_property, Object, GetJavaObject(), java_key);
@@ -300,8 +371,7 @@ v8::MaybeLocal<v8::Value> GraalObject::GetPrivate(v8::Local<v8::Context> context
 v8::Maybe<bool> GraalObject::SetPrivate(v8::Local<v8::Context> context, v8::Local<v8::Private> key, v8::Local<v8::Value> value) {
     jobject java_key = reinterpret_cast<GraalHandleContent*> (*key)->GetJavaObject();
     jobject java_value = reinterpret_cast<GraalValue*> (*value)->GetJavaObject();
-    jobject java_context = Isolate()->CurrentJavaContext();
-    JNI_CALL(bool, success, Isolate(), GraalAccessMethod::object_set_private, Boolean, java_context, GetJavaObject(), java_key, java_value);
+    JNI_CALL(bool, success, Isolate(), GraalAccessMethod::object_set_private, Boolean, GetJavaObject(), java_key, java_value);
     return v8::Just(success);
 }
 
@@ -46,6 +46,8 @@
 
 class GraalObject : public GraalValue {
 public:
+    // must match GraalJSAccess.MAX_BATCH_SIZE
+    static const uint32_t kMaxBatchSize = 256;
     GraalObject(GraalIsolate* isolate, jobject java_object);
     bool IsObject() const;
     static v8::Local<v8::Object> New(v8::Isolate* isolate);
@@ -54,6 +56,9 @@ public:
     bool ForceSet(v8::Local<v8::Value> key, v8::Local<v8::Value> value, v8::PropertyAttribute attribs);
     v8::Local<v8::Value> Get(v8::Local<v8::Value> key);
     v8::Local<v8::Value> Get(uint32_t index);
+    bool GetMultiple(uint32_t count, const v8::Local<v8::Value>* keys, v8::Local<v8::Value>* values);
+    bool GetRange(uint32_t start, uint32_t count, v8::Local<v8::Value>* values);
+    bool SetMultiple(uint32_t count, const v8::Local<v8::Value>* keys, const v8::Local<v8::Value>* values);
     v8::Local<v8::Value> GetRealNamedProperty(v8::Local<v8::Context> context, v8::Local<v8::Name> key);
     v8::Maybe<v8::PropertyAttribute> GetRealNamedPropertyAttributes(v8::Local<v8::Context> context, v8::Local<v8::Name> key);
     bool Has(v8::Local<v8::Value> key);
@@ -90,6 +95,7 @@ public:
 protected:
     GraalHandleContent* CopyImpl(jobject java_object_copy) override;
 private:
+    void ReadValuesFromSharedBuffer(jobjectArray java_values, uint32_t count, v8::Local<v8::Value>* values);
     int internal_field_count_cache_;
 };
 
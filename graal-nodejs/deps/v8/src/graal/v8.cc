@@ -462,7 +462,9 @@ namespace v8 {
         heap_statistics->total_physical_size_ = 0;
         heap_statistics->total_available_size_ = graal_isolate->ReadInt64FromSharedBuffer();
         heap_statistics->used_heap_size_ = graal_isolate->ReadInt64FromSharedBuffer();
-        heap_statistics->heap_size_limit_ = 0;
+        heap_statistics->heap_size_limit_ = graal_isolate->ReadInt64FromSharedBuffer();
+        heap_statistics->malloced_memory_ = graal_isolate->ReadInt64FromSharedBuffer();
+        heap_statistics->peak_malloced_memory_ = graal_isolate->ReadInt64FromSharedBuffer();
         heap_statistics->does_zap_garbage_ = false;
     }
 
@@ -697,6 +699,30 @@ namespace v8 {
         return reinterpret_cast<GraalObject*> (this)->Set(key, value);
     }
 
+    Maybe<bool> Object::GetMultiple(Local<Context> context, uint32_t count, const Local<Value>* keys, Local<Value>* values) {
+        if (reinterpret_cast<GraalObject*> (this)->GetMultiple(count, keys, values)) {
+            return Just(true);
+        } else {
+            return Nothing<bool>();
+        }
+    }
+
+    Maybe<bool> Object::GetRange(Local<Context> context, uint32_t start, uint32_t count, Local<Value>* values) {
+        if (reinterpret_cast<GraalObject*> (this)->GetRange(start, count, values)) {
+            return Just(true);
+        } else {
+            return Nothing<bool>();
+        }
+    }
+
+    Maybe<bool> Object::SetMultiple(Local<Context> context, uint32_t count, const Local<Value>* keys, const Local<Value>* values) {
+        if (reinterpret_cast<GraalObject*> (this)->SetMultiple(count, keys, values)) {
+            return Just(true);
+        } else {
+            return Nothing<bool>();
+        }
+    }
+
     void* Object::SlowGetAlignedPointerFromInternalField(int index) {
         return reinterpret_cast<GraalObject*> (this)->SlowGetAlignedPointerFromInternalField(index);
     }
@@ -1973,7 +1999,11 @@ namespace v8 {
     }
 
     Local<Private> Private::ForApi(Isolate* isolate, Local<String> name) {
-        return reinterpret_cast<Private*> (*name);
+        GraalIsolate* graal_isolate = reinterpret_cast<GraalIsolate*> (isolate);
+        jobject java_name = reinterpret_cast<GraalString*> (*name)->GetJavaObject();
+        JNI_CALL(jobject, java_key, graal_isolate, GraalAccessMethod::private_for_api, Object, java_name);
+        GraalObject* graal_key = new GraalObject(graal_isolate, java_key);
+        return reinterpret_cast<Private*> (graal_key);
     }
 
     void Isolate::ReportExternalAllocationLimitReached() {
@@ -2250,7 +2280,11 @@ namespace v8 {
     }
 
     Local<Private> Private::New(Isolate* isolate, Local<String> name) {
-        return reinterpret_cast<Private*> (*name);
+        GraalIsolate* graal_isolate = reinterpret_cast<GraalIsolate*> (isolate);
+        jobject java_name = reinterpret_cast<GraalString*> (*name)->GetJavaObject();
+        JNI_CALL(jobject, java_key, graal_isolate, GraalAccessMethod::private_new, Object, java_name);
+        GraalObject* graal_key = new GraalObject(graal_isolate, java_key);
+        return reinterpret_cast<Private*> (graal_key);
     }
 
     Local<Value> Promise::Result() {
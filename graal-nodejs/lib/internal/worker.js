@@ -562,20 +562,21 @@ MessagePort.prototype.postMessage = function(...args) {
     // closed, so we don't care about encoding Java messages.
     originalPostMessage.apply(this, args);
   } else {
+    let enqueued = false;
     try {
       // Signal that we are ready to transfer Java objets.
       this.sharedMemMessaging.enter(messagePortData);
-      // Post message: might encode Java objects as a side effect.
-      const enqueued = originalPostMessage.apply(this, args);
-      const encodedJavaRefs = this.sharedMemMessaging.encodedJavaRefs();
-
-      if (encodedJavaRefs === true && enqueued !== true) {
-        // The message was not delivered to any worker threads.
-        // In this case, we free any recorded Java reference, as the
-        // message will anyway be discarded.
+      // Post message: might encode Java objects (and transferred
+      // ArrayBuffers) as a side effect.
+      enqueued = originalPostMessage.apply(this, args);
+    } finally {
+      if (enqueued !== true &&
+          this.sharedMemMessaging.encodedJavaRefs() === true) {
+        // The message was not delivered to any worker threads (or its
+        // serialization failed). In this case, we free any recorded Java
+        // reference, as the message will anyway be discarded.
         this.sharedMemMessaging.free();
       }
-    } finally {
       this.sharedMemMessaging.leave();
     }
   }
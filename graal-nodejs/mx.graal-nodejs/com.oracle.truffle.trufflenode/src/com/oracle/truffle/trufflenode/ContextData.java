@@ -60,6 +60,7 @@ public final class ContextData {
     private final Map<String, FunctionNode> functionNodeCache = new WeakHashMap<>();
     private final Map<Source, ScriptNode> scriptNodeCache = new WeakHashMap<>();
     private final List<Pair<JSFunctionData, JSFunctionData>> accessorPairs = new ArrayList<>();
+    private final List<JSFunctionData[]> propertyHandlerFunctions = new ArrayList<>();
     private final Shape externalObjectShape;
 
     public ContextData(JSContext context) {
@@ -81,6 +82,21 @@ public final class ContextData {
         accessorPairs.set(id, pair);
     }
 
+    public JSFunctionData[] getPropertyHandlerFunctions(int id) {
+        if (id < propertyHandlerFunctions.size()) {
+            return propertyHandlerFunctions.get(id);
+        } else {
+            return null;
+        }
+    }
+
+    public void setPropertyHandlerFunctions(int id, JSFunctionData[] functions) {
+        while (propertyHandlerFunctions.size() <= id) {
+            propertyHandlerFunctions.add(null);
+        }
+        propertyHandlerFunctions.set(id, functions);
+    }
+
     public Shape getExternalObjectShape() {
         return externalObjectShape;
     }
@@ -40,73 +40,64 @@
  */
 package com.oracle.truffle.trufflenode;
 
-import com.oracle.truffle.js.runtime.JSTruffleOptions;
-
+import java.lang.ref.PhantomReference;
 import java.lang.ref.ReferenceQueue;
-import java.lang.ref.WeakReference;
-import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A class responsible for the deallocation of the external memory segments associated with Java
  * objects.A direct {@code ByteBuffer} created by a JNI call is built on top of an existing memory
  * segment whose life-cycle may be associated with the created buffer.
+ * <p>
+ * The buffers are tracked by phantom references (in the same way as {@code sun.misc.Cleaner} does
+ * it). A dedicated thread collects the references cleared by the garbage collector into batches and
+ * frees the memory of a whole batch with one native call.
  */
 final class Deallocator {
 
     /**
-     * Determines whether {@code sun.misc.Cleaner} can be used for deallocation.
+     * Maximal number of memory segments freed by one native call.
      */
-    private static final boolean USE_CLEANER = Boolean.parseBoolean(System.getProperty("truffle.node.js.deallocateUsingCleaner", "true"));
+    private static final int BATCH_SIZE = Integer.getInteger("truffle.node.js.deallocatorBatchSize", 1024);
+
     /**
-     * {@code java.nio.DirectByteBuffer} {@code Class} object.
+     * Queue associated with the {@code PhantomReference}s that we use to determine whether the
+     * native memory of the corresponding {@code ByteBuffer} should be deallocated.
      */
-    private static final Class<?> DIRECT_BYTE_BUFFER_CLASS;
+    private final ReferenceQueue<ByteBuffer> queue = new ReferenceQueue<>();
     /**
-     * {@code cleaner} field of {@code DirectByteBuffer}.
+     * Collection holding all the references to the buffers whose memory has not been deallocated
+     * yet.
      */
-    private static final Field CLEANER_FIELD;
-
-    static {
-        Class<?> clazz;
-        Field field;
-        if (!JSTruffleOptions.SubstrateVM && USE_CLEANER) {
-            try {
-                clazz = Class.forName("java.nio.DirectByteBuffer");
-                field = clazz.getDeclaredField("cleaner");
-                field.setAccessible(true);
-            } catch (ClassNotFoundException | NoSuchFieldException ex) {
-                clazz = null;
-                field = null;
-            }
-        } else {
-            clazz = null;
-            field = null;
-        }
-        DIRECT_BYTE_BUFFER_CLASS = clazz;
-        CLEANER_FIELD = field;
-    }
+    private final Set<ReferenceWithPointer> registered = ConcurrentHashMap.newKeySet();
+    /**
+     * Determines whether the cleanup thread has been started.
+     */
+    private final AtomicBoolean cleanupThreadStarted = new AtomicBoolean();
 
     /**
-     * Queue associated with the {@code WeakReference}s that we use to determine whether the native
-     * memory of the corresponding {@code ByteBuffer} should be deallocated.
+     * Total number of bytes registered for deallocation.
      */
-    private final ReferenceQueue<ByteBuffer> queue;
+    private final AtomicLong registeredBytes = new AtomicLong();
     /**
-     * Collection holding all the weak references to the buffers whose memory has not been
-     * deallocated yet.
+     * Total number of bytes deallocated by the cleanup thread.
      */
-    private final Set<ReferenceWithPointer> enqueued = Collections.synchronizedSet(new HashSet<>());
+    private final AtomicLong freedBytes = new AtomicLong();
+    private final AtomicLong peakOutstandingBytes = new AtomicLong();
     /**
-     * Determines whether the cleanup thread has been started.
+     * Number of bytes (and memory segments) of collected buffers that have been taken from the
+     * reference queue by the cleanup thread but have not been deallocated yet.
      */
-    private boolean cleanupThreadStarted = false;
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final AtomicLong pendingSegments = new AtomicLong();
 
     Deallocator() {
-        this.queue = new ReferenceQueue<>();
     }
 
     /**
@@ -116,37 +107,85 @@ final class Deallocator {
      * @param pointer pointer to the memory that should be deallocated.
      */
     void register(ByteBuffer buffer, long pointer) {
-        if (buffer.getClass() == DIRECT_BYTE_BUFFER_CLASS) {
-            try {
-                CLEANER_FIELD.set(buffer, sun.misc.Cleaner.create(buffer, () -> {
-                    NativeAccess.deallocate(pointer);
-                }));
-            } catch (IllegalAccessException | IllegalArgumentException ex) {
-                ex.printStackTrace();
-            }
-        } else {
-            if (!cleanupThreadStarted) {
-                startCleanupThread();
-            }
-            enqueued.add(new ReferenceWithPointer(buffer, pointer));
+        if (!cleanupThreadStarted.get()) {
+            startCleanupThread();
+        }
+        int size = buffer.capacity();
+        registered.add(new ReferenceWithPointer(buffer, pointer, size));
+        long outstanding = registeredBytes.addAndGet(size) - freedBytes.get();
+        long peak = peakOutstandingBytes.get();
+        while (outstanding > peak && !peakOutstandingBytes.compareAndSet(peak, outstanding)) {
+            peak = peakOutstandingBytes.get();
         }
     }
 
+    /**
+     * Returns the number of bytes of external memory that have not been deallocated yet, i.e. the
+     * memory of live buffers plus the backlog of collected buffers that wait for the cleanup
+     * thread. The backlog alone is reported by {@link #getPendingBytes()}.
+     */
+    long getOutstandingBytes() {
+        // read freed first, so that a concurrent batch cannot make the result negative
+        long freed = freedBytes.get();
+        return registeredBytes.get() - freed;
+    }
+
+    long getPeakOutstandingBytes() {
+        return peakOutstandingBytes.get();
+    }
+
+    /**
+     * Returns the number of bytes of collected buffers that wait for the cleanup thread, i.e. the
+     * part of {@link #getOutstandingBytes()} that is not used by live buffers anymore.
+     */
+    long getPendingBytes() {
+        return pendingBytes.get();
+    }
+
+    /**
+     * Returns the number of memory segments of collected buffers that wait for the cleanup thread.
+     */
+    long getPendingSegments() {
+        return pendingSegments.get();
+    }
+
     /**
      * Starts the cleanup thread (if it is not running already).
      */
-    private synchronized void startCleanupThread() {
-        if (cleanupThreadStarted) {
+    private void startCleanupThread() {
+        if (!cleanupThreadStarted.compareAndSet(false, true)) {
             return;
         }
-        Thread thread = new Thread() {
+        Thread thread = new Thread("Graal.nodejs Deallocator") {
             @Override
             public void run() {
+                long[] pointers = new long[BATCH_SIZE];
+                List<ReferenceWithPointer> pending = new ArrayList<>();
                 try {
                     while (true) {
+                        // take the whole backlog first, so that it shows up in the pending counters
                         ReferenceWithPointer reference = (ReferenceWithPointer) queue.remove();
-                        enqueued.remove(reference);
-                        reference.deallocate();
+                        do {
+                            registered.remove(reference);
+                            pending.add(reference);
+                            pendingBytes.addAndGet(reference.size);
+                            pendingSegments.incrementAndGet();
+                            reference = (ReferenceWithPointer) queue.poll();
+                        } while (reference != null);
+                        for (int start = 0; start < pending.size(); start += BATCH_SIZE) {
+                            int count = Math.min(BATCH_SIZE, pending.size() - start);
+                            long bytes = 0;
+                            for (int i = 0; i < count; i++) {
+                                ReferenceWithPointer batchReference = pending.get(start + i);
+                                pointers[i] = batchReference.pointer;
+                                bytes += batchReference.size;
+                            }
+                            NativeAccess.deallocateBatch(pointers, count);
+                            freedBytes.addAndGet(bytes);
+                            pendingBytes.addAndGet(-bytes);
+                            pendingSegments.addAndGet(-count);
+                        }
+                        pending.clear();
                     }
                 } catch (InterruptedException iex) {
                     iex.printStackTrace();
@@ -155,27 +194,27 @@ final class Deallocator {
         };
         thread.setDaemon(true);
         thread.start();
-        cleanupThreadStarted = true;
     }
 
     /**
-     * Weak reference to {@code ByteBuffer} that keeps track of the memory that should be
-     * deallocated once this reference is cleared.
+     * Phantom reference to {@code ByteBuffer} that keeps track of the memory that should be
+     * deallocated once the buffer is collected.
      */
-    final class ReferenceWithPointer extends WeakReference<ByteBuffer> {
+    final class ReferenceWithPointer extends PhantomReference<ByteBuffer> {
 
         /**
          * Pointer to the memory that should be deallocated.
          */
         private final long pointer;
+        /**
+         * Size of the memory that should be deallocated.
+         */
+        private final int size;
 
-        ReferenceWithPointer(ByteBuffer object, long pointer) {
+        ReferenceWithPointer(ByteBuffer object, long pointer, int size) {
             super(object, queue);
             this.pointer = pointer;
-        }
-
-        void deallocate() {
-            NativeAccess.deallocate(pointer);
+            this.size = size;
         }
     }
 
@@ -110,9 +110,6 @@ import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.TruffleException;
 import com.oracle.truffle.api.TruffleLanguage;
-import com.oracle.truffle.api.debug.Debugger;
-import com.oracle.truffle.api.debug.SuspendedCallback;
-import com.oracle.truffle.api.debug.SuspendedEvent;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.TruffleObject;
@@ -121,6 +118,8 @@ import com.oracle.truffle.api.nodes.ControlFlowException;
 import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.HiddenKey;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
@@ -146,6 +145,7 @@ import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSContextOptions;
 import com.oracle.truffle.js.runtime.JSErrorType;
 import com.oracle.truffle.js.runtime.JSException;
+import com.oracle.truffle.js.runtime.JSHeapAccounting;
 import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.JSTruffleOptions;
@@ -202,6 +202,7 @@ import com.oracle.truffle.js.runtime.util.TRegexUtil;
 import com.oracle.truffle.trufflenode.buffer.NIOBufferObject;
 import com.oracle.truffle.trufflenode.info.Accessor;
 import com.oracle.truffle.trufflenode.info.FunctionTemplate;
+import com.oracle.truffle.trufflenode.info.InstanceShape;
 import com.oracle.truffle.trufflenode.info.ObjectTemplate;
 import com.oracle.truffle.trufflenode.info.PropertyHandler;
 import com.oracle.truffle.trufflenode.info.Script;
@@ -226,7 +227,6 @@ public final class GraalJSAccess {
     private static final boolean USE_NIO_BUFFER = !"false".equals(System.getProperty("node.buffer.nio"));
     private static final boolean USE_SNAPSHOTS = !"false".equalsIgnoreCase(System.getProperty("truffle.node.js.snapshots"));
 
-    private static final HiddenKey PRIVATE_VALUES_KEY = new HiddenKey("PrivateValues");
     private static final HiddenKey FUNCTION_TEMPLATE_DATA_KEY = new HiddenKey("FunctionTemplateData");
     private static final HiddenKey INTERNAL_FIELD_COUNT_KEY = new HiddenKey("InternalFieldCount");
     private static final HiddenKey INTERNAL_FIELD_ZERO_KEY = new HiddenKey("InternalField0");
@@ -260,7 +260,14 @@ public final class GraalJSAccess {
      * data in the same order as you write them and perform the reading as soon as possible (as the
      * buffer may be used by any subsequent transition from Java to C).
      */
-    private final ByteBuffer sharedBuffer = ByteBuffer.allocateDirect(128).order(ByteOrder.nativeOrder());
+    /**
+     * Maximal number of values passed in one call of the batched entry points like
+     * {@link #objectGetMultiple}. Each value uses at most 12 bytes of the shared buffer (its type
+     * followed by a number or by the length and offset of an array buffer view).
+     */
+    public static final int MAX_BATCH_SIZE = 256;
+
+    private final ByteBuffer sharedBuffer = ByteBuffer.allocateDirect(12 * MAX_BATCH_SIZE).order(ByteOrder.nativeOrder());
 
     /**
      * Caching file content, as used by e.g. the require function. While Node.js currently caches
@@ -268,6 +275,7 @@ public final class GraalJSAccess {
      * different locations does not trigger any caching on the Node.js side.
      */
     private final Map<String, Reference<String>> sourceCodeCache = new WeakHashMap<>();
+    private final Map<String, HiddenKey> apiPrivateKeys = new HashMap<>();
 
     private final boolean exposeGC;
 
@@ -307,6 +315,7 @@ public final class GraalJSAccess {
         agent = new NodeJSAgent();
         mainJSRealm.setAgent(agent);
         deallocator = new Deallocator();
+        NativeBoundaryProfiler.initialize();
         envForInstruments = mainJSRealm.getEnv();
         // Disallow importing dynamically unless ESM Loader (--experimental-modules) is enabled.
         isolateEnableImportModuleDynamically(false);
@@ -701,15 +710,9 @@ public final class GraalJSAccess {
         return JSObject.defineOwnProperty((DynamicObject) object, propertyKey, descriptor);
     }
 
-    public boolean objectSetPrivate(Object context, Object object, Object key, Object value) {
+    public boolean objectSetPrivate(Object object, Object key, Object value) {
         if (JSRuntime.isObject(object)) {
-            DynamicObject dynamicObject = (DynamicObject) object;
-            Object privateValues = dynamicObject.get(PRIVATE_VALUES_KEY);
-            if (privateValues == null) {
-                privateValues = objectNew(context);
-                dynamicObject.define(PRIVATE_VALUES_KEY, privateValues);
-            }
-            JSObject.set((DynamicObject) privateValues, key, value);
+            ((DynamicObject) object).define(key, value);
         }
         return true;
     }
@@ -718,28 +721,14 @@ public final class GraalJSAccess {
         if (!JSObject.isJSObject(object)) {
             return null;
         }
-        DynamicObject dynamicObject = (DynamicObject) object;
-        DynamicObject privateValues = (DynamicObject) dynamicObject.get(PRIVATE_VALUES_KEY);
-        if (privateValues == null) {
-            return null;
-        } else if (JSObject.hasOwnProperty(privateValues, key)) {
-            return JSObject.get(privateValues, key);
-        } else {
-            return null;
-        }
+        return ((DynamicObject) object).get(key);
     }
 
     public boolean objectDeletePrivate(Object object, Object key) {
-        if (!JSObject.isJSObject(object)) {
-            return true;
-        }
-        DynamicObject dynamicObject = (DynamicObject) object;
-        Object privateValues = dynamicObject.get(PRIVATE_VALUES_KEY);
-        if (privateValues == null) {
-            return true;
-        } else {
-            return JSObject.delete((DynamicObject) privateValues, key);
+        if (JSObject.isJSObject(object)) {
+            ((DynamicObject) object).delete(key);
         }
+        return true;
     }
 
     public Object objectGet(Object object, Object key) {
@@ -749,26 +738,28 @@ public final class GraalJSAccess {
         } else {
             truffleObject = JSRuntime.toObject(mainJSContext, object);
         }
-        Object value;
+        Object flatten = valueFlatten(objectGetValue(object, truffleObject, key));
+        resetSharedBuffer();
+        sharedBuffer.position(4);
+        sharedBuffer.putInt(0, valueType(flatten, true));
+        return flatten;
+    }
+
+    private static Object objectGetValue(Object object, TruffleObject truffleObject, Object key) {
         if (key instanceof HiddenKey) {
             Object hiddenValue = ((DynamicObject) truffleObject).get(key);
             if (hiddenValue == null) {
                 if (JSPromise.isJSPromise(object)) {
-                    value = 0;
+                    return 0;
                 } else {
-                    value = Undefined.instance;
+                    return Undefined.instance;
                 }
             } else {
-                value = hiddenValue;
+                return hiddenValue;
             }
         } else {
-            value = JSObject.get(truffleObject, JSRuntime.toPropertyKey(key));
+            return JSObject.get(truffleObject, JSRuntime.toPropertyKey(key));
         }
-        Object flatten = valueFlatten(value);
-        resetSharedBuffer();
-        sharedBuffer.position(4);
-        sharedBuffer.putInt(0, valueType(flatten, true));
-        return flatten;
     }
 
     public Object objectGetIndex(Object object, int index) {
@@ -779,6 +770,61 @@ public final class GraalJSAccess {
         return value;
     }
 
+    /**
+     * Batched version of {@link #objectGet}: the types of the returned values are written to the
+     * shared buffer one after another.
+     */
+    public Object[] objectGetMultiple(Object object, Object[] keys) {
+        assert keys.length <= MAX_BATCH_SIZE;
+        TruffleObject truffleObject;
+        if (object instanceof TruffleObject) {
+            truffleObject = (TruffleObject) object;
+        } else {
+            truffleObject = JSRuntime.toObject(mainJSContext, object);
+        }
+        Object[] values = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = valueFlatten(objectGetValue(object, truffleObject, keys[i]));
+        }
+        writeValueTypes(values);
+        return values;
+    }
+
+    /**
+     * Batched version of {@link #objectGetIndex}: returns the elements from {@code start} to
+     * {@code start + count} and writes their types to the shared buffer.
+     */
+    public Object[] objectGetIndexRange(Object object, int start, int count) {
+        assert count <= MAX_BATCH_SIZE;
+        DynamicObject dynamicObject = (DynamicObject) object;
+        Object[] values = new Object[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = valueFlatten(JSObject.get(dynamicObject, start + i));
+        }
+        writeValueTypes(values);
+        return values;
+    }
+
+    private void writeValueTypes(Object[] values) {
+        resetSharedBuffer();
+        for (Object value : values) {
+            int typePosition = sharedBuffer.position();
+            sharedBuffer.position(typePosition + 4);
+            sharedBuffer.putInt(typePosition, valueType(value, true));
+        }
+    }
+
+    /**
+     * Batched version of {@link #objectSet}.
+     */
+    public boolean objectSetMultiple(Object object, Object[] keys, Object[] values) {
+        assert keys.length == values.length;
+        for (int i = 0; i < keys.length; i++) {
+            objectSet(object, keys[i], values[i]);
+        }
+        return true;
+    }
+
     public Object objectGetOwnPropertyDescriptor(Object object, Object key) {
         DynamicObject dynamicObject = (DynamicObject) object;
         JSContext context = JSObject.getJSContext(dynamicObject);
@@ -1253,6 +1299,14 @@ public final class GraalJSAccess {
         return Symbol.create((String) name);
     }
 
+    public Object privateNew(Object name) {
+        return new HiddenKey((String) name);
+    }
+
+    public Object privateForApi(Object name) {
+        return apiPrivateKeys.computeIfAbsent((String) name, HiddenKey::new);
+    }
+
     public Object symbolName(Object symbol) {
         return ((Symbol) symbol).getDescription();
     }
@@ -1562,61 +1616,14 @@ public final class GraalJSAccess {
         DynamicObject handler = JSUserObject.create(context, realm);
         DynamicObject proxy = JSProxy.create(context, target, handler);
 
-        DynamicObject getter = functionFromRootNode(context, realm, new ExecuteNativePropertyHandlerNode(
-                        this,
-                        context,
-                        template,
-                        proxy,
-                        ExecuteNativePropertyHandlerNode.Mode.GETTER), proxy);
-        JSObject.set(handler, JSProxy.GET, getter);
-
-        DynamicObject setter = functionFromRootNode(context, realm, new ExecuteNativePropertyHandlerNode(
-                        this,
-                        context,
-                        template,
-                        proxy,
-                        ExecuteNativePropertyHandlerNode.Mode.SETTER), proxy);
-        JSObject.set(handler, JSProxy.SET, setter);
-
-        DynamicObject query = functionFromRootNode(context, realm, new ExecuteNativePropertyHandlerNode(
-                        this,
-                        context,
-                        template,
-                        proxy,
-                        ExecuteNativePropertyHandlerNode.Mode.QUERY), proxy);
-        JSObject.set(handler, JSProxy.HAS, query);
-
-        DynamicObject deleter = functionFromRootNode(context, realm, new ExecuteNativePropertyHandlerNode(
-                        this,
-                        context,
-                        template,
-                        proxy,
-                        ExecuteNativePropertyHandlerNode.Mode.DELETER), proxy);
-        JSObject.set(handler, JSProxy.DELETE_PROPERTY, deleter);
-
-        DynamicObject ownKeys = functionFromRootNode(context, realm, new ExecuteNativePropertyHandlerNode(
-                        this,
-                        context,
-                        template,
-                        proxy,
-                        ExecuteNativePropertyHandlerNode.Mode.OWN_KEYS), proxy);
-        JSObject.set(handler, JSProxy.OWN_KEYS, ownKeys);
-
-        DynamicObject getOwnPropertyDescriptor = functionFromRootNode(context, realm, new ExecuteNativePropertyHandlerNode(
-                        this,
-                        context,
-                        template,
-                        proxy,
-                        ExecuteNativePropertyHandlerNode.Mode.GET_OWN_PROPERTY_DESCRIPTOR), proxy);
-        JSObject.set(handler, JSProxy.GET_OWN_PROPERTY_DESCRIPTOR, getOwnPropertyDescriptor);
-
-        DynamicObject defineProperty = functionFromRootNode(context, realm, new ExecuteNativePropertyHandlerNode(
-                        this,
-                        context,
-                        template,
-                        proxy,
-                        ExecuteNativePropertyHandlerNode.Mode.DEFINE_PROPERTY), proxy);
-        JSObject.set(handler, JSProxy.DEFINE_PROPERTY, defineProperty);
+        JSFunctionData[] traps = propertyHandlerFunctions(context, template);
+        JSObject.set(handler, JSProxy.GET, functionFromFunctionData(realm, traps[ExecuteNativePropertyHandlerNode.Mode.GETTER.ordinal()], proxy));
+        JSObject.set(handler, JSProxy.SET, functionFromFunctionData(realm, traps[ExecuteNativePropertyHandlerNode.Mode.SETTER.ordinal()], proxy));
+        JSObject.set(handler, JSProxy.HAS, functionFromFunctionData(realm, traps[ExecuteNativePropertyHandlerNode.Mode.QUERY.ordinal()], proxy));
+        JSObject.set(handler, JSProxy.DELETE_PROPERTY, functionFromFunctionData(realm, traps[ExecuteNativePropertyHandlerNode.Mode.DELETER.ordinal()], proxy));
+        JSObject.set(handler, JSProxy.OWN_KEYS, functionFromFunctionData(realm, traps[ExecuteNativePropertyHandlerNode.Mode.OWN_KEYS.ordinal()], proxy));
+        JSObject.set(handler, JSProxy.GET_OWN_PROPERTY_DESCRIPTOR, functionFromFunctionData(realm, traps[ExecuteNativePropertyHandlerNode.Mode.GET_OWN_PROPERTY_DESCRIPTOR.ordinal()], proxy));
+        JSObject.set(handler, JSProxy.DEFINE_PROPERTY, functionFromFunctionData(realm, traps[ExecuteNativePropertyHandlerNode.Mode.DEFINE_PROPERTY.ordinal()], proxy));
 
         DynamicObject getPrototypeOf = functionFromRootNode(context, realm, new PropertyHandlerPrototypeNode(global), null);
         JSObject.set(handler, JSProxy.GET_PROTOTYPE_OF, getPrototypeOf);
@@ -1631,35 +1638,49 @@ public final class GraalJSAccess {
         return proxy;
     }
 
+    /**
+     * Returns the trap functions (indexed by {@link ExecuteNativePropertyHandlerNode.Mode}) of the
+     * proxies created for the given template. They are shared by all instances of the template, so
+     * that the traps of a newly created instance are already warmed up.
+     */
+    private JSFunctionData[] propertyHandlerFunctions(JSContext context, ObjectTemplate template) {
+        ContextData contextData = getContextEmbedderData(context);
+        int id = template.getPropertyHandlerId();
+        JSFunctionData[] functions = contextData.getPropertyHandlerFunctions(id);
+        if (functions == null) {
+            ExecuteNativePropertyHandlerNode.Mode[] modes = ExecuteNativePropertyHandlerNode.Mode.values();
+            functions = new JSFunctionData[modes.length];
+            for (ExecuteNativePropertyHandlerNode.Mode mode : modes) {
+                functions[mode.ordinal()] = functionDataFromRootNode(context, new ExecuteNativePropertyHandlerNode(this, context, template, mode));
+            }
+            contextData.setPropertyHandlerFunctions(id, functions);
+        }
+        return functions;
+    }
+
     @CompilerDirectives.TruffleBoundary
     public void objectTemplateInstantiate(JSRealm realm, Object templateObj, Object targetObject) {
         JSContext context = realm.getContext();
         ObjectTemplate template = (ObjectTemplate) templateObj;
         DynamicObject obj = (DynamicObject) targetObject;
+        Shape initialShape = obj.getShape();
+
+        InstanceShape instanceShape = template.getInstanceShape(initialShape);
+        if (instanceShape != null) {
+            objectTemplateInstantiate(realm, template, obj, instanceShape);
+            return;
+        }
 
         for (Accessor accessor : template.getAccessors()) {
-            Pair<JSFunctionData, JSFunctionData> accessorFunctions = accessor.getFunctions(context);
-            DynamicObject getter = functionFromFunctionData(realm, accessorFunctions.getFirst(), obj);
-            DynamicObject setter = functionFromFunctionData(realm, accessorFunctions.getSecond(), obj);
-            JSObjectUtil.putAccessorProperty(context, obj, accessor.getName(), getter, setter, accessor.getAttributes());
+            JSObjectUtil.putAccessorProperty(context, obj, accessor.getName(), objectTemplateAccessor(realm, accessor, obj), accessor.getAttributes());
         }
 
         for (Value value : template.getValues()) {
             Object name = value.getName();
-            Object processedValue = value.getValue();
+            Object processedValue = objectTemplateValue(realm, value);
             int attributes = value.getAttributes();
-            if (processedValue instanceof FunctionTemplate) {
-                // process all found FunctionTemplates, recursively
-                FunctionTemplate functionTempl = (FunctionTemplate) processedValue;
-                processedValue = functionTemplateGetFunction(realm, functionTempl);
-            }
-            if (processedValue instanceof Pair) {
-                Pair<?, ?> pair = (Pair<?, ?>) processedValue;
-                Object getterTemplate = pair.getFirst();
-                Object setterTemplate = pair.getSecond();
-                Object getter = (getterTemplate == null) ? Undefined.instance : functionTemplateGetFunction(realm, getterTemplate);
-                Object setter = (setterTemplate == null) ? Undefined.instance : functionTemplateGetFunction(realm, setterTemplate);
-                JSObjectUtil.putAccessorProperty(context, obj, name, (DynamicObject) getter, (DynamicObject) setter, attributes);
+            if (processedValue instanceof com.oracle.truffle.js.runtime.objects.Accessor) {
+                JSObjectUtil.putAccessorProperty(context, obj, name, (com.oracle.truffle.js.runtime.objects.Accessor) processedValue, attributes);
             } else {
                 if (name instanceof HiddenKey) {
                     if (!template.hasPropertyHandler()) {
@@ -1672,6 +1693,64 @@ public final class GraalJSAccess {
                 }
             }
         }
+
+        instanceShape = InstanceShape.create(template, initialShape, obj.getShape());
+        if (instanceShape != null) {
+            template.addInstanceShape(instanceShape);
+        }
+    }
+
+    /**
+     * Instantiates the template using the shape reached by a previous instantiation: switches the
+     * object to the final shape at once and stores the property values directly.
+     */
+    private void objectTemplateInstantiate(JSRealm realm, ObjectTemplate template, DynamicObject obj, InstanceShape instanceShape) {
+        List<Accessor> accessors = template.getAccessors();
+        List<Value> values = template.getValues();
+        Object[] propertyValues = new Object[accessors.size() + values.size()];
+        for (int i = 0; i < accessors.size(); i++) {
+            propertyValues[i] = objectTemplateAccessor(realm, accessors.get(i), obj);
+        }
+        for (int i = 0; i < values.size(); i++) {
+            propertyValues[accessors.size() + i] = objectTemplateValue(realm, values.get(i));
+        }
+        obj.setShapeAndGrow(instanceShape.getInitialShape(), instanceShape.getFinalShape());
+        for (int i = 0; i < propertyValues.length; i++) {
+            Property property = instanceShape.getProperty(i);
+            if (property != null) {
+                property.setSafe(obj, propertyValues[i], null);
+            }
+        }
+    }
+
+    private static com.oracle.truffle.js.runtime.objects.Accessor objectTemplateAccessor(JSRealm realm, Accessor accessor, DynamicObject holder) {
+        Pair<JSFunctionData, JSFunctionData> accessorFunctions = accessor.getFunctions(realm.getContext());
+        DynamicObject getter = functionFromFunctionData(realm, accessorFunctions.getFirst(), holder);
+        DynamicObject setter = functionFromFunctionData(realm, accessorFunctions.getSecond(), holder);
+        return new com.oracle.truffle.js.runtime.objects.Accessor(getter, setter);
+    }
+
+    /**
+     * Returns the value of the property defined by the given template entry: the function of a
+     * {@code FunctionTemplate}, an accessor for a pair of getter and setter templates, or the
+     * value itself.
+     */
+    private Object objectTemplateValue(JSRealm realm, Value value) {
+        Object processedValue = value.getValue();
+        if (processedValue instanceof FunctionTemplate) {
+            // process all found FunctionTemplates, recursively
+            FunctionTemplate functionTempl = (FunctionTemplate) processedValue;
+            processedValue = functionTemplateGetFunction(realm, functionTempl);
+        }
+        if (processedValue instanceof Pair) {
+            Pair<?, ?> pair = (Pair<?, ?>) processedValue;
+            Object getterTemplate = pair.getFirst();
+            Object setterTemplate = pair.getSecond();
+            Object getter = (getterTemplate == null) ? Undefined.instance : functionTemplateGetFunction(realm, getterTemplate);
+            Object setter = (setterTemplate == null) ? Undefined.instance : functionTemplateGetFunction(realm, setterTemplate);
+            processedValue = new com.oracle.truffle.js.runtime.objects.Accessor((DynamicObject) getter, (DynamicObject) setter);
+        }
+        return processedValue;
     }
 
     public void objectTemplateSetAccessor(Object templateObj, Object name, long getterPtr, long setterPtr, Object data, Object signature, int attributes) {
@@ -2013,7 +2092,7 @@ public final class GraalJSAccess {
     }
 
     public boolean tryCatchHasTerminated(Object exception) {
-        return (exception instanceof GraalJSKillException) || (exception instanceof TruffleException && ((TruffleException) exception).isCancelled());
+        return (exception instanceof TruffleException && ((TruffleException) exception).isCancelled());
     }
 
     private static GraalJSException.JSStackTraceElement messageGraalJSExceptionStackFrame(Object exception) {
@@ -2471,7 +2550,7 @@ public final class GraalJSAccess {
 
     public void isolateInternalErrorCheck(Object exception) {
         boolean internalError = !(exception instanceof TruffleException) && !(exception instanceof StackOverflowError) && !(exception instanceof OutOfMemoryError) &&
-                        !(exception instanceof ControlFlowException) && !(exception instanceof GraalJSKillException);
+                        !(exception instanceof ControlFlowException);
         if (internalError) {
             ((Throwable) exception).printStackTrace();
             exit(1);
@@ -2487,16 +2566,32 @@ public final class GraalJSAccess {
         long total = runtime.totalMemory();
         long free = runtime.freeMemory();
         long max = runtime.maxMemory();
+        long used = total - free;
+        long limit = 0;
+        JSHeapAccounting heapAccounting = mainJSRealm.getHeapAccounting();
+        if (heapAccounting != null) {
+            // Report the memory of this isolate rather than of the whole JVM
+            used = heapAccounting.getLiveBytes();
+            total = used;
+            limit = heapAccounting.getSoftLimit();
+            if (limit > 0) {
+                max = Math.max(0, limit - used);
+            }
+        }
         resetSharedBuffer();
         sharedBuffer.putLong(total);
         sharedBuffer.putLong(max);
-        sharedBuffer.putLong(total - free);
+        sharedBuffer.putLong(used);
+        sharedBuffer.putLong(limit);
+        sharedBuffer.putLong(deallocator.getOutstandingBytes());
+        sharedBuffer.putLong(deallocator.getPeakOutstandingBytes());
     }
 
     private boolean terminateExecution;
 
     public synchronized void isolateCancelTerminateExecution() {
         terminateExecution = false;
+        agent.setTerminationRequested(false);
         if (Thread.currentThread() == agent.getThread()) {
             Thread.interrupted(); // Clear the interrupted flag
         }
@@ -2507,31 +2602,12 @@ public final class GraalJSAccess {
             return; // termination in progress already
         }
         terminateExecution = true;
+        // Polled by the running code at function entries and loop back-edges
+        agent.setTerminationRequested(true);
         Thread thread = agent.getThread();
         if (thread != null) {
             thread.interrupt();
         }
-        Debugger debugger = lookupInstrument("debugger", Debugger.class);
-        if (debugger == null) {
-            System.err.println("Debugger is not available!");
-            return;
-        }
-        debugger.startSession(new SuspendedCallback() {
-            @Override
-            public void onSuspend(SuspendedEvent se) {
-                synchronized (GraalJSAccess.this) {
-                    if (!terminateExecution) {
-                        return; // termination has been cancelled
-                    }
-                }
-                se.getSession().close();
-                throw new GraalJSKillException();
-            }
-        }).suspendNextExecution();
-    }
-
-    private static final class GraalJSKillException extends ThreadDeath {
-        private static final long serialVersionUID = 3930431622452607906L;
     }
 
     public Object isolateGetIntPlaceholder() {
@@ -2988,7 +3064,7 @@ public final class GraalJSAccess {
     }
 
     public void valueSerializerWriteValue(Object serializer, Object value) {
-        ((Serializer) serializer).writeValue(value);
+        ((Serializer) serializer).writeTopLevelValue(value);
     }
 
     public void valueSerializerWriteUint32(Object serializer, int value) {
@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.js.runtime.JSRuntime;
+
+/**
+ * Sampling profiler of the calls that cross the boundary between JavaScript and native node.js
+ * code (bindings, native accessors and interceptors). When active, every call is counted and the
+ * duration of every n-th call is measured and recorded in a histogram with power-of-two buckets.
+ * The collected data can be dumped as JSON on demand or when the configured signal is received.
+ * <p>
+ * Until the profiler is started for the first time, the instrumented nodes fold the profiling code
+ * away completely.
+ */
+public final class NativeBoundaryProfiler {
+
+    /* Profile every n-th call from the start. If zero, the profiler is started on demand only. */
+    private static final int INITIAL_SAMPLING_RATE = Integer.getInteger("truffle.node.js.boundaryProfiler", 0);
+
+    /*
+     * Name of the signal (e.g. URG) that dumps the collected data. USR1 is taken by the node.js
+     * inspector and USR2 by HotSpot (thread suspend/resume) on Linux.
+     */
+    private static final String DUMP_SIGNAL = System.getProperty("truffle.node.js.boundaryProfilerSignal");
+
+    /* File that the collected data are dumped to. If not set, standard error is used. */
+    private static final String DUMP_FILE = System.getProperty("truffle.node.js.boundaryProfilerFile");
+
+    private static final int BUCKET_COUNT = 64;
+
+    private static final Assumption neverStarted = Truffle.getRuntime().createAssumption("NativeBoundaryProfiler never started");
+    private static volatile int samplingRate;
+    private static volatile long intervalStart = System.nanoTime();
+    private static final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    private NativeBoundaryProfiler() {
+    }
+
+    static void initialize() {
+        if (INITIAL_SAMPLING_RATE > 0) {
+            start(INITIAL_SAMPLING_RATE);
+        }
+        if (DUMP_SIGNAL != null) {
+            try {
+                sun.misc.Signal.handle(new sun.misc.Signal(DUMP_SIGNAL), signal -> dump());
+            } catch (IllegalArgumentException iaex) {
+                System.err.println("Cannot install the native boundary profiler signal handler: " + iaex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Determines whether the calls should be profiled. Folds to {@code false} in compiled code
+     * until the profiler is started.
+     */
+    public static boolean isActive() {
+        return !neverStarted.isValid() && samplingRate > 0;
+    }
+
+    /**
+     * Starts (or changes the sampling rate of) the profiler: the duration of every
+     * {@code rate}-th call is measured.
+     */
+    public static void start(int rate) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("sampling rate must be positive");
+        }
+        samplingRate = rate;
+        neverStarted.invalidate();
+    }
+
+    /**
+     * Stops the profiler. The collected data are kept until {@link #reset()}.
+     */
+    public static void stop() {
+        samplingRate = 0;
+    }
+
+    /**
+     * Zeroes the collected data. The counters are kept (and reset in place) because the
+     * instrumented nodes cache them.
+     */
+    public static void reset() {
+        for (Counters c : counters.values()) {
+            c.reset();
+        }
+        intervalStart = System.nanoTime();
+    }
+
+    /**
+     * Returns the counters of the native calls of the given kind that belong to the template (or
+     * accessor or property handler) with the given id. The name is used for reporting only.
+     */
+    @TruffleBoundary
+    public static Counters getCounters(String kind, Object name, int id) {
+        String key = kind + ": " + name + "#" + id;
+        return counters.computeIfAbsent(key, k -> new Counters(kind, String.valueOf(name), id));
+    }
+
+    /**
+     * Writes the collected data to the configured file (or standard error) and resets them.
+     */
+    @TruffleBoundary
+    public static void dump() {
+        String json = toJSON();
+        reset();
+        if (DUMP_FILE == null) {
+            System.err.println(json);
+        } else {
+            try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(DUMP_FILE, true), StandardCharsets.UTF_8))) {
+                writer.println(json);
+            } catch (IOException ioex) {
+                System.err.println("Cannot write the native boundary profile: " + ioex.getMessage());
+            }
+        }
+    }
+
+    @TruffleBoundary
+    public static String toJSON() {
+        List<Counters> sorted = new ArrayList<>(counters.values());
+        sorted.sort((c1, c2) -> Long.compare(c2.estimatedNanos(), c1.estimatedNanos()));
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"samplingRate\":").append(samplingRate);
+        sb.append(",\"intervalNanos\":").append(System.nanoTime() - intervalStart);
+        sb.append(",\"methods\":[");
+        boolean first = true;
+        for (Counters c : sorted) {
+            if (c.calls.get() == 0) {
+                continue;
+            }
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            c.appendJSON(sb);
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    /**
+     * Call and time counters of one kind of native call (for example of all calls of one native
+     * function).
+     */
+    public static final class Counters {
+        private final String kind;
+        private final String name;
+        private final int id;
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong samples = new AtomicLong();
+        private final AtomicLong sampledNanos = new AtomicLong();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKET_COUNT);
+
+        Counters(String kind, String name, int id) {
+            this.kind = kind;
+            this.name = name;
+            this.id = id;
+        }
+
+        void reset() {
+            calls.set(0);
+            samples.set(0);
+            sampledNanos.set(0);
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                histogram.set(i, 0);
+            }
+        }
+
+        /**
+         * Counts a call. Returns the start time of the call if its duration should be measured and
+         * zero otherwise.
+         */
+        @TruffleBoundary
+        public long enter() {
+            int rate = samplingRate;
+            if (rate > 0 && calls.incrementAndGet() % rate == 0) {
+                return System.nanoTime();
+            }
+            return 0;
+        }
+
+        /**
+         * Records the duration of a call whose {@link #enter()} returned {@code start}.
+         */
+        @TruffleBoundary
+        public void exit(long start) {
+            long elapsed = Math.max(0, System.nanoTime() - start);
+            samples.incrementAndGet();
+            sampledNanos.addAndGet(elapsed);
+            // elapsed < 2^bucket
+            int bucket = Long.SIZE - Long.numberOfLeadingZeros(elapsed);
+            histogram.incrementAndGet(bucket);
+        }
+
+        long estimatedNanos() {
+            long sampleCount = samples.get();
+            if (sampleCount == 0) {
+                return 0;
+            }
+            return (long) (sampledNanos.get() * ((double) calls.get() / sampleCount));
+        }
+
+        void appendJSON(StringBuilder sb) {
+            long sampleCount = samples.get();
+            sb.append("{\"kind\":").append(JSRuntime.quote(kind));
+            sb.append(",\"name\":").append(JSRuntime.quote(name));
+            sb.append(",\"id\":").append(id);
+            sb.append(",\"calls\":").append(calls.get());
+            sb.append(",\"samples\":").append(sampleCount);
+            sb.append(",\"sampledNanos\":").append(sampledNanos.get());
+            sb.append(",\"estimatedNanos\":").append(estimatedNanos());
+            sb.append(",\"meanNanos\":").append(sampleCount == 0 ? 0 : sampledNanos.get() / sampleCount);
+            // bucket i counts the samples that took less than 2^i nanoseconds
+            sb.append(",\"histogram\":{");
+            boolean first = true;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long count = histogram.get(i);
+                if (count != 0) {
+                    if (!first) {
+                        sb.append(',');
+                    }
+                    first = false;
+                    sb.append(String.format(Locale.ROOT, "\"<%d\":%d", i == BUCKET_COUNT - 1 ? Long.MAX_VALUE : 1L << i, count));
+                }
+            }
+            sb.append("}}");
+        }
+    }
+
+}
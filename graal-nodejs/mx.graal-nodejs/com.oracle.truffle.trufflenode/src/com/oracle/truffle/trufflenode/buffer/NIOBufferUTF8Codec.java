@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and license the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.js.runtime.objects.JSLazyString;
+
+/**
+ * UTF-8 encoding and decoding between strings and direct buffers without the intermediate
+ * {@code CharBuffer}s and coder objects of {@code java.nio.charset}. Input that cannot be
+ * converted strictly (unpaired surrogates, malformed byte sequences) is reported to the caller,
+ * which leaves the replacement semantics to the native implementation.
+ */
+final class NIOBufferUTF8Codec {
+
+    /** Returned by the encoders when the string contains an unpaired surrogate. */
+    static final int MALFORMED = -1;
+
+    private static final int CHUNK_SIZE = 4096;
+
+    private NIOBufferUTF8Codec() {
+    }
+
+    /**
+     * Encodes as many complete characters of {@code src} as fit between the position and the limit
+     * of {@code dst} and advances the position accordingly.
+     *
+     * @return the number of encoded characters or {@link #MALFORMED}
+     */
+    @TruffleBoundary
+    static int encode(String src, ByteBuffer dst) {
+        int length = src.length();
+        int pos = dst.position();
+        int limit = dst.limit();
+        int i = 0;
+        int asciiEnd = Math.min(length, limit - pos);
+        while (i < asciiEnd) {
+            char c = src.charAt(i);
+            if (c >= 0x80) {
+                break;
+            }
+            dst.put(pos++, (byte) c);
+            i++;
+        }
+        while (i < length) {
+            char c = src.charAt(i);
+            int codePoint = c;
+            int charCount = 1;
+            if (Character.isSurrogate(c)) {
+                if (!Character.isHighSurrogate(c) || i + 1 >= length || !Character.isLowSurrogate(src.charAt(i + 1))) {
+                    return MALFORMED;
+                }
+                codePoint = Character.toCodePoint(c, src.charAt(i + 1));
+                charCount = 2;
+            }
+            if (pos + byteLength(codePoint) > limit) {
+                break;
+            }
+            pos = put(dst, pos, codePoint);
+            i += charCount;
+        }
+        dst.position(pos);
+        return i;
+    }
+
+    /**
+     * Same as {@link #encode(String, ByteBuffer)} for the first {@code length} characters of
+     * {@code src}.
+     */
+    private static int encode(char[] src, int length, ByteBuffer dst) {
+        int pos = dst.position();
+        int limit = dst.limit();
+        int i = 0;
+        int asciiEnd = Math.min(length, limit - pos);
+        while (i < asciiEnd) {
+            char c = src[i];
+            if (c >= 0x80) {
+                break;
+            }
+            dst.put(pos++, (byte) c);
+            i++;
+        }
+        while (i < length) {
+            char c = src[i];
+            int codePoint = c;
+            int charCount = 1;
+            if (Character.isSurrogate(c)) {
+                if (!Character.isHighSurrogate(c) || i + 1 >= length || !Character.isLowSurrogate(src[i + 1])) {
+                    return MALFORMED;
+                }
+                codePoint = Character.toCodePoint(c, src[i + 1]);
+                charCount = 2;
+            }
+            if (pos + byteLength(codePoint) > limit) {
+                break;
+            }
+            pos = put(dst, pos, codePoint);
+            i += charCount;
+        }
+        dst.position(pos);
+        return i;
+    }
+
+    /**
+     * Encodes a lazy string chunk by chunk, so that neither the string gets flattened nor more of
+     * it is copied than fits into {@code dst}.
+     */
+    @TruffleBoundary
+    static int encode(JSLazyString src, ByteBuffer dst) {
+        int length = src.length();
+        char[] chunk = new char[Math.min(length, CHUNK_SIZE)];
+        int i = 0;
+        while (i < length && dst.hasRemaining()) {
+            int end = Math.min(length, i + chunk.length);
+            src.getChars(i, end, chunk, 0);
+            int chunkLength = end - i;
+            if (end < length && Character.isHighSurrogate(chunk[chunkLength - 1])) {
+                // do not split a surrogate pair
+                chunkLength--;
+            }
+            int encoded = encode(chunk, chunkLength, dst);
+            if (encoded == MALFORMED) {
+                return MALFORMED;
+            }
+            i += encoded;
+            if (encoded < chunkLength) {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static int byteLength(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        } else if (codePoint < 0x800) {
+            return 2;
+        } else if (codePoint < 0x10000) {
+            return 3;
+        } else {
+            return 4;
+        }
+    }
+
+    private static int put(ByteBuffer dst, int pos, int codePoint) {
+        int p = pos;
+        if (codePoint < 0x80) {
+            dst.put(p++, (byte) codePoint);
+        } else if (codePoint < 0x800) {
+            dst.put(p++, (byte) (0xC0 | (codePoint >> 6)));
+            dst.put(p++, (byte) (0x80 | (codePoint & 0x3F)));
+        } else if (codePoint < 0x10000) {
+            dst.put(p++, (byte) (0xE0 | (codePoint >> 12)));
+            dst.put(p++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            dst.put(p++, (byte) (0x80 | (codePoint & 0x3F)));
+        } else {
+            dst.put(p++, (byte) (0xF0 | (codePoint >> 18)));
+            dst.put(p++, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+            dst.put(p++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            dst.put(p++, (byte) (0x80 | (codePoint & 0x3F)));
+        }
+        return p;
+    }
+
+    /**
+     * Decodes the bytes between the position and the limit of {@code src}.
+     *
+     * @throws CharacterCodingException if the bytes are not well-formed UTF-8
+     */
+    @TruffleBoundary
+    static String decode(ByteBuffer src) throws CharacterCodingException {
+        int length = src.remaining();
+        byte[] bytes = new byte[length];
+        src.get(bytes);
+        int i = 0;
+        while (i < length && bytes[i] >= 0) {
+            i++;
+        }
+        if (i == length) {
+            // ASCII only
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+        char[] chars = new char[length];
+        for (int j = 0; j < i; j++) {
+            chars[j] = (char) bytes[j];
+        }
+        int n = i;
+        while (i < length) {
+            int b = bytes[i];
+            if (b >= 0) {
+                chars[n++] = (char) b;
+                i++;
+                continue;
+            }
+            b &= 0xFF;
+            if (b >= 0xC2 && b <= 0xDF) {
+                int b1 = continuation(bytes, i + 1, 0x80, 0xBF);
+                chars[n++] = (char) (((b & 0x1F) << 6) | b1);
+                i += 2;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                int b1 = continuation(bytes, i + 1, b == 0xE0 ? 0xA0 : 0x80, b == 0xED ? 0x9F : 0xBF);
+                int b2 = continuation(bytes, i + 2, 0x80, 0xBF);
+                chars[n++] = (char) (((b & 0x0F) << 12) | (b1 << 6) | b2);
+                i += 3;
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                int b1 = continuation(bytes, i + 1, b == 0xF0 ? 0x90 : 0x80, b == 0xF4 ? 0x8F : 0xBF);
+                int b2 = continuation(bytes, i + 2, 0x80, 0xBF);
+                int b3 = continuation(bytes, i + 3, 0x80, 0xBF);
+                int codePoint = ((b & 0x07) << 18) | (b1 << 12) | (b2 << 6) | b3;
+                chars[n++] = Character.highSurrogate(codePoint);
+                chars[n++] = Character.lowSurrogate(codePoint);
+                i += 4;
+            } else {
+                throw new CharacterCodingException();
+            }
+        }
+        return new String(chars, 0, n);
+    }
+
+    /**
+     * Returns the payload bits of the continuation byte at {@code index}, which must lie between
+     * {@code min} and {@code max}.
+     */
+    private static int continuation(byte[] bytes, int index, int min, int max) throws CharacterCodingException {
+        if (index >= bytes.length) {
+            throw new CharacterCodingException();
+        }
+        int b = bytes[index] & 0xFF;
+        if (b < min || b > max) {
+            throw new CharacterCodingException();
+        }
+        return b & 0x3F;
+    }
+}
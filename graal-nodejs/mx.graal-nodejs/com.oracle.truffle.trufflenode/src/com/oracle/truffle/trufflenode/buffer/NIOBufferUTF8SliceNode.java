@@ -41,12 +41,8 @@
 package com.oracle.truffle.trufflenode.buffer;
 
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
-import java.nio.charset.CharsetDecoder;
-import java.nio.charset.CodingErrorAction;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.profiles.BranchProfile;
@@ -135,16 +131,7 @@ public abstract class NIOBufferUTF8SliceNode extends NIOBufferAccessNode {
         ByteBuffer data = sliceBuffer(rawBuffer, byteOffset);
         data.position(start);
         data.limit(end);
-        return doDecode(data);
-    }
-
-    @TruffleBoundary
-    private static Object doDecode(ByteBuffer data) throws CharacterCodingException {
-        CharsetDecoder decoder = utf8.newDecoder();
-        decoder.onMalformedInput(CodingErrorAction.REPORT);
-        decoder.onUnmappableCharacter(CodingErrorAction.REPORT);
-        CharBuffer decoded = decoder.decode(data);
-        return decoded.toString();
+        return NIOBufferUTF8Codec.decode(data);
     }
 
     private static boolean oobCheck(int start, int end) {
@@ -41,13 +41,8 @@
 package com.oracle.truffle.trufflenode.buffer;
 
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
-import java.nio.charset.CharsetEncoder;
-import java.nio.charset.CoderResult;
-import java.nio.charset.CodingErrorAction;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.profiles.BranchProfile;
@@ -58,6 +53,7 @@ import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
+import com.oracle.truffle.js.runtime.objects.JSLazyString;
 import com.oracle.truffle.trufflenode.GraalJSAccess;
 
 public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
@@ -76,8 +72,8 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
         return GraalJSAccess.getRealmEmbedderData(getContext().getRealm()).getNativeUtf8Write();
     }
 
-    @Specialization(guards = "accept(target)")
-    public Object write(DynamicObject target, String str, int destOffset, int bytes) {
+    @Specialization(guards = {"accept(target)", "isString(str)"})
+    public Object write(DynamicObject target, CharSequence str, int destOffset, int bytes) {
         try {
             return doWrite(target, str, destOffset, bytes);
         } catch (CharacterCodingException e) {
@@ -85,26 +81,26 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
         }
     }
 
-    @Specialization(guards = {"accept(target)", "isUndefined(bytes)"})
-    public Object writeDefaultOffset(DynamicObject target, String str, int destOffset, Object bytes) {
+    @Specialization(guards = {"accept(target)", "isString(str)", "isUndefined(bytes)"})
+    public Object writeDefaultOffset(DynamicObject target, CharSequence str, int destOffset, Object bytes) {
         try {
-            return doWrite(target, str, destOffset, getBytes(str).length);
+            return doWrite(target, str, destOffset, Integer.MAX_VALUE);
         } catch (CharacterCodingException e) {
             return doNativeFallback(target, str, destOffset, bytes);
         }
     }
 
-    @Specialization(guards = {"accept(target)", "isUndefined(destOffset)", "isUndefined(bytes)"})
-    public Object writeDefaultValues(DynamicObject target, String str, Object destOffset, Object bytes) {
+    @Specialization(guards = {"accept(target)", "isString(str)", "isUndefined(destOffset)", "isUndefined(bytes)"})
+    public Object writeDefaultValues(DynamicObject target, CharSequence str, Object destOffset, Object bytes) {
         try {
-            return doWrite(target, str, 0, getBytes(str).length);
+            return doWrite(target, str, 0, Integer.MAX_VALUE);
         } catch (CharacterCodingException e) {
             return doNativeFallback(target, str, destOffset, bytes);
         }
     }
 
-    @Specialization(guards = "accept(target)")
-    public Object write(DynamicObject target, String str, double destOffset, double bytes) {
+    @Specialization(guards = {"accept(target)", "isString(str)"})
+    public Object write(DynamicObject target, CharSequence str, double destOffset, double bytes) {
         try {
             return doWrite(target, str, toInt.executeInt(destOffset), toInt.executeInt(bytes));
         } catch (CharacterCodingException e) {
@@ -123,12 +119,12 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
         throw Errors.createTypeErrorArrayBufferViewExpected();
     }
 
-    private Object doNativeFallback(DynamicObject target, String str, Object destOffset, Object bytes) {
+    private Object doNativeFallback(DynamicObject target, CharSequence str, Object destOffset, Object bytes) {
         nativePath.enter();
         return JSFunction.call(getNativeUtf8Write(), target, new Object[]{str, destOffset, bytes});
     }
 
-    private int doWrite(DynamicObject target, String str, int destOffset, int bytes) throws CharacterCodingException {
+    private int doWrite(DynamicObject target, CharSequence str, int destOffset, int bytes) throws CharacterCodingException {
         boolean isArrayBufferView = JSArrayBufferView.isJSArrayBufferView(target);
         DynamicObject arrayBuffer = getArrayBuffer(target, isArrayBufferView);
         int bufferOffset = getOffset(target, isArrayBufferView);
@@ -141,38 +137,19 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
         ByteBuffer rawBuffer = getDirectByteBuffer(arrayBuffer);
         ByteBuffer buffer = sliceBuffer(rawBuffer, bufferOffset);
         buffer.position(destOffset);
-        buffer.limit(Math.min(bufferLen, destOffset + bytes));
+        buffer.limit(destOffset + Math.min(bufferLen - destOffset, bytes));
 
-        CoderResult res = doEncode(str, buffer);
-        if (cannotEncode(res)) {
+        int encoded;
+        if (str instanceof String) {
+            encoded = NIOBufferUTF8Codec.encode((String) str, buffer);
+        } else {
+            encoded = NIOBufferUTF8Codec.encode((JSLazyString) str, buffer);
+        }
+        if (encoded == NIOBufferUTF8Codec.MALFORMED) {
             errorBranch.enter();
             throw new CharacterCodingException();
         }
         return buffer.position() - destOffset;
     }
 
-    @TruffleBoundary
-    private static CoderResult doEncode(String str, ByteBuffer buffer) {
-        CharsetEncoder encoder = utf8.newEncoder();
-        encoder.onMalformedInput(CodingErrorAction.REPORT);
-        encoder.onUnmappableCharacter(CodingErrorAction.REPORT);
-        CharBuffer cb = CharBuffer.wrap(str);
-        CoderResult res = encoder.encode(cb, buffer, true);
-
-        if (res.isUnderflow()) {
-            encoder.encode(cb, buffer, true);
-            res = encoder.flush(buffer);
-        }
-        return res;
-    }
-
-    @TruffleBoundary
-    private static byte[] getBytes(String str) {
-        return str.getBytes(utf8);
-    }
-
-    private static boolean cannotEncode(CoderResult res) {
-        return res.isMalformed() || res.isUnmappable() || res.isError();
-    }
-
 }
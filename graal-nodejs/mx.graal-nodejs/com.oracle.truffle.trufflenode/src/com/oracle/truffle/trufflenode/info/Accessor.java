@@ -97,6 +97,10 @@ public class Accessor {
         return attributes;
     }
 
+    public int getID() {
+        return id;
+    }
+
     private Pair<JSFunctionData, JSFunctionData> createFunctions(JSContext context) {
         JSFunctionData getter = (getterPtr == 0) ? null : createFunction(context, true);
         JSFunctionData setter = JSAttributes.isWritable(attributes) ? createFunction(context, false) : null;
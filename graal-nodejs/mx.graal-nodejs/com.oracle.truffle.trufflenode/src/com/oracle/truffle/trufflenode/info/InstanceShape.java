@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.info;
+
+import java.util.List;
+
+import com.oracle.truffle.api.object.HiddenKey;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.runtime.util.Pair;
+
+/**
+ * Result of an instantiation of an {@link ObjectTemplate} on an object with a given initial shape:
+ * the final shape and the properties defined by the template entries, i.e., by
+ * {@link ObjectTemplate#getAccessors() accessors} followed by {@link ObjectTemplate#getValues()
+ * values}. Further instances with the same initial shape can be switched to the final shape at
+ * once and their properties stored directly.
+ */
+public final class InstanceShape {
+
+    private final Shape initialShape;
+    private final Shape finalShape;
+    private final Property[] properties;
+
+    private InstanceShape(Shape initialShape, Shape finalShape, Property[] properties) {
+        this.initialShape = initialShape;
+        this.finalShape = finalShape;
+        this.properties = properties;
+    }
+
+    /**
+     * Creates the instance shape of the given template, or returns {@code null} when the
+     * instantiation did not define exactly one new property with a storage location per entry.
+     */
+    public static InstanceShape create(ObjectTemplate template, Shape initialShape, Shape finalShape) {
+        List<Accessor> accessors = template.getAccessors();
+        List<Value> values = template.getValues();
+        Property[] properties = new Property[accessors.size() + values.size()];
+        int defined = 0;
+        for (int i = 0; i < properties.length; i++) {
+            Object name;
+            if (i < accessors.size()) {
+                name = accessors.get(i).getName();
+            } else {
+                Value value = values.get(i - accessors.size());
+                name = value.getName();
+                if (name instanceof HiddenKey && template.hasPropertyHandler() && !(value.getValue() instanceof Pair)) {
+                    // set on the proxy, not on the instance
+                    continue;
+                }
+            }
+            if (initialShape.hasProperty(name)) {
+                return null;
+            }
+            Property property = finalShape.getProperty(name);
+            if (property == null || property.getLocation().isValue()) {
+                return null;
+            }
+            properties[i] = property;
+            defined++;
+        }
+        if (finalShape.getPropertyCount() != initialShape.getPropertyCount() + defined) {
+            return null;
+        }
+        return new InstanceShape(initialShape, finalShape, properties);
+    }
+
+    public boolean isValid() {
+        return initialShape.isValid() && finalShape.isValid();
+    }
+
+    public Shape getInitialShape() {
+        return initialShape;
+    }
+
+    public Shape getFinalShape() {
+        return finalShape;
+    }
+
+    /**
+     * Returns the property defined by the template entry with the given index or {@code null} if
+     * the entry does not define a property on the instance.
+     */
+    public Property getProperty(int index) {
+        return properties[index];
+    }
+
+}
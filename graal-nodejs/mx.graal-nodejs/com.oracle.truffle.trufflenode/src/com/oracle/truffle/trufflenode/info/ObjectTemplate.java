@@ -43,6 +43,9 @@ package com.oracle.truffle.trufflenode.info;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.oracle.truffle.api.object.Shape;
 
 /**
  *
@@ -50,6 +53,10 @@ import java.util.List;
  */
 public final class ObjectTemplate {
 
+    private static final int MAX_INSTANCE_SHAPES = 4;
+    private static final InstanceShape[] EMPTY_INSTANCE_SHAPES = new InstanceShape[0];
+    private static final AtomicInteger propertyHandlerIdGenerator = new AtomicInteger();
+
     private List<Accessor> accessors;
     private List<Value> values;
     private PropertyHandler indexedPropertyHandler;
@@ -57,6 +64,8 @@ public final class ObjectTemplate {
     private boolean stringKeysOnly;
     private FunctionTemplate functionHandler;
     private FunctionTemplate parentFunctionTemplate;
+    private volatile InstanceShape[] instanceShapes = EMPTY_INSTANCE_SHAPES;
+    private int propertyHandlerId = -1;
 
     public List<Accessor> getAccessors() {
         return (accessors == null) ? Collections.emptyList() : accessors;
@@ -67,6 +76,7 @@ public final class ObjectTemplate {
             accessors = new ArrayList<>();
         }
         accessors.add(accessor);
+        invalidateInstanceShapes();
     }
 
     public List<Value> getValues() {
@@ -78,10 +88,13 @@ public final class ObjectTemplate {
             values = new ArrayList<>();
         }
         values.add(value);
+        invalidateInstanceShapes();
     }
 
     public void setIndexedPropertyHandler(PropertyHandler indexedPropertyHandler) {
         this.indexedPropertyHandler = indexedPropertyHandler;
+        this.propertyHandlerId = propertyHandlerIdGenerator.getAndIncrement();
+        invalidateInstanceShapes();
     }
 
     public PropertyHandler getIndexedPropertyHandler() {
@@ -91,6 +104,8 @@ public final class ObjectTemplate {
     public void setNamedPropertyHandler(PropertyHandler namedPropertyHandler, boolean stringKeysOnly) {
         this.namedPropertyHandler = namedPropertyHandler;
         this.stringKeysOnly = stringKeysOnly;
+        this.propertyHandlerId = propertyHandlerIdGenerator.getAndIncrement();
+        invalidateInstanceShapes();
     }
 
     public PropertyHandler getNamedPropertyHandler() {
@@ -101,6 +116,14 @@ public final class ObjectTemplate {
         return stringKeysOnly;
     }
 
+    /**
+     * Identifies the current combination of property handlers of this template. The trap
+     * functions of the proxies created for this template are shared under this id.
+     */
+    public int getPropertyHandlerId() {
+        return propertyHandlerId;
+    }
+
     public boolean hasPropertyHandler() {
         return (namedPropertyHandler != null) || (indexedPropertyHandler != null);
     }
@@ -121,4 +144,34 @@ public final class ObjectTemplate {
         return parentFunctionTemplate;
     }
 
+    /**
+     * Returns the cached shape of the instances of this template whose initial shape is
+     * {@code initialShape}, or {@code null} if there is none.
+     */
+    public InstanceShape getInstanceShape(Shape initialShape) {
+        for (InstanceShape instanceShape : instanceShapes) {
+            if (instanceShape.getInitialShape() == initialShape) {
+                return instanceShape.isValid() ? instanceShape : null;
+            }
+        }
+        return null;
+    }
+
+    public void addInstanceShape(InstanceShape instanceShape) {
+        List<InstanceShape> shapes = new ArrayList<>(MAX_INSTANCE_SHAPES);
+        for (InstanceShape cached : instanceShapes) {
+            if (cached.isValid() && cached.getInitialShape() != instanceShape.getInitialShape()) {
+                shapes.add(cached);
+            }
+        }
+        if (shapes.size() < MAX_INSTANCE_SHAPES) {
+            shapes.add(instanceShape);
+            instanceShapes = shapes.toArray(EMPTY_INSTANCE_SHAPES);
+        }
+    }
+
+    private void invalidateInstanceShapes() {
+        instanceShapes = EMPTY_INSTANCE_SHAPES;
+    }
+
 }
@@ -41,6 +41,7 @@
 package com.oracle.truffle.trufflenode.node;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.profiles.BranchProfile;
@@ -53,6 +54,7 @@ import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.trufflenode.GraalJSAccess;
 import com.oracle.truffle.trufflenode.NativeAccess;
+import com.oracle.truffle.trufflenode.NativeBoundaryProfiler;
 import com.oracle.truffle.trufflenode.info.Accessor;
 import com.oracle.truffle.trufflenode.info.FunctionTemplate;
 
@@ -70,6 +72,7 @@ public class ExecuteNativeAccessorNode extends JavaScriptRootNode {
     @Child private GetPrototypeNode getPrototypeNode;
     @Child private PropertyGetNode prototypePropertyGetNode;
     @Child private PropertyGetNode holderPropertyGetNode;
+    @CompilationFinal private NativeBoundaryProfiler.Counters profilerCounters;
 
     public ExecuteNativeAccessorNode(GraalJSAccess graalAccess, JSContext context, Accessor accessor, boolean getter) {
         this.graalAccess = graalAccess;
@@ -101,9 +104,27 @@ public class ExecuteNativeAccessorNode extends JavaScriptRootNode {
             return false;
         }
         Object holder = holderPropertyGetNode.getValue(arguments[1]);
+        if (NativeBoundaryProfiler.isActive()) {
+            long start = profilerEnter();
+            try {
+                return executeAccessorMethod(functionPointer, holder, arguments);
+            } finally {
+                if (start != 0) {
+                    profilerCounters.exit(start);
+                }
+            }
+        }
         return executeAccessorMethod(functionPointer, holder, arguments);
     }
 
+    private long profilerEnter() {
+        if (profilerCounters == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            profilerCounters = NativeBoundaryProfiler.getCounters(getter ? "getter" : "setter", accessor.getName(), accessor.getID());
+        }
+        return profilerCounters.enter();
+    }
+
     @CompilerDirectives.TruffleBoundary
     private String incompatibleReceiverMessage() {
         return "Method " + accessor.getName() + " called on incompatible receiver";
@@ -41,6 +41,7 @@
 package com.oracle.truffle.trufflenode.node;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.instrumentation.StandardTags;
 import com.oracle.truffle.api.instrumentation.Tag;
@@ -62,6 +63,7 @@ import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.trufflenode.GraalJSAccess;
 import com.oracle.truffle.trufflenode.NativeAccess;
+import com.oracle.truffle.trufflenode.NativeBoundaryProfiler;
 import com.oracle.truffle.trufflenode.info.FunctionTemplate;
 import com.oracle.truffle.trufflenode.info.ObjectTemplate;
 
@@ -91,6 +93,7 @@ public class ExecuteNativeFunctionNode extends JavaScriptNode {
     @Child private ObjectTemplateNode instanceTemplateNode;
     @Child private PropertySetNode setConstructorTemplateNode;
     @Child private PropertyGetNode getConstructorTemplateNode;
+    @CompilationFinal private NativeBoundaryProfiler.Counters profilerCounters;
 
     ExecuteNativeFunctionNode(GraalJSAccess graalAccess, JSContext context, FunctionTemplate template, boolean isNew, boolean isNewTarget) {
         super(createSourceSection());
@@ -124,6 +127,28 @@ public class ExecuteNativeFunctionNode extends JavaScriptNode {
 
     @Override
     public Object execute(VirtualFrame frame) {
+        if (NativeBoundaryProfiler.isActive()) {
+            long start = profilerEnter();
+            try {
+                return executeNative(frame);
+            } finally {
+                if (start != 0) {
+                    profilerCounters.exit(start);
+                }
+            }
+        }
+        return executeNative(frame);
+    }
+
+    private long profilerEnter() {
+        if (profilerCounters == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            profilerCounters = NativeBoundaryProfiler.getCounters(isNew ? "constructor" : "function", getRootNode().getName(), templateID);
+        }
+        return profilerCounters.enter();
+    }
+
+    private Object executeNative(VirtualFrame frame) {
         Object[] arguments = frame.getArguments();
         DynamicObject thisObject = (DynamicObject) arguments[0];
         JSRealm realm = JSFunction.getRealm(JSFrameUtil.getFunctionObject(frame));
@@ -43,12 +43,15 @@ package com.oracle.truffle.trufflenode.node;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.HiddenKey;
 import com.oracle.truffle.js.nodes.access.PropertyGetNode;
+import com.oracle.truffle.js.nodes.access.ReadElementNode;
 import com.oracle.truffle.js.runtime.JSArguments;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
@@ -62,6 +65,7 @@ import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.trufflenode.GraalJSAccess;
 import com.oracle.truffle.trufflenode.NativeAccess;
+import com.oracle.truffle.trufflenode.NativeBoundaryProfiler;
 import com.oracle.truffle.trufflenode.info.ObjectTemplate;
 import com.oracle.truffle.trufflenode.info.PropertyHandler;
 
@@ -70,13 +74,18 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
     private final JSContext context;
     private final PropertyHandler namedHandler;
     private final PropertyHandler indexedHandler;
-    private final Object proxy;
     private final Object namedHandlerData;
     private final Object indexedHandlerData;
     private final Mode mode;
+    private final int propertyHandlerId;
     private final boolean stringKeysOnly;
+    /** Whether the named/indexed handler has a callback for this mode (negative cache). */
+    private final boolean namedCallback;
+    private final boolean indexedCallback;
 
     @Child private PropertyGetNode holderPropertyGetNode;
+    @Child private ReadElementNode targetReadNode;
+    @CompilationFinal private NativeBoundaryProfiler.Counters profilerCounters;
 
     public enum Mode {
         GETTER,
@@ -88,7 +97,12 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
         DEFINE_PROPERTY
     }
 
-    public ExecuteNativePropertyHandlerNode(GraalJSAccess graalAccess, JSContext context, ObjectTemplate template, Object proxy, Mode mode) {
+    /**
+     * Creates the node for one trap of the proxies created for {@code template}. The node does not
+     * depend on a particular proxy (the proxy is the holder of the trap function), so that it can
+     * be shared by all instances of the template.
+     */
+    public ExecuteNativePropertyHandlerNode(GraalJSAccess graalAccess, JSContext context, ObjectTemplate template, Mode mode) {
         this.graalAccess = graalAccess;
         this.context = context;
         this.indexedHandler = template.getIndexedPropertyHandler();
@@ -96,26 +110,71 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
         this.namedHandler = template.getNamedPropertyHandler();
         this.namedHandlerData = (namedHandler == null) ? null : namedHandler.getData();
         this.stringKeysOnly = template.getStringKeysOnly();
-        this.proxy = proxy;
         this.mode = mode;
+        this.propertyHandlerId = template.getPropertyHandlerId();
+        this.namedCallback = hasCallback(namedHandler, mode);
+        this.indexedCallback = hasCallback(indexedHandler, mode);
         this.holderPropertyGetNode = PropertyGetNode.createGetHidden(GraalJSAccess.HOLDER_KEY, context);
+        if (mode == Mode.GETTER) {
+            this.targetReadNode = ReadElementNode.create(context);
+        }
+    }
+
+    private static boolean hasCallback(PropertyHandler handler, Mode mode) {
+        if (handler == null) {
+            return false;
+        }
+        switch (mode) {
+            case GETTER:
+                return handler.getGetter() != 0;
+            case QUERY:
+                return handler.getQuery() != 0 || handler.getDescriptor() != 0;
+            default:
+                return true;
+        }
     }
 
     @Override
     public Object execute(VirtualFrame frame) {
         Object[] arguments = frame.getArguments();
         Object holder = holderPropertyGetNode.getValue(arguments[1]);
+        if (NativeBoundaryProfiler.isActive()) {
+            long start = profilerEnter();
+            try {
+                return executePropertyHandlerMethod(holder, arguments);
+            } finally {
+                if (start != 0) {
+                    profilerCounters.exit(start);
+                }
+            }
+        }
         return executePropertyHandlerMethod(holder, arguments);
     }
 
+    private long profilerEnter() {
+        if (profilerCounters == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            profilerCounters = NativeBoundaryProfiler.getCounters("interceptor", mode.name().toLowerCase(Locale.ROOT), propertyHandlerId);
+        }
+        return profilerCounters.enter();
+    }
+
     private Object executePropertyHandlerMethod(Object holder, Object[] arguments) {
         switch (mode) {
             case GETTER:
-                return executeGetter(holder, arguments);
+                if (hasCallback(arguments[3])) {
+                    return executeGetter(holder, arguments);
+                } else {
+                    return targetReadNode.executeWithTargetAndIndex(arguments[2], arguments[3]);
+                }
             case SETTER:
                 return executeSetter(holder, arguments);
             case QUERY:
-                return executeQuery(holder, arguments);
+                if (hasCallback(arguments[3])) {
+                    return executeQuery(holder, arguments);
+                } else {
+                    return hasOwnProperty((DynamicObject) arguments[2], arguments[3]);
+                }
             case GET_OWN_PROPERTY_DESCRIPTOR:
                 return executeGetOwnPropertyDescriptor(holder, arguments);
             case DELETER:
@@ -130,16 +189,41 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
         }
     }
 
+    /**
+     * Returns {@code false} if there is certainly no native callback for the given key, i.e., if
+     * the operation can be performed on the target without crossing the native boundary.
+     */
+    private boolean hasCallback(Object key) {
+        if (namedCallback == indexedCallback) {
+            return namedCallback;
+        }
+        if (isArrayIndex(key)) {
+            return indexedCallback;
+        } else {
+            return namedCallback && (!stringKeysOnly || !(key instanceof Symbol));
+        }
+    }
+
+    @CompilerDirectives.TruffleBoundary
+    private static boolean isArrayIndex(Object key) {
+        return JSRuntime.isArrayIndex(key);
+    }
+
+    @CompilerDirectives.TruffleBoundary
+    private static boolean hasOwnProperty(DynamicObject target, Object key) {
+        return JSObject.hasOwnProperty(target, key);
+    }
+
     @CompilerDirectives.TruffleBoundary
     private Object executeGetter(Object holder, Object[] arguments) {
         Object result = null;
         Object key = arguments[3];
         if (!(key instanceof HiddenKey)) {
             if (JSRuntime.isArrayIndex(key)) {
-                if (indexedHandler != null) {
+                if (indexedCallback) {
                     result = NativeAccess.executePropertyHandlerGetter(indexedHandler.getGetter(), holder, arguments, indexedHandlerData, false);
                 }
-            } else if (namedHandler != null) {
+            } else if (namedCallback) {
                 if (!(key instanceof Symbol)) {
                     key = JSRuntime.toString(key);
                 }
@@ -182,7 +266,7 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
         Object key = arguments[3];
         if (JSRuntime.isArrayIndex(key)) {
             if (indexedHandler != null) {
-                Object[] nativeCallArgs = JSArguments.create(proxy, arguments[1], arguments[2], arguments[3]);
+                Object[] nativeCallArgs = JSArguments.create(holder, arguments[1], arguments[2], arguments[3]);
                 if (indexedHandler.getQuery() != 0) {
                     return (NativeAccess.executePropertyHandlerQuery(indexedHandler.getQuery(), holder, nativeCallArgs, indexedHandlerData, false) != null);
                 } else if (indexedHandler.getDescriptor() != 0) {
@@ -194,7 +278,7 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
             }
         } else if (!stringKeysOnly || JSRuntime.isString(key)) {
             if (namedHandler != null) {
-                Object[] nativeCallArgs = JSArguments.create(proxy, arguments[1], arguments[2], arguments[3]);
+                Object[] nativeCallArgs = JSArguments.create(holder, arguments[1], arguments[2], arguments[3]);
                 if (namedHandler.getQuery() != 0) {
                     return (NativeAccess.executePropertyHandlerQuery(namedHandler.getQuery(), holder, nativeCallArgs, namedHandlerData, true) != null);
                 } else if (namedHandler.getDescriptor() != 0) {
@@ -215,12 +299,12 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
         Object key = arguments[3];
         if (JSRuntime.isArrayIndex(key)) {
             if (indexedHandler != null && indexedHandler.getDeleter() != 0) {
-                Object[] nativeCallArgs = JSArguments.create(proxy, arguments[1], arguments[2], arguments[3]);
+                Object[] nativeCallArgs = JSArguments.create(holder, arguments[1], arguments[2], arguments[3]);
                 success = NativeAccess.executePropertyHandlerDeleter(indexedHandler.getDeleter(), holder, nativeCallArgs, indexedHandlerData, false);
             }
         } else if (!stringKeysOnly || JSRuntime.isString(key)) {
             if (namedHandler != null && namedHandler.getDeleter() != 0) {
-                Object[] nativeCallArgs = JSArguments.create(proxy, arguments[1], arguments[2], arguments[3]);
+                Object[] nativeCallArgs = JSArguments.create(holder, arguments[1], arguments[2], arguments[3]);
                 success = NativeAccess.executePropertyHandlerDeleter(namedHandler.getDeleter(), holder, nativeCallArgs, namedHandlerData, true);
             }
         }
@@ -300,14 +384,14 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
         PropertyDescriptor desc = null;
         PropertyHandler handler = named ? namedHandler : indexedHandler;
         Object handlerData = named ? namedHandlerData : indexedHandlerData;
-        Object[] nativeCallArgs = JSArguments.create(proxy, arguments[1], arguments[2], arguments[3]);
+        Object[] nativeCallArgs = JSArguments.create(holder, arguments[1], arguments[2], arguments[3]);
         Object attributes = null;
         if (handler.getQuery() != 0) {
             attributes = NativeAccess.executePropertyHandlerQuery(handler.getQuery(), holder, nativeCallArgs, handlerData, named);
             attributes = graalAccess.correctReturnValue(attributes);
         }
         if (attributes == null && handler.getEnumerator() != 0) {
-            nativeCallArgs = JSArguments.create(proxy, arguments[1], arguments[2]);
+            nativeCallArgs = JSArguments.create(holder, arguments[1], arguments[2]);
             DynamicObject ownKeys = (DynamicObject) NativeAccess.executePropertyHandlerEnumerator(handler.getEnumerator(), holder, nativeCallArgs, handlerData);
             if (JSRuntime.isArray(ownKeys) && arrayContains(ownKeys, arguments[3])) {
                 desc = PropertyDescriptor.undefinedDataDesc;
@@ -315,7 +399,7 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
         } else {
             desc = JSObject.getOwnProperty((DynamicObject) arguments[2], arguments[3]);
             if (desc == null) {
-                Object value = executeGetter(holder, JSArguments.create(arguments[0], arguments[1], arguments[2], arguments[3], proxy));
+                Object value = executeGetter(holder, JSArguments.create(arguments[0], arguments[1], arguments[2], arguments[3], holder));
                 // target does not have a property with this key => the property
                 // cannot be non-configurable according to Proxy invariants
                 desc = GraalJSAccess.propertyDescriptor(makeConfigurable(((Number) attributes).intValue()), value);
@@ -339,7 +423,7 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
 
     @CompilerDirectives.TruffleBoundary
     private Object executeOwnKeys(Object holder, Object[] arguments) {
-        Object[] nativeCallArgs = JSArguments.create(proxy, arguments[1], arguments[2]);
+        Object[] nativeCallArgs = JSArguments.create(holder, arguments[1], arguments[2]);
         DynamicObject ownKeys = null;
         if (namedHandler != null && namedHandler.getEnumerator() != 0) {
             ownKeys = (DynamicObject) NativeAccess.executePropertyHandlerEnumerator(namedHandler.getEnumerator(), holder, nativeCallArgs, namedHandlerData);
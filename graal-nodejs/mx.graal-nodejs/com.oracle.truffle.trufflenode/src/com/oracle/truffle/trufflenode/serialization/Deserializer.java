@@ -60,7 +60,9 @@ import com.oracle.truffle.js.runtime.builtins.JSSet;
 import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
 import com.oracle.truffle.js.runtime.builtins.JSString;
 import com.oracle.truffle.js.runtime.builtins.JSUserObject;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.Undefined;
@@ -91,8 +93,8 @@ public class Deserializer {
     private int version;
     /** ID of the next deserialized object. */
     private int nextId;
-    /** Maps ID of a deserialized object to the object itself. */
-    private Map<Integer, Object> objectMap = new HashMap<>();
+    /** Deserialized objects indexed by their IDs, which are assigned consecutively. */
+    private final List<Object> objectMap = new ArrayList<>();
     /** Maps transfer ID to the transferred object. */
     private Map<Integer, DynamicObject> transferMap = new HashMap<>();
     /** Cache for the last VM-level communication channel. */
@@ -177,6 +179,8 @@ public class Deserializer {
                 return readHostObject();
             case SHARED_JAVA_OBJECT:
                 return readSharedJavaObject(context);
+            case SHARED_JAVA_ARRAY_BUFFER:
+                return readSharedJavaArrayBuffer(context);
             default:
                 throw Errors.createError("Deserialization of a value tagged " + tag);
         }
@@ -340,9 +344,14 @@ public class Deserializer {
         int count = 0;
         while ((tag = readTag()) != endTag) {
             count++;
-            Object key = readValue(context, tag);
+            Object key = JSRuntime.toPropertyKey(readValue(context, tag));
             Object value = readValue(context);
-            JSObject.defineOwnProperty(object, JSRuntime.toPropertyKey(key), PropertyDescriptor.createDataDefault(value));
+            if (JSUserObject.isJSUserObject(object) && key instanceof String && !JSRuntime.isArrayIndex((String) key) && !object.getShape().hasProperty(key)) {
+                // records with the same layout follow the same shape transitions
+                JSObjectUtil.putDataProperty(context, object, key, value, JSAttributes.getDefault());
+            } else {
+                JSObject.defineOwnProperty(object, key, PropertyDescriptor.createDataDefault(value));
+            }
         }
         return count;
     }
@@ -450,7 +459,7 @@ public class Deserializer {
 
     private Object readObjectReference() {
         int id = readVarInt();
-        Object object = objectMap.get(id);
+        Object object = (id >= 0 && id < objectMap.size()) ? objectMap.get(id) : null;
         if (object == null) {
             throw Errors.createError("invalid object reference");
         }
@@ -484,13 +493,25 @@ public class Deserializer {
     }
 
     public Object readSharedJavaObject(JSContext context) {
+        Object element = readSharedJavaRef();
+        return context.getRealm().getEnv().asGuestValue(element);
+    }
+
+    public DynamicObject readSharedJavaArrayBuffer(JSContext context) {
+        ByteBuffer byteBuffer = (ByteBuffer) readSharedJavaRef();
+        DynamicObject arrayBuffer = JSArrayBuffer.createDirectArrayBuffer(context, byteBuffer);
+        assignId(arrayBuffer);
+        return (peekTag() == SerializationTag.ARRAY_BUFFER_VIEW) ? readJSArrayBufferView(context, arrayBuffer) : arrayBuffer;
+    }
+
+    private Object readSharedJavaRef() {
         long messagePortPointer = readVarLong();
         if (messagePortCache == null || messagePortCache.getMessagePortDataPointer() != messagePortPointer) {
             messagePortCache = SharedMemMessagingManager.getMessagePortDataFor(messagePortPointer);
         }
         Object element = messagePortCache.removeJavaRef();
         assert element != null;
-        return context.getRealm().getEnv().asGuestValue(element);
+        return element;
     }
 
     public int readBytes(int length) {
@@ -500,7 +521,9 @@ public class Deserializer {
     }
 
     private <T> T assignId(T object) {
-        objectMap.put(nextId++, object);
+        assert objectMap.size() == nextId;
+        objectMap.add(object);
+        nextId++;
         return object;
     }
 
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.serialization;
+
+/**
+ * Identity map from objects to non-negative {@code int}s using open addressing, so that neither
+ * the values nor the entries are boxed.
+ */
+final class IdentityIntMap {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+    private int[] values = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Returns the value associated with the key, or -1 if there is none.
+     */
+    int get(Object key) {
+        Object[] k = keys;
+        int mask = k.length - 1;
+        int index = hash(key) & mask;
+        Object current;
+        while ((current = k[index]) != null) {
+            if (current == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    void put(Object key, int value) {
+        assert key != null && value >= 0;
+        if (2 * (size + 1) > keys.length) {
+            resize();
+        }
+        if (insert(keys, values, key, value)) {
+            size++;
+        }
+    }
+
+    private static boolean insert(Object[] k, int[] v, Object key, int value) {
+        int mask = k.length - 1;
+        int index = hash(key) & mask;
+        Object current;
+        while ((current = k[index]) != null) {
+            if (current == key) {
+                v[index] = value;
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        k[index] = key;
+        v[index] = value;
+        return true;
+    }
+
+    private void resize() {
+        Object[] oldKeys = keys;
+        int[] oldValues = values;
+        Object[] newKeys = new Object[oldKeys.length * 2];
+        int[] newValues = new int[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                insert(newKeys, newValues, oldKeys[i], oldValues[i]);
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+    }
+
+    private static int hash(Object key) {
+        int h = System.identityHashCode(key) * 0x9E3779B9;
+        // fold the well-mixed high bits into the low bits used for indexing
+        return h ^ (h >>> 16);
+    }
+}
@@ -42,11 +42,17 @@ package com.oracle.truffle.trufflenode.serialization;
 
 import com.oracle.truffle.api.TruffleLanguage.Env;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
 import com.oracle.truffle.js.runtime.array.TypedArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractIntArray;
 import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
@@ -63,7 +69,10 @@ import com.oracle.truffle.js.runtime.builtins.JSRegExp;
 import com.oracle.truffle.js.runtime.builtins.JSSet;
 import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
 import com.oracle.truffle.js.runtime.builtins.JSString;
+import com.oracle.truffle.js.runtime.builtins.JSUserObject;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
+import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.JSHashMap;
@@ -75,6 +84,8 @@ import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
@@ -94,11 +105,17 @@ public class Serializer {
     /** ID of the next serialized object. **/
     private int nextId;
     /** Maps a serialized object to its ID. */
-    private final Map<Object, Integer> objectMap = new IdentityHashMap<>();
+    private final IdentityIntMap objectMap = new IdentityIntMap();
+    /** Enumerable own properties of the shapes seen so far. */
+    private final Map<Shape, ObjectLayout> layoutCache = new HashMap<>();
     /** Maps a transferred object to its transfer ID. */
     private final Map<Object, Integer> transferMap = new IdentityHashMap<>();
     /** Determines whether {@code ArrayBuffer}s should be serialized as host objects. */
     private boolean treatArrayBufferViewsAsHostObjects;
+    /** Transferred {@code ArrayBuffer}s handed over through the message port. */
+    private final List<DynamicObject> movedArrayBuffers = new ArrayList<>();
+    /** Nesting depth of {@link #writeTopLevelValue} (host objects may write values, too). */
+    private int topLevelDepth;
 
     private final Env env;
     private final GraalJSAccess access;
@@ -149,6 +166,30 @@ public class Serializer {
         buffer.put(b);
     }
 
+    /**
+     * Implementation of {@code v8::ValueSerializer::WriteValue}. Transferred {@code ArrayBuffer}s
+     * that were handed over through the message port are marked as externalized only once the
+     * whole value has been written, so that a failed serialization leaves them untouched.
+     */
+    public void writeTopLevelValue(Object value) {
+        topLevelDepth++;
+        boolean success = false;
+        try {
+            writeValue(value);
+            success = true;
+        } finally {
+            topLevelDepth--;
+            if (topLevelDepth == 0) {
+                if (success) {
+                    for (DynamicObject arrayBuffer : movedArrayBuffers) {
+                        access.arrayBufferExternalize(arrayBuffer);
+                    }
+                }
+                movedArrayBuffers.clear();
+            }
+        }
+    }
+
     public void writeValue(Object value) {
         if (value == Boolean.TRUE) {
             writeTag(SerializationTag.TRUE);
@@ -180,8 +221,8 @@ public class Serializer {
     }
 
     private void writeObject(Object object) {
-        Integer id = objectMap.get(object);
-        if (id != null) {
+        int id = objectMap.get(object);
+        if (id >= 0) {
             writeTag(SerializationTag.OBJECT_REFERENCE);
             writeVarInt(id);
             return;
@@ -249,18 +290,16 @@ public class Serializer {
     }
 
     public void writeVarInt(long value) {
+        ensureFreeSpace(10);
         long rest = value;
-        byte[] bytes = new byte[10];
-        int idx = 0;
         do {
-            byte b = (byte) rest;
-            b |= 0x80;
-            bytes[idx] = b;
-            idx++;
+            byte b = (byte) (rest & 0x7f);
             rest >>>= 7;
+            if (rest != 0) {
+                b |= 0x80;
+            }
+            buffer.put(b);
         } while (rest != 0);
-        bytes[idx - 1] &= 0x7f;
-        writeBytes(bytes, idx);
     }
 
     private void writeBytes(byte[] bytes, int length) {
@@ -288,29 +327,29 @@ public class Serializer {
     }
 
     private void writeString(String string) {
-        try {
-            byte[] bytes;
-            SerializationTag tag;
-            String encoding;
-            if (isOneByteString(string)) {
-                tag = SerializationTag.ONE_BYTE_STRING;
-                encoding = "ISO-8859-1";
-            } else {
-                tag = SerializationTag.TWO_BYTE_STRING;
-                encoding = NATIVE_UTF16_ENCODING;
+        if (isOneByteString(string)) {
+            int length = string.length();
+            writeTag(SerializationTag.ONE_BYTE_STRING);
+            writeVarInt(length);
+            ensureFreeSpace(length);
+            for (int i = 0; i < length; i++) {
+                buffer.put((byte) string.charAt(i));
+            }
+        } else {
+            try {
+                writeTag(SerializationTag.TWO_BYTE_STRING);
+                byte[] bytes = string.getBytes(NATIVE_UTF16_ENCODING);
+                writeVarInt(bytes.length);
+                writeBytes(bytes, bytes.length);
+            } catch (UnsupportedEncodingException ueex) {
+                throw Errors.shouldNotReachHere();
             }
-            writeTag(tag);
-            bytes = string.getBytes(encoding);
-            writeVarInt(bytes.length);
-            writeBytes(bytes, bytes.length);
-        } catch (UnsupportedEncodingException ueex) {
-            throw Errors.shouldNotReachHere();
         }
     }
 
     private static boolean isOneByteString(String string) {
-        for (char c : string.toCharArray()) {
-            if (c >= 256) {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) >= 256) {
                 return false;
             }
         }
@@ -359,15 +398,32 @@ public class Serializer {
             writeTag(SerializationTag.ARRAY_BUFFER);
             writeVarInt(byteLength);
             ensureFreeSpace(byteLength);
-            for (int i = 0; i < byteLength; i++) {
-                buffer.put(byteBuffer.get(i));
-            }
+            ByteBuffer contents = byteBuffer.duplicate();
+            contents.clear();
+            contents.limit(byteLength);
+            buffer.put(contents);
+        } else if (access.getCurrentMessagePortData() != null) {
+            writeSharedJavaArrayBuffer(arrayBuffer, access.getCurrentMessagePortData());
         } else {
             writeTag(SerializationTag.ARRAY_BUFFER_TRANSFER);
             writeVarInt(Integer.toUnsignedLong(id));
         }
     }
 
+    /**
+     * Moves a transferred {@code ArrayBuffer} to the receiving worker without copying its
+     * contents: the backing {@code ByteBuffer} itself is handed over through the Java reference
+     * queue of the message port. Once the whole value has been written, the buffer is marked as
+     * externalized so that the native message code neuters it (instead of taking over its memory).
+     * A failed serialization keeps the source intact and transferable.
+     */
+    private void writeSharedJavaArrayBuffer(DynamicObject arrayBuffer, JavaMessagePortData messagePort) {
+        writeTag(SerializationTag.SHARED_JAVA_ARRAY_BUFFER);
+        writeVarInt(messagePort.getMessagePortDataPointer());
+        messagePort.enqueueJavaRef(JSArrayBuffer.getDirectByteBuffer(arrayBuffer));
+        movedArrayBuffers.add(arrayBuffer);
+    }
+
     private void writeJSSharedArrayBuffer(DynamicObject sharedArrayBuffer) {
         int id = NativeAccess.getSharedArrayBufferId(delegate, sharedArrayBuffer);
         writeTag(SerializationTag.SHARED_ARRAY_BUFFER);
@@ -377,23 +433,78 @@ public class Serializer {
     private void writeJSObject(DynamicObject object) {
         assert JSObject.isJSObject(object);
         writeTag(SerializationTag.BEGIN_JS_OBJECT);
-        List<String> names = JSObject.enumerableOwnNames(object);
-        writeJSObjectProperties(object, names);
+        int count;
+        if (JSTruffleOptions.FastOwnKeys && JSUserObject.isJSUserObject(object)) {
+            count = writeShapeProperties(object, getLayout(object.getShape()));
+        } else {
+            List<String> names = JSObject.enumerableOwnNames(object);
+            writeJSObjectProperties(object, names);
+            count = names.size();
+        }
         writeTag(SerializationTag.END_JS_OBJECT);
-        writeVarInt(names.size());
+        writeVarInt(count);
     }
 
     private void writeJSObjectProperties(DynamicObject object, List<String> keys) {
         assert JSObject.isJSObject(object);
         for (String key : keys) {
-            if (JSRuntime.isArrayIndex(key)) {
-                writeIntOrDouble(Double.parseDouble(key));
+            writePropertyKey(key);
+            Object value = JSObject.get(object, key);
+            writeValue(value);
+        }
+    }
+
+    private void writePropertyKey(String key) {
+        if (JSRuntime.isArrayIndex(key)) {
+            writeIntOrDouble(Double.parseDouble(key));
+        } else {
+            writeString(key);
+        }
+    }
+
+    private ObjectLayout getLayout(Shape shape) {
+        ObjectLayout layout = layoutCache.get(shape);
+        if (layout == null) {
+            layout = new ObjectLayout(shape);
+            layoutCache.put(shape, layout);
+        }
+        return layout;
+    }
+
+    /**
+     * Writes the enumerable own properties stored in the shape of the object. Values of plain data
+     * properties are read directly from their locations as long as the object keeps its shape.
+     */
+    private int writeShapeProperties(DynamicObject object, ObjectLayout layout) {
+        String[] names = layout.names;
+        Property[] properties = layout.properties;
+        Shape shape = layout.shape;
+        for (int i = 0; i < names.length; i++) {
+            writeLayoutKey(layout, i);
+            Object value;
+            if (properties != null && object.getShape() == shape) {
+                value = properties[i].get(object, shape);
             } else {
-                writeString(key);
+                value = JSObject.get(object, names[i]);
             }
-            Object value = JSObject.get(object, key);
             writeValue(value);
         }
+        return names.length;
+    }
+
+    private void writeLayoutKey(ObjectLayout layout, int index) {
+        byte[] encodedKey = layout.encodedKeys[index];
+        if (encodedKey == null) {
+            int start = buffer.position();
+            writePropertyKey(layout.names[index]);
+            encodedKey = new byte[buffer.position() - start];
+            for (int i = 0; i < encodedKey.length; i++) {
+                encodedKey[i] = buffer.get(start + i);
+            }
+            layout.encodedKeys[index] = encodedKey;
+        } else {
+            writeBytes(encodedKey, encodedKey.length);
+        }
     }
 
     private void writeJSMap(DynamicObject object) {
@@ -427,6 +538,10 @@ public class Serializer {
 
     private void writeJSArray(DynamicObject object) {
         assert JSArray.isJSArray(object);
+        if (JSTruffleOptions.FastOwnKeys && JSArray.isJSFastArray(object) && isDenseFastArray(object)) {
+            writeDenseFastArray(object);
+            return;
+        }
         long length = JSAbstractArray.arrayGetLength(object);
         List<String> names = JSObject.enumerableOwnNames(object);
         boolean dense = names.size() >= length;
@@ -457,6 +572,45 @@ public class Serializer {
         writeVarInt(length);
     }
 
+    private static boolean isDenseFastArray(DynamicObject array) {
+        ScriptArray arrayType = JSAbstractArray.arrayGetArrayType(array);
+        long length = arrayType.length(array);
+        if (length == 0) {
+            return true;
+        }
+        return length <= Integer.MAX_VALUE && !arrayType.hasHoles(array) && arrayType.firstElementIndex(array) == 0 && arrayType.lastElementIndex(array) == length - 1;
+    }
+
+    /**
+     * Writes a fast array without holes. Elements of int and double arrays are read without boxing
+     * and the remaining properties are taken from the shape.
+     */
+    private void writeDenseFastArray(DynamicObject array) {
+        ScriptArray arrayType = JSAbstractArray.arrayGetArrayType(array);
+        int length = (int) arrayType.length(array);
+        writeTag(SerializationTag.BEGIN_DENSE_JS_ARRAY);
+        writeVarInt(length);
+        if (arrayType instanceof AbstractIntArray) {
+            AbstractIntArray intArray = (AbstractIntArray) arrayType;
+            for (int i = 0; i < length; i++) {
+                writeInt(intArray.getInBoundsFastInt(array, i, true));
+            }
+        } else if (arrayType instanceof AbstractDoubleArray) {
+            AbstractDoubleArray doubleArray = (AbstractDoubleArray) arrayType;
+            for (int i = 0; i < length; i++) {
+                writeIntOrDouble(doubleArray.getInBoundsFastDouble(array, i, true));
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                writeValue(JSObject.get(array, i));
+            }
+        }
+        int count = writeShapeProperties(array, getLayout(array.getShape()));
+        writeTag(SerializationTag.END_DENSE_JS_ARRAY);
+        writeVarInt(count);
+        writeVarInt(length);
+    }
+
     private void writeJSArrayBufferView(DynamicObject view) {
         if (treatArrayBufferViewsAsHostObjects) {
             writeHostObject(view);
@@ -536,4 +690,32 @@ public class Serializer {
         objectMap.put(object, nextId++);
     }
 
+    /**
+     * Enumerable own properties of a shape, in property key order.
+     */
+    private static final class ObjectLayout {
+        final Shape shape;
+        final String[] names;
+        /** Properties of {@link #names}, or {@code null} if not all of them are data properties. */
+        final Property[] properties;
+        /** Serialized form of {@link #names}, filled on first use. */
+        final byte[][] encodedKeys;
+
+        ObjectLayout(Shape shape) {
+            this.shape = shape;
+            this.names = JSShape.getEnumerablePropertyNames(shape).toArray(new String[0]);
+            this.encodedKeys = new byte[names.length][];
+            Property[] dataProperties = new Property[names.length];
+            for (int i = 0; i < names.length; i++) {
+                Property property = shape.getProperty(names[i]);
+                if (property == null || !JSProperty.isData(property) || JSProperty.isProxy(property)) {
+                    dataProperties = null;
+                    break;
+                }
+                dataProperties[i] = property;
+            }
+            this.properties = dataProperties;
+        }
+    }
+
 }
@@ -118,6 +118,8 @@ MaybeLocal<Value> Message::Deserialize(Environment* env,
 
   // Attach all transferred ArrayBuffers to their new Isolate.
   for (uint32_t i = 0; i < array_buffer_contents_.size(); ++i) {
+    if (array_buffer_contents_[i].is_empty())
+      continue;
     Local<ArrayBuffer> ab =
         ArrayBuffer::New(env->isolate(),
                          array_buffer_contents_[i].release(),
@@ -306,6 +308,15 @@ Maybe<bool> Message::Serialize(Environment* env,
   }
 
   for (Local<ArrayBuffer> ab : array_buffers) {
+    if (ab->IsExternal()) {
+      // The serializer has already handed the backing store over to the
+      // receiving side (see Serializer.writeSharedJavaArrayBuffer), we only
+      // have to render it inaccessible in this Isolate. An empty entry keeps
+      // the ids of the remaining transferred ArrayBuffers in sync.
+      ab->Neuter();
+      array_buffer_contents_.push_back(MallocedBuffer<char>());
+      continue;
+    }
     // If serialization succeeded, we want to take ownership of
     // (a.k.a. externalize) the underlying memory region and render
     // it inaccessible in this Isolate.
@@ -90,6 +90,26 @@ describe('Buffer.utf8Write', function() {
     it('should deal with utf8 inputs #2', function() {
         assert.strictEqual(new Buffer(10).utf8Write('½½½'), 6);
     });
+    it('should write lazy strings', function() {
+        var str = 'abc';
+        for (var i = 0; i < 100; i++) {
+            str = str + i + '\u00bd';
+        }
+        var buffer = new Buffer(1000);
+        var length = buffer.utf8Write(str);
+        assert.strictEqual(buffer.toString('utf8', 0, length), str);
+    });
+    it('should not split surrogate pairs', function() {
+        var buffer = new Buffer(10);
+        assert.strictEqual(buffer.utf8Write('a\ud83d\ude00', 0, 4), 1);
+        assert.strictEqual(buffer.utf8Write('a\ud83d\ude00', 0, 5), 5);
+        assert.strictEqual(buffer.toString('utf8', 0, 5), 'a\ud83d\ude00');
+    });
+    it('should replace unpaired surrogates', function() {
+        var buffer = new Buffer(10);
+        assert.strictEqual(buffer.utf8Write('a\ud83d', 0), 4);
+        assert.strictEqual(buffer.toString('utf8', 0, 4), 'a\ufffd');
+    });
     it('length is zero', function() {
         assert.strictEqual(new Buffer(0).utf8Write.length, 0);
     });
@@ -142,6 +162,14 @@ describe('Buffer.utf8Slice', function() {
             Buffer.prototype.utf8Slice.call(1)
         }, TypeError);
     });
+    it('should decode multi-byte sequences', function() {
+        var str = 'a\u00bd\u20ac\ud83d\ude00';
+        assert.strictEqual(Buffer.from(str).utf8Slice(), str);
+    });
+    it('should replace malformed sequences', function() {
+        assert.strictEqual(Buffer.from([0x61, 0xc3, 0x62]).utf8Slice(), 'a\ufffdb');
+        assert.strictEqual(Buffer.from([0xed, 0xa0, 0x80]).utf8Slice(), '\ufffd\ufffd\ufffd');
+    });
     it('length is zero', function() {
         assert.strictEqual(new Buffer(0).utf8Slice.length, 0);
     });
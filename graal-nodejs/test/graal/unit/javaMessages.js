@@ -338,3 +338,94 @@ describe('Java interop messages', function() {
         }
     });
 });
+
+describe('ArrayBuffer transfer', function() {
+    this.timeout(10000);
+    it('moves transferred ArrayBuffers to the worker', function(done) {
+        if (isMainThread) {
+            let w = new Worker(`
+                            const {
+                                parentPort
+                            } = require('worker_threads');
+
+                            parentPort.on('message', (m) => {
+                                const sum = m.reduce((a, b) => a + b, 0);
+                                m[0] = sum;
+                                parentPort.postMessage(m, [m.buffer]);
+                            });
+            `, {
+                eval: true
+            });
+            const array = new Uint8Array([1, 2, 3, 4]);
+            const buffer = array.buffer;
+            w.on('message', (m) => {
+                assert(m instanceof Uint8Array);
+                assert(m.length === 4);
+                assert(m[0] === 10);
+                assert(m[3] === 4);
+                w.terminate(done);
+            });
+            w.postMessage(array, [buffer]);
+            assert(buffer.byteLength === 0);
+            assert(array.length === 0);
+        }
+    });
+    it('can transfer the same memory back and forth', function(done) {
+        if (isMainThread) {
+            let w = new Worker(`
+                            const {
+                                parentPort
+                            } = require('worker_threads');
+
+                            parentPort.on('message', (m) => {
+                                new Int32Array(m)[0]++;
+                                parentPort.postMessage(m, [m]);
+                            });
+            `, {
+                eval: true
+            });
+            w.on('message', (m) => {
+                const value = new Int32Array(m)[0];
+                if (value === 20) {
+                    w.terminate(done);
+                } else {
+                    w.postMessage(m, [m]);
+                    assert(m.byteLength === 0);
+                }
+            });
+            const buffer = new ArrayBuffer(1 << 20);
+            w.postMessage(buffer, [buffer]);
+        }
+    });
+    it('keeps the ArrayBuffer intact when the serialization fails', function() {
+        if (isMainThread) {
+            const { MessageChannel } = require('worker_threads');
+            const { port1, port2 } = new MessageChannel();
+            const buffer = new Uint8Array([1, 2, 3]).buffer;
+            assert.throws(() => port1.postMessage({ buffer, f() {} }, [buffer]));
+            assert(buffer.byteLength === 3);
+            assert(new Uint8Array(buffer)[2] === 3);
+            port1.close();
+            port2.close();
+        }
+    });
+    it('can transfer the ArrayBuffer after a failed serialization', function(done) {
+        if (isMainThread) {
+            const { MessageChannel } = require('worker_threads');
+            const { port1, port2 } = new MessageChannel();
+            const buffer = new Uint8Array([1, 2, 3]).buffer;
+            assert.throws(() => port1.postMessage({ buffer, f() {} }, [buffer]));
+            port2.on('message', (m) => {
+                assert(m instanceof ArrayBuffer);
+                assert(m.byteLength === 3);
+                assert(new Uint8Array(m)[2] === 3);
+                port1.close();
+                port2.close();
+                done();
+            });
+            port1.postMessage(buffer, [buffer]);
+            // the buffer has been moved, not copied
+            assert(buffer.byteLength === 0);
+        }
+    });
+});
@@ -41,6 +41,8 @@
 
 #define SUITE Object
 
+#include <vector>
+
 #ifdef SUITE_INTERNALS
 
 int simpleGetterCallCount = 0;
@@ -226,4 +228,87 @@ EXPORT_TO_JS(GetRealNamedPropertyAttributes) {
     args.GetReturnValue().Set(result);
 }
 
+
+// Object::GetMultiple
+
+EXPORT_TO_JS(GetMultiple) {
+    Isolate* isolate = args.GetIsolate();
+    Local<Context> context = isolate->GetCurrentContext();
+    Local<Object> obj = args[0].As<Object>();
+    Local<Array> keyArray = args[1].As<Array>();
+    uint32_t count = keyArray->Length();
+    std::vector<Local<Value>> keys(count);
+    for (uint32_t i = 0; i < count; i++) {
+        keys[i] = keyArray->Get(context, i).ToLocalChecked();
+    }
+    std::vector<Local<Value>> values(count);
+    if (obj->GetMultiple(context, count, keys.data(), values.data()).IsNothing()) {
+        return;
+    }
+    Local<Array> result = Array::New(isolate, count);
+    for (uint32_t i = 0; i < count; i++) {
+        result->Set(context, i, values[i]).FromJust();
+    }
+    args.GetReturnValue().Set(result);
+}
+
+EXPORT_TO_JS(GetMultipleWithPrivate) {
+    Isolate* isolate = args.GetIsolate();
+    Local<Context> context = isolate->GetCurrentContext();
+    Local<Object> obj = args[0].As<Object>();
+    Local<String> name = args[1].As<String>();
+    Local<Private> key = Private::New(isolate, name);
+    obj->SetPrivate(context, key, args[2]).FromJust();
+    Local<Value> keys[] = { Local<Value>(reinterpret_cast<Value*> (*key)), name };
+    Local<Value> values[2];
+    if (obj->GetMultiple(context, 2, keys, values).IsNothing()) {
+        return;
+    }
+    Local<Array> result = Array::New(isolate, 2);
+    result->Set(context, 0, values[0]).FromJust();
+    result->Set(context, 1, values[1]).FromJust();
+    args.GetReturnValue().Set(result);
+}
+
+// Object::GetRange
+
+EXPORT_TO_JS(GetRange) {
+    Isolate* isolate = args.GetIsolate();
+    Local<Context> context = isolate->GetCurrentContext();
+    Local<Object> obj = args[0].As<Object>();
+    uint32_t start = args[1]->Uint32Value(context).FromJust();
+    uint32_t count = args[2]->Uint32Value(context).FromJust();
+    std::vector<Local<Value>> values(count);
+    if (obj->GetRange(context, start, count, values.data()).IsNothing()) {
+        return;
+    }
+    Local<Array> result = Array::New(isolate, count);
+    for (uint32_t i = 0; i < count; i++) {
+        result->Set(context, i, values[i]).FromJust();
+    }
+    args.GetReturnValue().Set(result);
+}
+
+// Object::SetMultiple
+
+EXPORT_TO_JS(SetMultiple) {
+    Isolate* isolate = args.GetIsolate();
+    Local<Context> context = isolate->GetCurrentContext();
+    Local<Object> obj = args[0].As<Object>();
+    Local<Array> keyArray = args[1].As<Array>();
+    Local<Array> valueArray = args[2].As<Array>();
+    uint32_t count = keyArray->Length();
+    std::vector<Local<Value>> keys(count);
+    std::vector<Local<Value>> values(count);
+    for (uint32_t i = 0; i < count; i++) {
+        keys[i] = keyArray->Get(context, i).ToLocalChecked();
+        values[i] = valueArray->Get(context, i).ToLocalChecked();
+    }
+    Maybe<bool> result = obj->SetMultiple(context, count, keys.data(), values.data());
+    if (result.IsNothing()) {
+        return;
+    }
+    args.GetReturnValue().Set(result.FromJust());
+}
+
 #undef SUITE
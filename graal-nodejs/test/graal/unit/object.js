@@ -414,4 +414,113 @@ describe('Object', function () {
             assert.strictEqual(module.Object_GetRealNamedPropertyAttributes(o, "accessor"), 6 /* DontEnum | DontDelete */);
         });
     });
+    describe('GetMultiple', function () {
+        it('should return the values of the given keys', function () {
+            var o = {a: 1, b: 'x', 2: true};
+            var proto = {c: null};
+            Object.setPrototypeOf(o, proto);
+            assert.deepStrictEqual(module.Object_GetMultiple(o, ['a', 'b', 2, 'c', 'd']), [1, 'x', true, null, undefined]);
+        });
+        it('should work for batches larger than the maximal batch size', function () {
+            var o = {};
+            var keys = [];
+            var expected = [];
+            for (var i = 0; i < 600; i++) {
+                o['key' + i] = i;
+                keys.push('key' + i);
+                expected.push(i);
+            }
+            assert.deepStrictEqual(module.Object_GetMultiple(o, keys), expected);
+        });
+        it('should return private values for private keys only', function () {
+            var o = {};
+            assert.deepStrictEqual(module.Object_GetMultipleWithPrivate(o, 'hidden', 42), [42, undefined]);
+            assert.strictEqual(o.hidden, undefined);
+            o.hidden = 'visible';
+            assert.deepStrictEqual(module.Object_GetMultipleWithPrivate(o, 'hidden', 43), [43, 'visible']);
+        });
+        it('should throw an error when a getter throws an error', function () {
+            var thrownError = new Error('some error');
+            var o = {a: 1};
+            Object.defineProperty(o, 'foo', {
+                get: function() {
+                    throw thrownError;
+                }
+            });
+            var caughtError;
+            try {
+                module.Object_GetMultiple(o, ['a', 'foo']);
+            } catch (err) {
+                caughtError = err;
+            }
+            assert.strictEqual(caughtError, thrownError);
+        });
+    });
+    describe('GetRange', function () {
+        it('should return the elements in the range', function () {
+            var a = [0, 1, 2, 3, 4];
+            assert.deepStrictEqual(module.Object_GetRange(a, 1, 3), [1, 2, 3]);
+            assert.deepStrictEqual(module.Object_GetRange(a, 4, 2), [4, undefined]);
+        });
+        it('should work for batches larger than the maximal batch size', function () {
+            var a = [];
+            for (var i = 0; i < 600; i++) {
+                a.push(i * 2);
+            }
+            assert.deepStrictEqual(module.Object_GetRange(a, 10, 590), a.slice(10));
+        });
+        it('should throw an error when a getter throws an error', function () {
+            var thrownError = new Error('some error');
+            var o = {};
+            Object.defineProperty(o, 1, {
+                get: function() {
+                    throw thrownError;
+                }
+            });
+            var caughtError;
+            try {
+                module.Object_GetRange(o, 0, 2);
+            } catch (err) {
+                caughtError = err;
+            }
+            assert.strictEqual(caughtError, thrownError);
+        });
+    });
+    describe('SetMultiple', function () {
+        it('should set the values of the given keys', function () {
+            var o = {a: 0};
+            assert.strictEqual(module.Object_SetMultiple(o, ['a', 'b', 3], [1, 'x', true]), true);
+            assert.deepStrictEqual(o, {a: 1, b: 'x', 3: true});
+        });
+        it('should work for batches larger than the maximal batch size', function () {
+            var o = {};
+            var keys = [];
+            var values = [];
+            for (var i = 0; i < 600; i++) {
+                keys.push('key' + i);
+                values.push(i);
+            }
+            assert.strictEqual(module.Object_SetMultiple(o, keys, values), true);
+            assert.deepStrictEqual(Object.keys(o), keys);
+            assert.strictEqual(o.key599, 599);
+        });
+        it('should throw an error when a setter throws an error', function () {
+            var thrownError = new Error('some error');
+            var o = {};
+            Object.defineProperty(o, 'foo', {
+                set: function() {
+                    throw thrownError;
+                }
+            });
+            var caughtError;
+            try {
+                module.Object_SetMultiple(o, ['a', 'foo', 'b'], [1, 2, 3]);
+            } catch (err) {
+                caughtError = err;
+            }
+            assert.strictEqual(caughtError, thrownError);
+            assert.strictEqual(o.a, 1);
+            assert.strictEqual(o.b, undefined);
+        });
+    });
 });
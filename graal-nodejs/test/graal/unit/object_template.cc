@@ -46,6 +46,12 @@
 void SimpleAccessorGetter(Local<Name> property, const PropertyCallbackInfo<Value>& info);
 void SimpleAccessorSetter(Local<Name> property, Local<Value> value, const PropertyCallbackInfo<void>& info);
 
+void ObjectTemplate_SelfGetter(Local<Name> property, const PropertyCallbackInfo<Value>& info) {
+    if (property->StrictEquals(String::NewFromUtf8(info.GetIsolate(), "self"))) {
+        info.GetReturnValue().Set(info.Holder());
+    }
+}
+
 #endif
 
 // ObjectTemplate::NewInstance
@@ -106,4 +112,34 @@ EXPORT_TO_JS(CreateWithAccessor) {
     args.GetReturnValue().Set(objectTemplate->NewInstance());
 }
 
+// ObjectTemplate::NewInstance (repeated)
+
+EXPORT_TO_JS(NewInstances) {
+    Isolate* isolate = args.GetIsolate();
+    Local<ObjectTemplate> objectTemplate = ObjectTemplate::New(isolate);
+    objectTemplate->Set(String::NewFromUtf8(isolate, "foo"), args[0]);
+    objectTemplate->SetAccessor(args[1].As<String>(), SimpleAccessorGetter, SimpleAccessorSetter);
+    int count = args[2].As<Integer>()->Value();
+    Local<Array> instances = Array::New(isolate, count);
+    for (int i = 0; i < count; i++) {
+        instances->Set(i, objectTemplate->NewInstance());
+    }
+    args.GetReturnValue().Set(instances);
+}
+
+// ObjectTemplate::SetHandler
+
+EXPORT_TO_JS(NewInstancesWithHandler) {
+    Isolate* isolate = args.GetIsolate();
+    Local<ObjectTemplate> objectTemplate = ObjectTemplate::New(isolate);
+    objectTemplate->Set(String::NewFromUtf8(isolate, "foo"), args[0]);
+    objectTemplate->SetHandler(NamedPropertyHandlerConfiguration(ObjectTemplate_SelfGetter));
+    int count = args[1].As<Integer>()->Value();
+    Local<Array> instances = Array::New(isolate, count);
+    for (int i = 0; i < count; i++) {
+        instances->Set(i, objectTemplate->NewInstance());
+    }
+    args.GetReturnValue().Set(instances);
+}
+
 #undef SUITE
@@ -49,6 +49,37 @@ describe('ObjectTemplate', function () {
             assert.strictEqual(obj instanceof Object, true);
             assert.strictEqual(Object.keys(obj).length, 0);
         });
+        it('should create instances with the same layout', function () {
+            var instances = module.ObjectTemplate_NewInstances("bar", "myAccess", 5);
+            assert.strictEqual(instances.length, 5);
+            instances.forEach(function (obj, index) {
+                assert.strictEqual(obj.foo, "bar");
+                assert.strictEqual(obj.myAccess, "accessor getter called: myAccess");
+                obj.myAccess = index;
+            });
+            instances.forEach(function (obj, index) {
+                assert.strictEqual(obj.mySetValue, index);
+            });
+        });
+    });
+    describe('SetHandler', function () {
+        it('should call the interceptor with the right holder', function () {
+            var instances = module.ObjectTemplate_NewInstancesWithHandler("bar", 5);
+            for (var i = 0; i < 100; i++) {
+                instances.forEach(function (obj) {
+                    assert.strictEqual(obj.self, obj);
+                    assert.strictEqual(obj.foo, "bar");
+                    assert.strictEqual(obj.missing, undefined);
+                });
+            }
+        });
+        it('should fall back to the target without a matching interceptor', function () {
+            var obj = module.ObjectTemplate_NewInstancesWithHandler("bar", 1)[0];
+            assert.strictEqual(obj[0], undefined);
+            assert.strictEqual(0 in obj, false);
+            assert.strictEqual("foo" in obj, true);
+            assert.strictEqual("missing" in obj, false);
+        });
     });
     describe('InternalFieldCount', function () {
         it('check default field count', function () {
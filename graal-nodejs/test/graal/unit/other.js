@@ -42,6 +42,7 @@
 var assert = require('assert');
 var fs = require('fs');
 var util = require('util');
+var v8 = require('v8');
 var vm = require('vm');
 
 describe('Other', function () {
@@ -60,6 +61,90 @@ describe('Other', function () {
             util.inspect(point);
         });
     }
+    if (typeof Java !== 'undefined') {
+        it('should profile native calls on demand', function() {
+            var profiler = Java.type('com.oracle.truffle.trufflenode.NativeBoundaryProfiler');
+            profiler.reset();
+            profiler.start(1);
+            try {
+                for (var i = 0; i < 10; i++) {
+                    process.hrtime();
+                }
+            } finally {
+                profiler.stop();
+            }
+            var profile = JSON.parse(profiler.toJSON());
+            assert.strictEqual(profile.samplingRate, 0);
+            var functions = profile.methods.filter(m => m.kind === 'function');
+            assert.ok(functions.length > 0);
+            functions.forEach(function (m) {
+                assert.strictEqual(m.samples, m.calls);
+                var histogramCount = Object.keys(m.histogram).reduce((sum, bucket) => sum + m.histogram[bucket], 0);
+                assert.strictEqual(histogramCount, m.samples);
+            });
+        });
+        it('should keep profiling native calls after a reset', function() {
+            var profiler = Java.type('com.oracle.truffle.trufflenode.NativeBoundaryProfiler');
+            var profile = function () {
+                profiler.start(1);
+                try {
+                    for (var i = 0; i < 10; i++) {
+                        process.hrtime();
+                    }
+                } finally {
+                    profiler.stop();
+                }
+                var result = JSON.parse(profiler.toJSON());
+                profiler.reset();
+                return result.methods.filter(m => m.kind === 'function');
+            };
+            var before = profile();
+            var after = profile();
+            assert.ok(after.length > 0);
+            after.forEach(function (m) {
+                assert.strictEqual(typeof m.id, 'number');
+                assert.ok(before.some(b => b.id === m.id && b.name === m.name));
+            });
+        });
+    }
+    it('should report external memory in heap statistics', function (done) {
+        this.timeout(20000);
+        var {
+            MessageChannel
+        } = require('worker_threads');
+        var size = 1024 * 1024;
+        var count = 8;
+        var {port1, port2} = new MessageChannel();
+        var buffers = [];
+        port2.on('message', function (buffer) {
+            // transferred buffers are allocated outside of the JavaScript heap
+            buffers.push(buffer);
+            if (buffers.length < count) {
+                return;
+            }
+            port2.close();
+            var stats = v8.getHeapStatistics();
+            assert.ok(stats.malloced_memory >= count * size);
+            assert.ok(stats.peak_malloced_memory >= stats.malloced_memory);
+            var expected = stats.malloced_memory - count * size;
+            buffers = null;
+            var attempts = 0;
+            setImmediate(function check() {
+                global.gc();
+                if (v8.getHeapStatistics().malloced_memory <= expected) {
+                    done();
+                } else if (++attempts < 100) {
+                    setTimeout(check, 50);
+                } else {
+                    done(new Error('external memory of collected buffers was not freed'));
+                }
+            });
+        });
+        for (var i = 0; i < count; i++) {
+            var buffer = new ArrayBuffer(size);
+            port1.postMessage(buffer, [buffer]);
+        }
+    });
     it('should not regress in ExecuteNativeFunctionNode', function () {
         // inspired by a wrong rewrite of ExecuteNativeFunctionNode
         var script = new vm.Script('');
@@ -41,6 +41,7 @@
 
 var assert = require('assert');
 var v8 = require('v8');
+var MessageChannel = require('worker_threads').MessageChannel;
 
 var arrayBuffer = new ArrayBuffer(2);
 var typedArray = new Uint8Array(arrayBuffer);
@@ -159,5 +160,268 @@ describe('Serialization', function () {
         assert.strictEqual(deserialized.ref1, deserialized.ref2);
         assert.deepEqual(deserialized.ref1, object);
         assert.deepEqual(deserialized.ref2, object);
-    })
+    });
+    it('should round-trip many objects with the same shape', function () {
+        var records = [];
+        for (var i = 0; i < 2000; i++) {
+            records.push({ id: i, name: 'record' + i, score: i / 2, tags: ['a', i] });
+        }
+        var deserialized = v8.deserialize(v8.serialize(records));
+        assert.deepStrictEqual(deserialized, records);
+        assert.deepStrictEqual(Object.keys(deserialized[1999]), ['id', 'name', 'score', 'tags']);
+    });
+    it('should keep identity of many distinct objects', function () {
+        var objects = [];
+        for (var i = 0; i < 5000; i++) {
+            objects.push({ i: i });
+        }
+        var deserialized = v8.deserialize(v8.serialize([objects, objects.slice().reverse()]));
+        for (var j = 0; j < objects.length; j++) {
+            assert.strictEqual(deserialized[0][j], deserialized[1][objects.length - 1 - j]);
+            assert.strictEqual(deserialized[0][j].i, j);
+        }
+    });
+    it('should see property changes made by getters during serialization', function () {
+        var first = { a: 1, b: 2, c: 3 };
+        var second = { a: 1, b: 2, c: 3 };
+        Object.defineProperty(second, 'a', {
+            enumerable: true,
+            configurable: true,
+            get: function () {
+                delete second.b;
+                second.c = 'changed';
+                return 1;
+            }
+        });
+        var deserialized = v8.deserialize(v8.serialize([first, second]));
+        assert.deepStrictEqual(deserialized[0], { a: 1, b: 2, c: 3 });
+        assert.deepStrictEqual(deserialized[1], { a: 1, c: 'changed' });
+    });
+    it('should round-trip int and double arrays', function () {
+        var ints = [];
+        var doubles = [];
+        for (var i = 0; i < 1000; i++) {
+            ints.push(i - 500);
+            doubles.push(i + 0.5);
+        }
+        doubles.push(-0, NaN, Infinity);
+        var mixed = [1, 1.5, 'two', { three: 3 }, [4]];
+        var deserialized = v8.deserialize(v8.serialize([ints, doubles, mixed]));
+        assert.deepStrictEqual(deserialized, [ints, doubles, mixed]);
+        assert.ok(Object.is(deserialized[1][1000], -0));
+    });
+});
+
+var typedArrayConstructors = [
+    Int8Array, Uint8Array, Uint8ClampedArray, Int16Array, Uint16Array,
+    Int32Array, Uint32Array, Float32Array, Float64Array
+];
+
+function createTypedArray(Constructor) {
+    var elementCount = 5;
+    // non-zero offset into a larger buffer
+    var buffer = new ArrayBuffer((elementCount + 2) * Constructor.BYTES_PER_ELEMENT);
+    var array = new Constructor(buffer, Constructor.BYTES_PER_ELEMENT, elementCount);
+    for (var i = 0; i < elementCount; i++) {
+        array[i] = 3 * i + 1;
+    }
+    return array;
+}
+
+function serializeWith(serializer, value) {
+    serializer.writeHeader();
+    serializer.writeValue(value);
+    return serializer.releaseBuffer();
+}
+
+function deserializeWith(deserializer) {
+    deserializer.readHeader();
+    return deserializer.readValue();
+}
+
+describe('Serialization of typed arrays', function () {
+    it('should round-trip typed arrays as host objects', function () {
+        typedArrayConstructors.forEach(function (Constructor) {
+            var array = createTypedArray(Constructor);
+            var deserialized = v8.deserialize(v8.serialize(array));
+            assert.strictEqual(deserialized.constructor, Constructor);
+            assert.deepStrictEqual(Array.from(deserialized), Array.from(array), Constructor.name);
+        });
+    });
+    it('should round-trip typed arrays without host objects', function () {
+        typedArrayConstructors.forEach(function (Constructor) {
+            var array = createTypedArray(Constructor);
+            var buffer = serializeWith(new v8.Serializer(), array);
+            var deserialized = deserializeWith(new v8.Deserializer(buffer));
+            assert.strictEqual(deserialized.constructor, Constructor);
+            assert.strictEqual(deserialized.byteOffset, array.byteOffset);
+            assert.strictEqual(deserialized.buffer.byteLength, array.buffer.byteLength);
+            assert.deepStrictEqual(Array.from(deserialized), Array.from(array), Constructor.name);
+        });
+    });
+    it('should round-trip data views without host objects', function () {
+        var view = new DataView(new ArrayBuffer(8), 2, 4);
+        view.setInt32(0, 0x12345678);
+        var buffer = serializeWith(new v8.Serializer(), view);
+        var deserialized = deserializeWith(new v8.Deserializer(buffer));
+        assert.ok(deserialized instanceof DataView);
+        assert.strictEqual(deserialized.byteOffset, 2);
+        assert.strictEqual(deserialized.byteLength, 4);
+        assert.strictEqual(deserialized.getInt32(0), 0x12345678);
+    });
+    it('should share the buffer of views serialized together', function () {
+        var buffer = new ArrayBuffer(8);
+        var bytes = new Uint8Array(buffer);
+        var words = new Uint16Array(buffer, 2, 2);
+        var serialized = serializeWith(new v8.Serializer(), [bytes, words, buffer]);
+        var deserialized = deserializeWith(new v8.Deserializer(serialized));
+        assert.strictEqual(deserialized[0].buffer, deserialized[2]);
+        assert.strictEqual(deserialized[1].buffer, deserialized[2]);
+        deserialized[1][0] = 0xffff;
+        assert.strictEqual(deserialized[0][2], 0xff);
+        assert.strictEqual(deserialized[0][3], 0xff);
+    });
+    it('should round-trip transferred array buffers', function () {
+        var buffer = new ArrayBuffer(4);
+        var array = new Uint8Array(buffer);
+        array.set([1, 2, 3, 4]);
+        var serializer = new v8.Serializer();
+        serializer.transferArrayBuffer(7, buffer);
+        var serialized = serializeWith(serializer, [buffer, array]);
+        var target = new ArrayBuffer(4);
+        var deserializer = new v8.Deserializer(serialized);
+        deserializer.transferArrayBuffer(7, target);
+        var deserialized = deserializeWith(deserializer);
+        assert.strictEqual(deserialized[0], target);
+        assert.strictEqual(deserialized[1].buffer, target);
+    });
+});
+
+describe('Serialization of host objects', function () {
+    class PointSerializer extends v8.Serializer {
+        constructor() {
+            super();
+            this._setTreatArrayBufferViewsAsHostObjects(true);
+            this.hostObjects = 0;
+        }
+        _writeHostObject(view) {
+            this.hostObjects++;
+            this.writeUint32(view.length);
+            for (var i = 0; i < view.length; i++) {
+                this.writeDouble(view[i]);
+            }
+        }
+    }
+    class PointDeserializer extends v8.Deserializer {
+        _readHostObject() {
+            var length = this.readUint32();
+            var result = new Float64Array(length);
+            for (var i = 0; i < length; i++) {
+                result[i] = this.readDouble();
+            }
+            return result;
+        }
+    }
+    it('should use the delegate for host objects', function () {
+        var point = new Float32Array([1.5, -2]);
+        var serializer = new PointSerializer();
+        var serialized = serializeWith(serializer, { a: point, b: point, c: new Int8Array([3]) });
+        assert.strictEqual(serializer.hostObjects, 2);
+        var deserialized = deserializeWith(new PointDeserializer(serialized));
+        assert.ok(deserialized.a instanceof Float64Array);
+        assert.deepStrictEqual(Array.from(deserialized.a), [1.5, -2]);
+        assert.strictEqual(deserialized.a, deserialized.b);
+        assert.deepStrictEqual(Array.from(deserialized.c), [3]);
+    });
+    it('should propagate errors of the delegate', function () {
+        var error = new Error('host object error');
+        class ThrowingSerializer extends v8.Serializer {
+            constructor() {
+                super();
+                this._setTreatArrayBufferViewsAsHostObjects(true);
+            }
+            _writeHostObject() {
+                throw error;
+            }
+        }
+        assert.throws(function () {
+            serializeWith(new ThrowingSerializer(), [1, new Uint8Array(1)]);
+        }, function (e) {
+            return e === error;
+        });
+    });
+});
+
+describe('Serialization of shared array buffers', function () {
+    it('should use the id provided by the delegate', function () {
+        var sab = new SharedArrayBuffer(4);
+        var seen = [];
+        class SharedSerializer extends v8.Serializer {
+            _getSharedArrayBufferId(buffer) {
+                seen.push(buffer);
+                return 3;
+            }
+        }
+        var serialized = serializeWith(new SharedSerializer(), sab);
+        assert.strictEqual(seen.length, 1);
+        assert.strictEqual(seen[0], sab);
+        assert.deepEqual(serialized, Buffer.from('ff0d7503', 'hex'));
+    });
+    it('should share the memory of a posted SharedArrayBuffer', function (done) {
+        var sab = new SharedArrayBuffer(8);
+        var view = new Int32Array(sab);
+        var channel = new MessageChannel();
+        channel.port2.on('message', function (message) {
+            channel.port1.close();
+            assert.ok(message.buffer instanceof SharedArrayBuffer);
+            assert.ok(message.view instanceof Int32Array);
+            assert.strictEqual(message.view.buffer, message.buffer);
+            message.view[1] = 42;
+            assert.strictEqual(view[1], 42);
+            view[0] = 211;
+            assert.strictEqual(message.view[0], 211);
+            done();
+        });
+        channel.port1.postMessage({ buffer: sab, view: view });
+    });
+});
+
+describe('Serialization errors', function () {
+    it('should refuse to serialize functions and symbols', function () {
+        [function () {}, Symbol('s'), { f: function () {} }, [1, Symbol.iterator]].forEach(function (value) {
+            assert.throws(function () {
+                v8.serialize(value);
+            }, /could not be cloned/);
+        });
+    });
+    it('should propagate errors thrown by getters', function () {
+        var error = new Error('getter error');
+        var object = { a: 1 };
+        Object.defineProperty(object, 'b', {
+            enumerable: true,
+            get: function () {
+                throw error;
+            }
+        });
+        assert.throws(function () {
+            v8.serialize([object]);
+        }, function (e) {
+            return e === error;
+        });
+    });
+    it('should refuse unsupported versions', function () {
+        assert.throws(function () {
+            v8.deserialize(Buffer.from('ff7f5f', 'hex'));
+        }, /unsupported version/);
+    });
+    it('should refuse invalid object references', function () {
+        assert.throws(function () {
+            v8.deserialize(Buffer.from('ff0d5e05', 'hex'));
+        }, /invalid object reference/);
+    });
+    it('should refuse objects with a wrong number of properties', function () {
+        assert.throws(function () {
+            v8.deserialize(Buffer.from('ff0d6f2203666f6f22036261727b02', 'hex'));
+        }, /unexpected number of properties/);
+    });
 });